@@ -0,0 +1,138 @@
+package com.mikolofton.satellite.satellitemonitor.benchmarks;
+
+import com.mikolofton.satellite.satellitemonitor.CLIDriver;
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteStatus;
+import com.mikolofton.satellite.satellitemonitor.interators.WriteSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the stages of {@link CLIDriver} on a generated telemetry log: grouping the statuses by satellite,
+ * serializing the alerts to a string or through {@link WriteSatelliteAlert}, and processing the whole file end to
+ * end in each of its modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CLIDriverBenchmark {
+
+    @Param({"100000"})
+    public int lineCount;
+
+    private Path log;
+    private List<SatelliteComponentStatus> statuses;
+    private Set<SatelliteComponentAlert> alerts;
+    private PrintStream sysOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        log = Files.createTempFile("satellite", ".log");
+        new SatelliteLogGenerator(100, 42).write(log, lineCount);
+
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+        statuses = Files.readAllLines(log).stream()
+                .map(line -> {
+                    try {
+                        return makeStatus.makeStatus(line);
+                    } catch (final MakeSatelliteStatus.MakeSatelliteStatusException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+
+        alerts = new HashSet<>();
+        group().forEach((satelliteId, satelliteStatuses) ->
+                alerts.addAll(new MakeSatelliteAlert(3).makeAlerts(satelliteId, satelliteStatuses)));
+
+        sysOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(final int b) { }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) { }
+        }));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(sysOut);
+        Files.deleteIfExists(log);
+    }
+
+    @Benchmark
+    public Map<Integer, List<SatelliteComponentStatus>> group() {
+        return statuses.stream().collect(Collectors.groupingBy(s -> s.getSatelliteId()));
+    }
+
+    @Benchmark
+    public String serialize() {
+        return SatelliteJson.PRETTY.toJson(alerts);
+    }
+
+    @Benchmark
+    public void serialize_writer() throws IOException {
+        try (final WriteSatelliteAlert alertWriter =
+                     new WriteSatelliteAlert(new NullWriter(), WriteSatelliteAlert.Format.PRETTY, false)) {
+            for (final SatelliteComponentAlert alert : alerts) {
+                alertWriter.write(alert);
+            }
+        }
+    }
+
+    @Benchmark
+    public void processFile(final ProcessMode processMode) {
+        final String mode = processMode.mode;
+        CLIDriver.main(mode.isEmpty() ? new String[] {log.toString()} : new String[] {mode, log.toString()});
+    }
+
+    /**
+     * The mode {@link #processFile} runs in. It is kept out of the benchmark state, so that the benchmarks that do not
+     * depend on it run once rather than once per mode.
+     */
+    @State(Scope.Benchmark)
+    public static class ProcessMode {
+
+        @Param({"", "--stream", "--mmap"})
+        public String mode;
+    }
+
+    /**
+     * Discards everything written to it.
+     */
+    private static class NullWriter extends Writer {
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) { }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mikolofton.satellite.satellitemonitor.benchmarks;
+
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Measures making the alerts of a single satellite at various amounts of recorded statuses.
+ */
+@State(Scope.Benchmark)
+public class MakeSatelliteAlertBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int statusCount;
+
+    private List<SatelliteComponentStatus> statuses;
+    private List<SatelliteComponentStatus> intervalStatuses;
+
+    private final MakeSatelliteAlert makeAlert = new MakeSatelliteAlert(3);
+    private final MakeSatelliteAlert makeAllAlerts = new MakeSatelliteAlert(3, MakeSatelliteAlert.getAllRules());
+
+    @Setup
+    public void setUp() throws Exception {
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+        final List<String> lines = new SatelliteLogGenerator(1, 42).nextLines(statusCount);
+
+        statuses = new ArrayList<>(statusCount);
+        for (final String line : lines) {
+            statuses.add(makeStatus.makeStatus(line));
+        }
+
+        final long firstInterval = makeAlert.getInterval(statuses.get(0).getTimestamp().getEpochSecond());
+        intervalStatuses = statuses.stream()
+                .filter(s -> s.getComponent().getComponentType() == SatelliteComponent.ComponentType.TSTAT)
+                .filter(s -> makeAlert.getInterval(s.getTimestamp().getEpochSecond()) == firstInterval)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Set<SatelliteComponentAlert> makeAlerts() {
+        return makeAlert.makeAlerts(1000, statuses);
+    }
+
+    @Benchmark
+    public Set<SatelliteComponentAlert> makeAlerts_allSeverities() {
+        return makeAllAlerts.makeAlerts(1000, statuses);
+    }
+
+    @Benchmark
+    public Optional<Instant> getAlertTimestamp() {
+        return makeAlert.getAlertTimestamp(SatelliteComponent.ComponentType.TSTAT, intervalStatuses);
+    }
+
+    @Benchmark
+    public Map<SatelliteComponentAlert.Severity, Instant> getAlertTimestamps_allSeverities() {
+        return makeAllAlerts.getAlertTimestamps(SatelliteComponent.ComponentType.TSTAT, intervalStatuses);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mikolofton.satellite.satellitemonitor.benchmarks;
+
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteStatus;
+import com.mikolofton.satellite.satellitemonitor.interators.ParseSatelliteStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Measures parsing a single line of a telemetry log.
+ */
+@State(Scope.Thread)
+public class MakeSatelliteStatusBenchmark {
+
+    private static final int LINE_COUNT = 4096;
+
+    private List<String> lines;
+    private int next;
+
+    private final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+    private final MakeSatelliteStatus makeStatusSplit = new MakeSatelliteStatus("[|]");
+    private final ParseSatelliteStatus parseStatus = new ParseSatelliteStatus('|');
+
+    @Setup
+    public void setUp() {
+        lines = new SatelliteLogGenerator(100, 42).nextLines(LINE_COUNT);
+    }
+
+    private String nextLine() {
+        next = (next + 1) & (LINE_COUNT - 1);
+        return lines.get(next);
+    }
+
+    @Benchmark
+    public SatelliteComponentStatus makeStatus() throws Exception {
+        return makeStatus.makeStatus(nextLine());
+    }
+
+    /**
+     * A delimiter that is not a single character takes the original regex split path.
+     */
+    @Benchmark
+    public SatelliteComponentStatus makeStatus_split() throws Exception {
+        return makeStatusSplit.makeStatus(nextLine());
+    }
+
+    @Benchmark
+    public long parseStatus() {
+        parseStatus.parse(nextLine());
+        return parseStatus.getTimestampMillis();
+    }
+}
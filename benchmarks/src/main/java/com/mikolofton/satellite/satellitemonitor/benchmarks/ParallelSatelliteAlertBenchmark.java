@@ -0,0 +1,65 @@
+package com.mikolofton.satellite.satellitemonitor.benchmarks;
+
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteStatus;
+import com.mikolofton.satellite.satellitemonitor.interators.ParallelSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures making the alerts of a fleet of satellites with {@link ParallelSatelliteAlert} at various amounts of
+ * threads, where one thread is the sequential baseline.
+ */
+@State(Scope.Benchmark)
+public class ParallelSatelliteAlertBenchmark {
+
+    @Param({"2000"})
+    public int satelliteCount;
+
+    @Param({"1000000"})
+    public int statusCount;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Map<Integer, List<SatelliteComponentStatus>> statusesById;
+    private SatelliteStatusBatch batch;
+    private ParallelSatelliteAlert parallelAlert;
+
+    @Setup
+    public void setUp() throws Exception {
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+
+        statusesById = new HashMap<>();
+        batch = new SatelliteStatusBatch();
+        for (final String line : new SatelliteLogGenerator(satelliteCount, 42).nextLines(statusCount)) {
+            final SatelliteComponentStatus status = makeStatus.makeStatus(line);
+            statusesById.computeIfAbsent(status.getSatelliteId(), id -> new ArrayList<>()).add(status);
+            batch.add(status);
+        }
+
+        parallelAlert = new ParallelSatelliteAlert(new MakeSatelliteAlert(3), threads);
+    }
+
+    @Benchmark
+    public Set<SatelliteComponentAlert> makeAlerts() {
+        return parallelAlert.makeAlerts(statusesById);
+    }
+
+    @Benchmark
+    public Set<SatelliteComponentAlert> makeAlerts_batch() {
+        return parallelAlert.makeAlerts(batch);
+    }
+}
@@ -0,0 +1,57 @@
+package com.mikolofton.satellite.satellitemonitor.benchmarks;
+
+import com.mikolofton.satellite.satellitemonitor.interators.ReadSatelliteBinaryLog;
+import com.mikolofton.satellite.satellitemonitor.interators.ReadSatelliteLog;
+import com.mikolofton.satellite.satellitemonitor.interators.WriteSatelliteBinaryLog;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures reading the same generated telemetry log as text and after it was converted to the binary format.
+ */
+@State(Scope.Benchmark)
+public class ReadSatelliteLogBenchmark {
+
+    @Param({"1000000"})
+    public int lineCount;
+
+    private Path log;
+    private Path binaryLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        log = Files.createTempFile("satellite", ".log");
+        binaryLog = Files.createTempFile("satellite", ".satb");
+        new SatelliteLogGenerator(100, 42).write(log, lineCount);
+
+        try (final WriteSatelliteBinaryLog writeLog = new WriteSatelliteBinaryLog(binaryLog)) {
+            writeLog.write(new ReadSatelliteLog('|', 1).read(log));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(log);
+        Files.deleteIfExists(binaryLog);
+    }
+
+    @Benchmark
+    public SatelliteStatusBatch read_text() throws IOException {
+        return new ReadSatelliteLog('|', 1).read(log);
+    }
+
+    @Benchmark
+    public SatelliteStatusBatch read_binary() throws IOException {
+        return new ReadSatelliteBinaryLog().read(binaryLog);
+    }
+}
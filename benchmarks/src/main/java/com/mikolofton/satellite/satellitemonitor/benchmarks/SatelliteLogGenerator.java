@@ -0,0 +1,89 @@
+package com.mikolofton.satellite.satellitemonitor.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic telemetry logs in the format of satellite.log. Roughly one in ten values is beyond the red
+ * limit that counts towards an alert, so the generated logs produce alerts at a realistic rate.
+ */
+public class SatelliteLogGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("yyyyMMdd HH:mm:ss.SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final Instant START = Instant.parse("2018-01-01T23:00:00Z");
+
+    private final Random random;
+    private final int satelliteCount;
+    private Instant timestamp = START;
+
+    /**
+     * Creates an instance of {@link SatelliteLogGenerator}.
+     *
+     * @param satelliteCount The amount of satellites reporting in the generated log.
+     * @param seed The seed of the random values, so that runs generate the same log.
+     */
+    public SatelliteLogGenerator(final int satelliteCount, final long seed) {
+        this.random = new Random(seed);
+        this.satelliteCount = satelliteCount;
+    }
+
+    /**
+     * @return The next line of the generated telemetry log.
+     */
+    public String nextLine() {
+        timestamp = timestamp.plusMillis(random.nextInt(2000));
+
+        final int satelliteId = 1000 + random.nextInt(satelliteCount);
+        final boolean violation = random.nextInt(10) == 0;
+
+        if (random.nextBoolean()) {
+            final double value = violation ? 101.1 + random.nextInt(50) / 10.0 : 20 + random.nextInt(800) / 10.0;
+            return String.format(Locale.ROOT, "%s|%d|101|98|25|20|%.1f|TSTAT",
+                    TIMESTAMP_FORMAT.format(timestamp), satelliteId, value);
+        } else {
+            final double value = violation ? 7 + random.nextInt(10) / 10.0 : 8 + random.nextInt(90) / 10.0;
+            return String.format(Locale.ROOT, "%s|%d|17|15|9|8|%.1f|BATT",
+                    TIMESTAMP_FORMAT.format(timestamp), satelliteId, value);
+        }
+    }
+
+    /**
+     * @param lineCount The amount of lines to generate.
+     * @return The generated lines of the telemetry log.
+     */
+    public List<String> nextLines(final int lineCount) {
+        final List<String> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(nextLine());
+        }
+        return lines;
+    }
+
+    /**
+     * Writes a generated telemetry log to a file.
+     *
+     * @param path The path of the file to write.
+     * @param lineCount The amount of lines to generate.
+     * @throws IOException Thrown if the file cannot be written.
+     */
+    public void write(final Path path, final int lineCount) throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lineCount; i++) {
+                writer.write(nextLine());
+                writer.newLine();
+            }
+        }
+    }
+}
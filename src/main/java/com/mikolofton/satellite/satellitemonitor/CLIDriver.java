@@ -1,61 +1,508 @@
 package com.mikolofton.satellite.satellitemonitor;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.mikolofton.satellite.satellitemonitor.interators.CheckpointSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.DecompressSatelliteLog;
+import com.mikolofton.satellite.satellitemonitor.interators.FindSatelliteLogs;
+import com.mikolofton.satellite.satellitemonitor.interators.FollowSatelliteLog;
+import com.mikolofton.satellite.satellitemonitor.interators.IndexSatelliteLog;
 import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteAlert;
-import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteStatus;
-import com.mikolofton.satellite.satellitemonitor.interators.MakeSatelliteStatus.MakeSatelliteStatusException;
+import com.mikolofton.satellite.satellitemonitor.interators.ParallelSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.ParseSatelliteStatus;
+import com.mikolofton.satellite.satellitemonitor.interators.PipelineSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.QuerySatelliteLog;
+import com.mikolofton.satellite.satellitemonitor.interators.ReadSatelliteBinaryLog;
+import com.mikolofton.satellite.satellitemonitor.interators.ReadSatelliteLog;
+import com.mikolofton.satellite.satellitemonitor.interators.RecordSatelliteMetrics;
+import com.mikolofton.satellite.satellitemonitor.interators.SatelliteAlertRule;
+import com.mikolofton.satellite.satellitemonitor.interators.ServeSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.StreamSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.WriteSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.WriteSatelliteBinaryLog;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import com.mikolofton.satellite.satellitemonitor.util.IntObjectMap;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class CLIDriver {
 
+    private static final ThreadLocal<ParseSatelliteStatus> PARSER =
+        ThreadLocal.withInitial(() -> new ParseSatelliteStatus('|'));
+    private static final long FOLLOW_POLL_MILLIS = 500;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final long METRICS_INTERVAL_MILLIS = 10_000;
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 30_000;
+
     public static void main(final String[] args) {
-        if (args.length != 1) {
-            System.out.println("Usage: java -jar target/launch-satellite-monitor.jar path/to/file");
+        final CLIOptions options;
+
+        try {
+            options = CLIOptions.parse(args);
+        } catch (final IllegalArgumentException e) {
+            System.out.println(CLIOptions.USAGE);
             System.exit(0);
+            return;
         }
 
-        final String filePath = args[0];
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
 
-        try (final Stream<String> fileStream = Files.lines(Paths.get(filePath))) {
+        try {
 
-            final Map<Integer, List<SatelliteComponentStatus>> statusesById = fileStream
-                .flatMap(line -> {
-                    try {
-                        return Stream.of(new MakeSatelliteStatus("\\|").makeStatus(line));
-                    } catch (MakeSatelliteStatusException e) {
-                        // log.error(e);
-                        return Stream.empty();
-                    }
-                })
-                .collect(Collectors.groupingBy(s -> s.getSatelliteId()));
+            if (options.getServePort().isPresent()) {
+                serveAlerts(options.getServePort().getAsInt(), options, metrics);
+                return;
+            }
+
+            if (options.isFollow()) {
+                followAlerts(Paths.get(options.getFilePath()), options, newAlertWriter(options.getFormat(), true),
+                    metrics);
+                return;
+            }
+
+            final List<Path> filePaths = new FindSatelliteLogs().find(options.getFilePath());
+
+            if (options.isStream()) {
+                try (final WriteSatelliteAlert alertWriter = newAlertWriter(options.getFormat(), true)) {
+                    streamAlerts(filePaths, options, alertWriter, metrics);
+                }
+                printMetrics(options, metrics);
+                return;
+            }
+
+            if (options.getConvertPath().isPresent()) {
+                try (final WriteSatelliteBinaryLog binaryLog =
+                         new WriteSatelliteBinaryLog(Paths.get(options.getConvertPath().get()))) {
+                    binaryLog.write(readBatch(filePaths, options, metrics));
+                }
+                printMetrics(options, metrics);
+                return;
+            }
 
             final Set<SatelliteComponentAlert> alerts = new HashSet<>();
 
-            statusesById.entrySet().forEach(statusEntry -> {
-                final Set<SatelliteComponentAlert> alertsById = new MakeSatelliteAlert(3)
-                    .makeAlerts(statusEntry.getKey(), statusEntry.getValue());
+            // Several logs are always read in parallel chunks, as they would otherwise be read one at a time, binary
+            // logs are read straight into a batch, and queries only read the indexed blocks they need.
+            if (options.isMmap() || options.isQuery() || filePaths.size() > 1 ||
+                    ReadSatelliteBinaryLog.isBinaryLog(filePaths.get(0))) {
+                final SatelliteStatusBatch statuses = readBatch(filePaths, options, metrics);
+                final long evaluateNanos = System.nanoTime();
+                metrics.addStatuses(statuses);
 
-                alerts.addAll(alertsById);
-            });
+                if (options.getWindow() == StreamSatelliteAlert.Window.SLIDING) {
+                    final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, getRules(options),
+                        StreamSatelliteAlert.Window.SLIDING, getAllowedLatenessMillis(options), alerts::add);
+                    for (int i = 0; i < statuses.size(); i++) {
+                        streamAlert.accept(statuses.getSatelliteId(i), statuses.getComponent(i),
+                            statuses.getValue(i), statuses.getTimestampMillis(i));
+                    }
+                    streamAlert.flush();
+                    metrics.addLate(streamAlert.getLateCount());
+                } else {
+                    alerts.addAll(new ParallelSatelliteAlert(new MakeSatelliteAlert(3, getRules(options)),
+                        options.getThreads()).makeAlerts(statuses));
+                }
+                metrics.recordLatency(RecordSatelliteMetrics.Stage.EVALUATE, System.nanoTime() - evaluateNanos);
+            } else {
+                final IntObjectMap<List<SatelliteComponentStatus>> statusesById =
+                    readStatuses(filePaths.get(0), options.getThreads(), metrics);
+                final long evaluateNanos = System.nanoTime();
 
-            final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            final String alertsJson = gson.toJson(alerts);
+                if (options.getWindow() == StreamSatelliteAlert.Window.SLIDING) {
+                    final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, getRules(options),
+                        StreamSatelliteAlert.Window.SLIDING, getAllowedLatenessMillis(options), alerts::add);
+                    statusesById.forEach((satelliteId, statuses) -> statuses.forEach(streamAlert::accept));
+                    streamAlert.flush();
+                    metrics.addLate(streamAlert.getLateCount());
+                } else {
+                    alerts.addAll(new ParallelSatelliteAlert(new MakeSatelliteAlert(3, getRules(options)),
+                        options.getThreads()).makeAlerts(statusesById));
+                }
+                metrics.recordLatency(RecordSatelliteMetrics.Stage.EVALUATE, System.nanoTime() - evaluateNanos);
+            }
 
-            System.out.println(alertsJson);
+            final long serializeNanos = System.nanoTime();
+            try (final WriteSatelliteAlert alertWriter = newAlertWriter(options.getFormat(), false)) {
+                for (final SatelliteComponentAlert alert : alerts) {
+                    alertWriter.write(alert);
+                }
+            }
+            metrics.addAlerts(alerts.size());
+            metrics.recordLatency(RecordSatelliteMetrics.Stage.SERIALIZE, System.nanoTime() - serializeNanos);
+            printMetrics(options, metrics);
 
         } catch (final Exception e) {
             System.out.println("There was an error processing the file: " + e);
         }
     }
+
+    /**
+     * Creates a {@link WriteSatelliteAlert} that writes to standard output through a buffer.
+     *
+     * @param format The JSON format to write the alerts in. (not null)
+     * @param autoFlush Whether each alert is flushed as soon as it is written.
+     * @return The {@link WriteSatelliteAlert} writing to standard output.
+     */
+    private static WriteSatelliteAlert newAlertWriter(
+            final WriteSatelliteAlert.Format format,
+            final boolean autoFlush) {
+        final Writer stdout = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+            OUTPUT_BUFFER_SIZE);
+        return new WriteSatelliteAlert(stdout, format, autoFlush);
+    }
+
+    /**
+     * Makes alerts while the telemetry logs are read and prints each alert as soon as it is made, so that memory use
+     * does not grow with the size of the telemetry logs. Reading, parsing and evaluating run on separate threads
+     * connected by bounded queues, see {@link PipelineSatelliteAlert}.
+     *
+     * If the options give a checkpoint path, progress is saved to it periodically, and it is deleted once every log
+     * has been read. Unless the options ask to resume, an existing checkpoint is discarded first.
+     *
+     * @param filePaths The paths of the telemetry logs in the order to read them. (not null)
+     * @param options The options the satellite monitor was run with. (not null)
+     * @param alertWriter Writes the alerts as they are made. (not null)
+     * @param metrics Records the lines, statuses and alerts, and the time taken by each chunk. (not null)
+     * @throws IOException Thrown if a telemetry log cannot be read or the alerts cannot be written.
+     * @throws InterruptedException Thrown if the monitor is interrupted.
+     */
+    private static void streamAlerts(
+            final List<Path> filePaths,
+            final CLIOptions options,
+            final WriteSatelliteAlert alertWriter,
+            final RecordSatelliteMetrics metrics) throws IOException, InterruptedException {
+        final PipelineSatelliteAlert pipeline = new PipelineSatelliteAlert('|', 3, getRules(options),
+            options.getWindow(), getAllowedLatenessMillis(options), options.getThreads(), metrics);
+        final Consumer<SatelliteComponentAlert> consumer = alert -> {
+            metrics.addAlerts(1);
+            alertWriter.accept(alert);
+        };
+
+        alertWriter.start();
+        if (!options.getCheckpointPath().isPresent()) {
+            pipeline.makeAlerts(filePaths, consumer);
+            return;
+        }
+
+        final CheckpointSatelliteAlert checkpoint =
+            new CheckpointSatelliteAlert(Paths.get(options.getCheckpointPath().get()), CHECKPOINT_INTERVAL_MILLIS);
+        if (!options.isResume()) {
+            checkpoint.delete();
+        }
+        pipeline.makeAlerts(filePaths, consumer, checkpoint);
+        checkpoint.delete();
+    }
+
+    /**
+     * Follows the telemetry log as it is written to and prints each alert as soon as it is made, until the monitor
+     * is stopped. The output is closed when the monitor shuts down. Statuses held back for late arrivals when the
+     * monitor is stopped are not evaluated.
+     *
+     * @param filePath The path of the telemetry log. (not null)
+     * @param options The options the satellite monitor was run with. Metrics are printed periodically and when the
+     *     monitor shuts down if they ask for them. (not null)
+     * @param alertWriter Writes the alerts as they are made. (not null)
+     * @param metrics Records the lines, statuses and alerts, and the time taken by each poll. (not null)
+     * @throws IOException Thrown if the telemetry log cannot be read or the alerts cannot be written.
+     * @throws InterruptedException Thrown if the monitor is interrupted.
+     */
+    private static void followAlerts(
+            final Path filePath,
+            final CLIOptions options,
+            final WriteSatelliteAlert alertWriter,
+            final RecordSatelliteMetrics metrics) throws IOException, InterruptedException {
+        final boolean printMetrics = options.isMetrics();
+        final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, getRules(options), options.getWindow(),
+            getAllowedLatenessMillis(options), alert -> {
+                metrics.addAlerts(1);
+                alertWriter.accept(alert);
+            });
+
+        if (printMetrics) {
+            schedulePrintMetrics(metrics);
+        }
+
+        alertWriter.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                alertWriter.close();
+            } catch (final IOException e) {
+                // The output is already closed.
+            }
+            if (printMetrics) {
+                printMetrics(metrics);
+            }
+        }));
+
+        try (final FollowSatelliteLog followLog = new FollowSatelliteLog(filePath, '|', streamAlert, metrics)) {
+            followLog.follow(FOLLOW_POLL_MILLIS);
+        }
+    }
+
+    /**
+     * Serves a resident monitor that receives telemetry lines on a loopback port and writes each alert back on the
+     * connection whose lines made it, until the monitor is stopped. The port listened on is printed to standard error.
+     *
+     * @param port The loopback port to listen on, or 0 for any free port. (not negative)
+     * @param options The options the satellite monitor was run with. Metrics are printed periodically and when the
+     *     monitor shuts down if they ask for them. (not null)
+     * @param metrics Records the lines, statuses and alerts, and the time taken to parse and evaluate them. (not null)
+     * @throws IOException Thrown if the port cannot be listened on.
+     */
+    private static void serveAlerts(
+            final int port,
+            final CLIOptions options,
+            final RecordSatelliteMetrics metrics) throws IOException {
+        final boolean printMetrics = options.isMetrics();
+        final ServeSatelliteAlert serveAlert = new ServeSatelliteAlert(port, '|', 3, getRules(options),
+            options.getWindow(), getAllowedLatenessMillis(options), metrics);
+
+        if (printMetrics) {
+            schedulePrintMetrics(metrics);
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                serveAlert.close();
+            } catch (final IOException e) {
+                // The port is already closed.
+            }
+            if (printMetrics) {
+                printMetrics(metrics);
+            }
+        }));
+
+        System.err.println("Listening on port " + serveAlert.getPort());
+        serveAlert.serve();
+    }
+
+    /**
+     * Prints the metrics to standard error every {@link #METRICS_INTERVAL_MILLIS} while the monitor runs.
+     *
+     * @param metrics The metrics recorded while processing the telemetry lines. (not null)
+     */
+    private static void schedulePrintMetrics(final RecordSatelliteMetrics metrics) {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "satellite-monitor-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> printMetrics(metrics),
+            METRICS_INTERVAL_MILLIS, METRICS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param options The options the satellite monitor was run with. (not null)
+     * @return The {@link SatelliteAlertRule} of each component type the options ask for.
+     */
+    private static Map<SatelliteComponent.ComponentType, SatelliteAlertRule> getRules(final CLIOptions options) {
+        return options.isAllSeverities() ? MakeSatelliteAlert.getAllRules() : MakeSatelliteAlert.getDefaultRules();
+    }
+
+    /**
+     * @param options The options the satellite monitor was run with. (not null)
+     * @return The allowed lateness of statuses in milliseconds, or {@link StreamSatelliteAlert#IN_ORDER}.
+     */
+    private static long getAllowedLatenessMillis(final CLIOptions options) {
+        return options.getAllowedLatenessMillis().orElse(StreamSatelliteAlert.IN_ORDER);
+    }
+
+    /**
+     * Prints the metrics to standard error if the options ask for them, so that they do not mix with the alerts.
+     *
+     * @param options The options the satellite monitor was run with. (not null)
+     * @param metrics The metrics recorded while processing the telemetry logs. (not null)
+     */
+    private static void printMetrics(final CLIOptions options, final RecordSatelliteMetrics metrics) {
+        if (options.isMetrics()) {
+            printMetrics(metrics);
+        }
+    }
+
+    /**
+     * Prints metrics to standard error as JSON, so that they do not mix with the alerts.
+     *
+     * @param metrics The metrics to print. (not null)
+     */
+    private static void printMetrics(final RecordSatelliteMetrics metrics) {
+        System.err.println(metrics.toJson());
+    }
+
+    /**
+     * Reads the statuses of telemetry logs the options select into one {@link SatelliteStatusBatch}.
+     *
+     * @param filePaths The paths of the telemetry logs in the order to read them. (not null)
+     * @param options The options the satellite monitor was run with. (not null)
+     * @param metrics Records the lines read and the time taken to read them. (not null)
+     * @return The selected statuses of all telemetry logs, one log after another.
+     * @throws IOException Thrown if a telemetry log cannot be read.
+     */
+    private static SatelliteStatusBatch readBatch(
+            final List<Path> filePaths,
+            final CLIOptions options,
+            final RecordSatelliteMetrics metrics) throws IOException {
+        if (!options.isQuery()) {
+            return readBatch(filePaths, options.getThreads(), metrics);
+        }
+
+        final QuerySatelliteLog queryLog = new QuerySatelliteLog(new IndexSatelliteLog('|'));
+        final long fromMillis = options.getFrom().map(Instant::toEpochMilli).orElse(Long.MIN_VALUE);
+        final long toMillis = options.getTo().map(Instant::toEpochMilli).orElse(Long.MAX_VALUE);
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch(0);
+
+        for (final Path filePath : filePaths) {
+            final long startNanos = System.nanoTime();
+            statuses.addAll(options.getSatelliteId().isPresent() ?
+                queryLog.query(filePath, options.getSatelliteId().getAsInt(), fromMillis, toMillis) :
+                queryLog.query(filePath, fromMillis, toMillis));
+            metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, System.nanoTime() - startNanos);
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Reads text and binary telemetry logs into one {@link SatelliteStatusBatch}. Consecutive text logs are read
+     * together in parallel chunks.
+     *
+     * @param filePaths The paths of the telemetry logs in the order to read them. (not null)
+     * @param threads The amount of threads used to read text logs. (greater than 0)
+     * @param metrics Records the lines read and the time taken to read them. (not null)
+     * @return The statuses of all telemetry logs, one log after another.
+     * @throws IOException Thrown if a telemetry log cannot be read.
+     */
+    private static SatelliteStatusBatch readBatch(
+            final List<Path> filePaths,
+            final int threads,
+            final RecordSatelliteMetrics metrics) throws IOException {
+        final ReadSatelliteLog readLog = new ReadSatelliteLog('|', threads, metrics);
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch(0);
+        final List<Path> textPaths = new ArrayList<>();
+
+        for (final Path filePath : filePaths) {
+            if (ReadSatelliteBinaryLog.isBinaryLog(filePath)) {
+                if (!textPaths.isEmpty()) {
+                    statuses.addAll(readLog.read(textPaths));
+                    textPaths.clear();
+                }
+                final long startNanos = System.nanoTime();
+                new ReadSatelliteBinaryLog().read(filePath, statuses::addAll);
+                metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, System.nanoTime() - startNanos);
+            } else {
+                textPaths.add(filePath);
+            }
+        }
+        if (!textPaths.isEmpty()) {
+            statuses.addAll(readLog.read(textPaths));
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Reads the statuses of a text telemetry log line by line and groups them by satellite.
+     *
+     * @param filePath The path of the text or compressed text telemetry log. (not null)
+     * @param threads The amount of threads used to decompress a block compressed log. (greater than 0)
+     * @param metrics Records the lines read, the statuses read and the time taken to read and group them. (not null)
+     * @return The statuses of each satellite in the order they appear in the log.
+     * @throws IOException Thrown if the telemetry log cannot be read.
+     */
+    private static IntObjectMap<List<SatelliteComponentStatus>> readStatuses(
+            final Path filePath,
+            final int threads,
+            final RecordSatelliteMetrics metrics) throws IOException {
+        final long parseNanos = System.nanoTime();
+        final List<SatelliteComponentStatus> statuses;
+        try (final Stream<String> fileStream = lines(filePath, threads)) {
+            statuses = fileStream
+                .flatMap(line -> makeStatus(line, metrics))
+                .collect(Collectors.toList());
+        }
+
+        final long groupNanos = System.nanoTime();
+        metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, groupNanos - parseNanos);
+
+        final IntObjectMap<List<SatelliteComponentStatus>> statusesById = new IntObjectMap<>();
+        for (final SatelliteComponentStatus status : statuses) {
+            metrics.addStatus(status.getComponent().getComponentType());
+            statusesById.computeIfAbsent(status.getSatelliteId(), id -> new ArrayList<>()).add(status);
+        }
+        metrics.recordLatency(RecordSatelliteMetrics.Stage.GROUP, System.nanoTime() - groupNanos);
+
+        return statusesById;
+    }
+
+    /**
+     * Reads the lines of a telemetry log. A compressed log is decompressed on separate threads while it is read.
+     *
+     * @param filePath The path of the telemetry log. (not null)
+     * @param threads The amount of threads used to decompress a block compressed log. (greater than 0)
+     * @return The lines of the telemetry log, which must be closed.
+     * @throws IOException Thrown if the telemetry log cannot be opened.
+     */
+    private static Stream<String> lines(final Path filePath, final int threads) throws IOException {
+        if (!DecompressSatelliteLog.isCompressed(filePath)) {
+            return Files.lines(filePath);
+        }
+
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new DecompressSatelliteLog(threads).open(filePath), StandardCharsets.UTF_8));
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Makes the status of a line of a telemetry log, counting the line as read and as parsed or rejected.
+     *
+     * @param line The line of the telemetry log, without its line separator. (not null)
+     * @param metrics Records whether the line was parsed, or why it was rejected. (not null)
+     * @return The status of the line, or no status if the line is empty or cannot be parsed.
+     */
+    private static Stream<SatelliteComponentStatus> makeStatus(
+            final String line,
+            final RecordSatelliteMetrics metrics) {
+        // Blank lines are skipped without being counted, as the chunked reader does.
+        if (line.isEmpty()) {
+            return Stream.empty();
+        }
+
+        // Lines are parsed as the chunked reader parses them, so that both reject the same lines for the same reasons.
+        metrics.addLinesRead(1);
+        final ParseSatelliteStatus parser = PARSER.get();
+        if (!parser.parse(line)) {
+            metrics.addRejected(parser.getFailure(), 1);
+            return Stream.empty();
+        }
+        metrics.addLinesParsed(1);
+        return Stream.of(parser.toStatus());
+    }
 }
@@ -0,0 +1,368 @@
+package com.mikolofton.satellite.satellitemonitor;
+
+import com.mikolofton.satellite.satellitemonitor.interators.StreamSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.WriteSatelliteAlert;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The options the satellite monitor's {@link CLIDriver} was run with.
+ */
+public class CLIOptions {
+
+    /**
+     * Describes how to run the satellite monitor.
+     */
+    public static final String USAGE = "Usage: java -jar target/launch-satellite-monitor.jar " +
+            "[--stream [--checkpoint=path/to/checkpoint [--resume]] | --mmap | --follow] [--threads=N] " +
+            "[--window=tumbling|sliding] [--lateness=SECONDS] [--all-severities] " +
+            "[--format=pretty|compact|ndjson] [--convert=path/to/output.satb] " +
+            "[--satellite=ID] [--from=2018-01-01T23:00:00Z] [--to=2018-01-01T23:30:00Z] [--metrics] " +
+            "path/to/file|path/to/directory|'glob/pattern/*.log'" + System.lineSeparator() +
+            "       java -jar target/launch-satellite-monitor.jar --serve=PORT " +
+            "[--window=tumbling|sliding] [--lateness=SECONDS] [--all-severities] [--metrics]";
+
+    private final String filePath;
+    private final boolean stream;
+    private final String checkpointPath;
+    private final boolean resume;
+    private final boolean mmap;
+    private final boolean follow;
+    private final Integer servePort;
+    private final int threads;
+    private final StreamSatelliteAlert.Window window;
+    private final Long allowedLatenessMillis;
+    private final boolean allSeverities;
+    private final WriteSatelliteAlert.Format format;
+    private final String convertPath;
+    private final Integer satelliteId;
+    private final Instant from;
+    private final Instant to;
+    private final boolean metrics;
+
+    /**
+     * Private to prevent instantiation. Use {@link #parse(String[])} to create instances.
+     *
+     * @param filePath The path of the telemetry log to read, or null when serving. (not null unless serving)
+     * @param stream Whether alerts are made one status at a time instead of after reading the whole log.
+     * @param checkpointPath The path of the file that progress through the logs is saved to while streaming, or null
+     *     to not save progress.
+     * @param resume Whether streaming resumes from the saved progress instead of starting over.
+     * @param mmap Whether the telemetry log is memory mapped and parsed in parallel chunks.
+     * @param follow Whether the telemetry log is followed as it is written to, making alerts as lines are appended.
+     * @param servePort The loopback port telemetry lines are received on instead of reading a telemetry log, or null
+     *     to read a telemetry log. (between 0 and 65535)
+     * @param threads The amount of threads used to process the telemetry log. (greater than 0)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive in
+     *     milliseconds, or null if statuses are expected in time order. (not negative)
+     * @param allSeverities Whether alerts are made for values beyond either red limit or either yellow limit of every
+     *     component, instead of low battery and high thermostat values only.
+     * @param format The JSON format alerts are printed in. (not null)
+     * @param convertPath The path to write the telemetry log to in the binary format instead of printing alerts, or
+     *     null to print alerts.
+     * @param satelliteId The only satellite whose statuses are read, or null to read the statuses of all satellites.
+     * @param from The start of the time range of the statuses that are read, or null to start at the earliest status.
+     *     Only tumbling windows may be limited to a time range.
+     * @param to The end of the time range of the statuses that are read, or null to end at the latest status.
+     *     Only tumbling windows may be limited to a time range.
+     * @param metrics Whether metrics about processing the telemetry log are printed to standard error.
+     */
+    private CLIOptions(
+            final String filePath,
+            final boolean stream,
+            final String checkpointPath,
+            final boolean resume,
+            final boolean mmap,
+            final boolean follow,
+            final Integer servePort,
+            final int threads,
+            final StreamSatelliteAlert.Window window,
+            final Long allowedLatenessMillis,
+            final boolean allSeverities,
+            final WriteSatelliteAlert.Format format,
+            final String convertPath,
+            final Integer satelliteId,
+            final Instant from,
+            final Instant to,
+            final boolean metrics) {
+        requireNonNull(window);
+        checkArgument(filePath != null || servePort != null, "A file path must be provided.");
+        checkArgument(filePath == null || servePort == null, "A file path may not be provided with --serve.");
+        checkArgument(servePort == null || (servePort >= 0 && servePort <= 0xffff),
+                "The port must be between 0 and 65535.");
+        checkArgument(servePort == null || !(stream || mmap || follow),
+                "--serve may not be provided with --stream, --mmap or --follow.");
+        checkArgument(servePort == null || (convertPath == null && satelliteId == null && from == null && to == null),
+                "--convert, --satellite, --from and --to may not be provided with --serve.");
+        requireNonNull(format);
+        checkArgument((stream ? 1 : 0) + (mmap ? 1 : 0) + (follow ? 1 : 0) <= 1,
+                "Only one of --stream, --mmap and --follow may be provided.");
+        checkArgument(checkpointPath == null || stream, "--checkpoint may only be provided with --stream.");
+        checkArgument(!resume || checkpointPath != null, "--resume may only be provided with --checkpoint.");
+        checkArgument(threads > 0, "The amount of threads must be greater than 0.");
+        checkArgument(allowedLatenessMillis == null || allowedLatenessMillis >= 0,
+                "The allowed lateness must not be negative.");
+        checkArgument(convertPath == null || !(stream || follow),
+                "--convert may not be provided with --stream or --follow.");
+        checkArgument((satelliteId == null && from == null && to == null) || !(stream || follow),
+                "--satellite, --from and --to may not be provided with --stream or --follow.");
+        checkArgument(from == null || to == null || !from.isAfter(to), "--from must not be after --to.");
+        checkArgument((from == null && to == null) || window == StreamSatelliteAlert.Window.TUMBLING,
+                "--from and --to may not be provided with --window=sliding.");
+
+        this.filePath = filePath;
+        this.stream = stream;
+        this.checkpointPath = checkpointPath;
+        this.resume = resume;
+        this.mmap = mmap;
+        this.follow = follow;
+        this.servePort = servePort;
+        this.threads = threads;
+        this.window = window;
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.allSeverities = allSeverities;
+        this.format = format;
+        this.convertPath = convertPath;
+        this.satelliteId = satelliteId;
+        this.from = from;
+        this.to = to;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Parses the command line arguments of the satellite monitor.
+     *
+     * @param args The command line arguments. (not null)
+     * @return The {@link CLIOptions} the arguments describe.
+     * @throws IllegalArgumentException Thrown if the arguments do not match {@link #USAGE}.
+     */
+    public static CLIOptions parse(final String[] args) {
+        requireNonNull(args);
+
+        String filePath = null;
+        boolean stream = false;
+        String checkpointPath = null;
+        boolean resume = false;
+        boolean mmap = false;
+        boolean follow = false;
+        Integer servePort = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        StreamSatelliteAlert.Window window = StreamSatelliteAlert.Window.TUMBLING;
+        Long allowedLatenessMillis = null;
+        boolean allSeverities = false;
+        WriteSatelliteAlert.Format format = WriteSatelliteAlert.Format.PRETTY;
+        String convertPath = null;
+        Integer satelliteId = null;
+        Instant from = null;
+        Instant to = null;
+        boolean metrics = false;
+
+        for (final String arg : args) {
+            if (arg.equals("--stream")) {
+                stream = true;
+            } else if (arg.equals("--resume")) {
+                resume = true;
+            } else if (arg.equals("--mmap")) {
+                mmap = true;
+            } else if (arg.equals("--follow")) {
+                follow = true;
+            } else if (arg.equals("--all-severities")) {
+                allSeverities = true;
+            } else if (arg.equals("--metrics")) {
+                metrics = true;
+            } else if (arg.startsWith("--threads=")) {
+                threads = parseInt(arg, "--threads=");
+            } else if (arg.startsWith("--serve=")) {
+                servePort = parseInt(arg, "--serve=");
+            } else if (arg.startsWith("--window=")) {
+                window = parseEnum(StreamSatelliteAlert.Window.class, arg, "--window=");
+            } else if (arg.startsWith("--lateness=")) {
+                allowedLatenessMillis = TimeUnit.SECONDS.toMillis(parseInt(arg, "--lateness="));
+            } else if (arg.startsWith("--format=")) {
+                format = parseEnum(WriteSatelliteAlert.Format.class, arg, "--format=");
+            } else if (arg.startsWith("--checkpoint=")) {
+                checkpointPath = arg.substring("--checkpoint=".length());
+                checkArgument(!checkpointPath.isEmpty(), "Invalid value for option: " + arg);
+            } else if (arg.startsWith("--convert=")) {
+                convertPath = arg.substring("--convert=".length());
+                checkArgument(!convertPath.isEmpty(), "Invalid value for option: " + arg);
+            } else if (arg.startsWith("--satellite=")) {
+                satelliteId = parseInt(arg, "--satellite=");
+            } else if (arg.startsWith("--from=")) {
+                from = parseInstant(arg, "--from=");
+            } else if (arg.startsWith("--to=")) {
+                to = parseInstant(arg, "--to=");
+            } else {
+                checkArgument(!arg.startsWith("--"), "Unknown option: " + arg);
+                checkArgument(filePath == null, "Only one file path may be provided.");
+                filePath = arg;
+            }
+        }
+
+        return new CLIOptions(filePath, stream, checkpointPath, resume, mmap, follow, servePort, threads, window,
+                allowedLatenessMillis, allSeverities, format, convertPath, satelliteId, from, to, metrics);
+    }
+
+    private static int parseInt(final String arg, final String option) {
+        try {
+            return Integer.parseInt(arg.substring(option.length()));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for option: " + arg, e);
+        }
+    }
+
+    private static Instant parseInstant(final String arg, final String option) {
+        try {
+            return Instant.parse(arg.substring(option.length()));
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid value for option: " + arg, e);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(final Class<E> type, final String arg, final String option) {
+        try {
+            return Enum.valueOf(type, arg.substring(option.length()).toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for option: " + arg, e);
+        }
+    }
+
+    /**
+     * @return The path of the telemetry log to read, or null when serving.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * @return Whether alerts are made one status at a time instead of after reading the whole log.
+     */
+    public boolean isStream() {
+        return stream;
+    }
+
+    /**
+     * @return The path of the file that progress through the logs is saved to while streaming, if any.
+     */
+    public Optional<String> getCheckpointPath() {
+        return Optional.ofNullable(checkpointPath);
+    }
+
+    /**
+     * @return Whether streaming resumes from the saved progress instead of starting over.
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * @return Whether the telemetry log is memory mapped and parsed in parallel chunks.
+     */
+    public boolean isMmap() {
+        return mmap;
+    }
+
+    /**
+     * @return Whether the telemetry log is followed as it is written to, making alerts as lines are appended.
+     */
+    public boolean isFollow() {
+        return follow;
+    }
+
+    /**
+     * @return The loopback port telemetry lines are received on instead of reading a telemetry log, if serving.
+     */
+    public OptionalInt getServePort() {
+        return servePort == null ? OptionalInt.empty() : OptionalInt.of(servePort);
+    }
+
+    /**
+     * @return The amount of threads used to process the telemetry log.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return The kind of five minute window statuses are counted in.
+     */
+    public StreamSatelliteAlert.Window getWindow() {
+        return window;
+    }
+
+    /**
+     * @return How long before the latest status of a satellite its statuses may still arrive in milliseconds, if
+     *     statuses may arrive out of time order.
+     */
+    public OptionalLong getAllowedLatenessMillis() {
+        return allowedLatenessMillis == null ? OptionalLong.empty() : OptionalLong.of(allowedLatenessMillis);
+    }
+
+    /**
+     * @return Whether alerts are made for values beyond either red limit or either yellow limit of every component,
+     *     instead of low battery and high thermostat values only.
+     */
+    public boolean isAllSeverities() {
+        return allSeverities;
+    }
+
+    /**
+     * @return The JSON format alerts are printed in.
+     */
+    public WriteSatelliteAlert.Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @return The path to write the telemetry log to in the binary format instead of printing alerts, if any.
+     */
+    public Optional<String> getConvertPath() {
+        return Optional.ofNullable(convertPath);
+    }
+
+    /**
+     * @return Whether only the statuses of a satellite or a time range are read, using the index of the telemetry
+     *     log.
+     */
+    public boolean isQuery() {
+        return satelliteId != null || from != null || to != null;
+    }
+
+    /**
+     * @return The only satellite whose statuses are read, if any.
+     */
+    public OptionalInt getSatelliteId() {
+        return satelliteId == null ? OptionalInt.empty() : OptionalInt.of(satelliteId);
+    }
+
+    /**
+     * @return The start of the time range of the statuses that are read, if any.
+     */
+    public Optional<Instant> getFrom() {
+        return Optional.ofNullable(from);
+    }
+
+    /**
+     * @return The end of the time range of the statuses that are read, if any.
+     */
+    public Optional<Instant> getTo() {
+        return Optional.ofNullable(to);
+    }
+
+    /**
+     * @return Whether metrics about processing the telemetry log are printed to standard error.
+     */
+    public boolean isMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A view of the bytes of a {@link ByteBuffer} as ASCII characters, so that telemetry logs can be parsed without
+ * decoding them into strings.
+ */
+class AsciiSequence implements CharSequence {
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates an instance of {@link AsciiSequence}.
+     *
+     * @param buffer The bytes to view, from index 0 up to the limit of the buffer. (not null)
+     */
+    AsciiSequence(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int length() {
+        return buffer.limit();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return (char) (buffer.get(index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        final ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).limit(end);
+        ((Buffer) slice).position(start);
+        return new AsciiSequence(slice.slice());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(length());
+        for (int i = 0; i < length(); i++) {
+            builder.append(charAt(i));
+        }
+        return builder.toString();
+    }
+}
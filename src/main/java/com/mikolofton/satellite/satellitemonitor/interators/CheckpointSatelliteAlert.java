@@ -0,0 +1,267 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Saves how far a {@link PipelineSatelliteAlert} got through its telemetry logs to a checkpoint file, so that a run
+ * that stops part way resumes from the last checkpoint instead of reading the logs from the start.
+ *
+ * A checkpoint holds the position after the last chunk whose statuses were all evaluated, together with the state of
+ * each evaluator at that position as {@link StreamSatelliteAlert#writeState} writes it. It is written to a temporary
+ * file that then replaces the previous checkpoint, so a run that stops while writing keeps the previous checkpoint.
+ * A checkpoint file consists of:
+ *
+ * int magic "SATC", short version, int threshold, int severityMask, byte window, long allowedLatenessMillis,
+ * int fileIndex, UTF filePath, long offset, int stateCount, stateCount times: int length, length bytes of state
+ */
+public class CheckpointSatelliteAlert {
+
+    static final int MAGIC = 0x53415443;
+    static final short VERSION = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final StreamSatelliteAlert.Window[] WINDOWS = StreamSatelliteAlert.Window.values();
+
+    private final Path path;
+    private final long intervalNanos;
+    private long dueNanos;
+
+    /**
+     * Creates an instance of {@link CheckpointSatelliteAlert}.
+     *
+     * @param path The path of the checkpoint file. (not null)
+     * @param intervalMillis How long to wait between checkpoints in milliseconds. (not negative)
+     */
+    public CheckpointSatelliteAlert(final Path path, final long intervalMillis) {
+        requireNonNull(path);
+        checkArgument(intervalMillis >= 0, "The checkpoint interval must not be negative.");
+
+        this.path = path;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.dueNanos = System.nanoTime() + intervalNanos;
+    }
+
+    /**
+     * @return Whether the checkpoint interval has passed since this instance was created or last wrote a checkpoint.
+     */
+    public boolean isDue() {
+        return System.nanoTime() - dueNanos >= 0;
+    }
+
+    /**
+     * Replaces the checkpoint file with a checkpoint.
+     *
+     * @param checkpoint The checkpoint to write. (not null)
+     * @throws IOException Thrown if the checkpoint file cannot be written.
+     */
+    public void write(final Checkpoint checkpoint) throws IOException {
+        requireNonNull(checkpoint);
+
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (final OutputStream file = Files.newOutputStream(temporary);
+             final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(checkpoint.threshold);
+            out.writeInt(checkpoint.severityMask);
+            out.writeByte(checkpoint.window.ordinal());
+            out.writeLong(checkpoint.allowedLatenessMillis);
+            out.writeInt(checkpoint.fileIndex);
+            out.writeUTF(checkpoint.filePath);
+            out.writeLong(checkpoint.offset);
+            out.writeInt(checkpoint.states.size());
+            for (final byte[] state : checkpoint.states) {
+                out.writeInt(state.length);
+                out.write(state);
+            }
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dueNanos = System.nanoTime() + intervalNanos;
+    }
+
+    /**
+     * Reads the checkpoint file.
+     *
+     * @return The last checkpoint written, or empty if there is no checkpoint file.
+     * @throws IOException Thrown if the checkpoint file cannot be read or is not a checkpoint.
+     */
+    public Optional<Checkpoint> read() throws IOException {
+        try (final InputStream file = Files.newInputStream(path);
+             final DataInputStream in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException(path + " is not a checkpoint.");
+            }
+
+            final int threshold = in.readInt();
+            final int severityMask = in.readInt();
+            final int window = in.readByte();
+            final long allowedLatenessMillis = in.readLong();
+            final int fileIndex = in.readInt();
+            final String filePath = in.readUTF();
+            final long offset = in.readLong();
+            final int stateCount = in.readInt();
+            if (window < 0 || window >= WINDOWS.length || stateCount < 0) {
+                throw new IOException(path + " is a corrupt checkpoint.");
+            }
+
+            final List<byte[]> states = new ArrayList<>();
+            for (int i = 0; i < stateCount; i++) {
+                final int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException(path + " is a corrupt checkpoint.");
+                }
+                final byte[] state = new byte[length];
+                in.readFully(state);
+                states.add(state);
+            }
+
+            return Optional.of(new Checkpoint(threshold, severityMask, WINDOWS[window], allowedLatenessMillis,
+                    fileIndex, filePath, offset, states));
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        } catch (final EOFException e) {
+            throw new IOException(path + " is a truncated checkpoint.", e);
+        } catch (final IllegalArgumentException e) {
+            throw new IOException(path + " is a corrupt checkpoint.", e);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint file if there is one, so that the next run starts from the beginning of the logs.
+     *
+     * @throws IOException Thrown if the checkpoint file cannot be deleted.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * The position of a {@link PipelineSatelliteAlert} in its telemetry logs and the state of its evaluators there.
+     */
+    public static class Checkpoint {
+        private final int threshold;
+        private final int severityMask;
+        private final StreamSatelliteAlert.Window window;
+        private final long allowedLatenessMillis;
+        private final int fileIndex;
+        private final String filePath;
+        private final long offset;
+        private final List<byte[]> states;
+
+        /**
+         * Creates an instance of {@link Checkpoint}.
+         *
+         * @param threshold The threshold the alerts are made with.
+         * @param severityMask The component types and severities the alerts are made for, as
+         *     {@link MakeSatelliteAlert#getSeverityMask()} gives them.
+         * @param window The kind of five minute window statuses are counted in. (not null)
+         * @param allowedLatenessMillis The allowed lateness of statuses in milliseconds, or
+         *     {@link StreamSatelliteAlert#IN_ORDER}.
+         * @param fileIndex The index of the telemetry log the position is in. (not negative)
+         * @param filePath The path of the telemetry log the position is in. (not null)
+         * @param offset The offset in bytes after the last evaluated line of the telemetry log. (not negative)
+         * @param states The state of each evaluator. (not null)
+         */
+        public Checkpoint(
+                final int threshold,
+                final int severityMask,
+                final StreamSatelliteAlert.Window window,
+                final long allowedLatenessMillis,
+                final int fileIndex,
+                final String filePath,
+                final long offset,
+                final List<byte[]> states) {
+            requireNonNull(window);
+            requireNonNull(filePath);
+            requireNonNull(states);
+            checkArgument(fileIndex >= 0, "The file index must not be negative.");
+            checkArgument(offset >= 0, "The offset must not be negative.");
+
+            this.threshold = threshold;
+            this.severityMask = severityMask;
+            this.window = window;
+            this.allowedLatenessMillis = allowedLatenessMillis;
+            this.fileIndex = fileIndex;
+            this.filePath = filePath;
+            this.offset = offset;
+            this.states = Collections.unmodifiableList(new ArrayList<>(states));
+        }
+
+        /**
+         * @return The threshold the alerts are made with.
+         */
+        public int getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * @return The component types and severities the alerts are made for, as
+         *     {@link MakeSatelliteAlert#getSeverityMask()} gives them.
+         */
+        public int getSeverityMask() {
+            return severityMask;
+        }
+
+        /**
+         * @return The kind of five minute window statuses are counted in.
+         */
+        public StreamSatelliteAlert.Window getWindow() {
+            return window;
+        }
+
+        /**
+         * @return The allowed lateness of statuses in milliseconds, or {@link StreamSatelliteAlert#IN_ORDER}.
+         */
+        public long getAllowedLatenessMillis() {
+            return allowedLatenessMillis;
+        }
+
+        /**
+         * @return The index of the telemetry log the position is in.
+         */
+        public int getFileIndex() {
+            return fileIndex;
+        }
+
+        /**
+         * @return The path of the telemetry log the position is in.
+         */
+        public String getFilePath() {
+            return filePath;
+        }
+
+        /**
+         * @return The offset in bytes after the last evaluated line of the telemetry log.
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return The state of each evaluator.
+         */
+        public List<byte[]> getStates() {
+            return states;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Splits the bytes of a telemetry log into chunks that end at a line break, so that each chunk can be parsed on
+ * its own. A line break is either '\n' or '\r'. A line longer than the chunk size grows the chunk until it fits.
+ * <p>
+ * Each chunk is a new array, so it may be handed to another thread while the next chunk is read.
+ */
+class ChunkSatelliteLog {
+    private final ReadableByteChannel channel;
+    private final int chunkSize;
+
+    private byte[] buffer;
+    private int length;
+    private boolean ended;
+
+    private byte[] chunk;
+    private int chunkLength;
+    private long endOffset;
+
+    /**
+     * Creates an instance of {@link ChunkSatelliteLog}.
+     *
+     * @param channel The channel to read the log from. It is not closed by this class. (not null)
+     * @param chunkSize The number of bytes to read before ending a chunk at its last line break. (greater than 0)
+     */
+    ChunkSatelliteLog(final ReadableByteChannel channel, final int chunkSize) {
+        checkArgument(chunkSize > 0, "The chunk size must be greater than 0.");
+        this.channel = requireNonNull(channel);
+        this.chunkSize = chunkSize;
+        this.buffer = new byte[chunkSize];
+    }
+
+    /**
+     * Reads the next chunk. The last chunk of the log holds whatever follows the last full chunk, even if it does
+     * not end at a line break.
+     *
+     * @return {@code true} if there is a chunk, {@code false} if the log has been read to its end.
+     * @throws IOException Thrown if the channel cannot be read.
+     */
+    boolean next() throws IOException {
+        chunk = null;
+        chunkLength = 0;
+        if (ended) {
+            return false;
+        }
+
+        while (true) {
+            if (length == buffer.length) {
+                int end = length;
+                while (end > 0 && !isLineBreak(buffer[end - 1])) {
+                    end--;
+                }
+                if (end > 0) {
+                    split(end);
+                    return true;
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            final int read = channel.read(ByteBuffer.wrap(buffer, length, buffer.length - length));
+            if (read < 0) {
+                ended = true;
+                if (length == 0) {
+                    return false;
+                }
+                split(length);
+                return true;
+            }
+            length += read;
+        }
+    }
+
+    /**
+     * @param b A byte of a telemetry log.
+     * @return Whether the byte ends a line.
+     */
+    static boolean isLineBreak(final byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * @return The bytes of the current chunk, from index 0 up to {@link #getLength()}. (not null)
+     * @throws IllegalStateException Thrown if {@link #next()} has not found a chunk.
+     */
+    byte[] getChunk() {
+        checkState(chunk != null, "There is no current chunk.");
+        return chunk;
+    }
+
+    /**
+     * @return The number of bytes in the current chunk.
+     */
+    int getLength() {
+        return chunkLength;
+    }
+
+    /**
+     * @return The number of bytes read from the channel up to the end of the current chunk.
+     */
+    long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Makes the first bytes of the buffer the current chunk, and moves the bytes after them into a new buffer.
+     */
+    private void split(final int end) {
+        final byte[] next = new byte[Math.max(chunkSize, length - end)];
+        System.arraycopy(buffer, end, next, 0, length - end);
+
+        chunk = buffer;
+        chunkLength = end;
+        endOffset += end;
+
+        buffer = next;
+        length -= end;
+    }
+}
@@ -0,0 +1,180 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decodes the "yyyyMMdd HH:mm:ss.SSS" UTC timestamps of the telemetry logs into milliseconds since the epoch.
+ * Timestamps are decoded exactly when {@link SimpleDateFormat#parse(String)} decodes them.
+ *
+ * Consecutive lines of a telemetry log mostly share the same "yyyyMMdd HH:mm" prefix, so the epoch time of the last
+ * decoded prefix is cached and only the seconds and milliseconds are decoded for timestamps that share it. An
+ * instance is safe to share between threads, although threads reading different parts of a log each get more cache
+ * hits from their own instance.
+ */
+public class DecodeSatelliteTimestamp {
+
+    /**
+     * Returned instead of a time when a timestamp cannot be decoded.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final String PATTERN = "yyyyMMdd HH:mm:ss.SSS";
+    private static final int TIMESTAMP_LENGTH = PATTERN.length();
+    private static final int PREFIX_LENGTH = "yyyyMMdd HH:mm".length();
+
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal.withInitial(() -> {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat(PATTERN);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return dateFormat;
+    });
+
+    private volatile Prefix lastPrefix;
+
+    /**
+     * Decodes a timestamp.
+     *
+     * @param input The timestamp to decode. (not null)
+     * @return The time of the timestamp in milliseconds since the epoch, or {@link #INVALID} if it cannot be decoded.
+     */
+    public long decode(final CharSequence input) {
+        requireNonNull(input);
+        return decode(input, 0, input.length());
+    }
+
+    /**
+     * Decodes a timestamp that is part of a larger sequence of characters.
+     *
+     * @param input The characters containing the timestamp. (not null)
+     * @param start The offset of the first character of the timestamp.
+     * @param end The offset after the last character of the timestamp.
+     * @return The time of the timestamp in milliseconds since the epoch, or {@link #INVALID} if it cannot be decoded.
+     */
+    public long decode(final CharSequence input, final int start, final int end) {
+        requireNonNull(input);
+
+        if (end - start == TIMESTAMP_LENGTH &&
+                input.charAt(start + 8) == ' ' &&
+                input.charAt(start + 11) == ':' &&
+                input.charAt(start + 14) == ':' &&
+                input.charAt(start + 17) == '.') {
+            final int second = digits(input, start + 15, 2);
+            final int millis = digits(input, start + 18, 3);
+
+            if (second >= 0 && second < 60 && millis >= 0) {
+                final Prefix prefix = lastPrefix;
+                if (prefix != null && prefix.matches(input, start)) {
+                    return prefix.epochMillis + second * 1000L + millis;
+                }
+
+                final long minuteMillis = decodeMinute(input, start);
+                if (minuteMillis != INVALID) {
+                    lastPrefix = new Prefix(input, start, minuteMillis);
+                    return minuteMillis + second * 1000L + millis;
+                }
+            }
+        }
+
+        return decodeWithDateFormat(input, start, end);
+    }
+
+    /**
+     * Decodes the "yyyyMMdd HH:mm" prefix of a timestamp, leaving dates {@link SimpleDateFormat} would roll over or
+     * treat as Julian to it.
+     */
+    private static long decodeMinute(final CharSequence input, final int start) {
+        final int year = digits(input, start, 4);
+        final int month = digits(input, start + 4, 2);
+        final int day = digits(input, start + 6, 2);
+        final int hour = digits(input, start + 9, 2);
+        final int minute = digits(input, start + 12, 2);
+
+        if (year >= 1600 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month) &&
+                hour >= 0 && hour < 24 && minute >= 0 && minute < 60) {
+            return ((daysFromEpoch(year, month, day) * 24 + hour) * 60 + minute) * 60 * 1000;
+        }
+
+        return INVALID;
+    }
+
+    private static long decodeWithDateFormat(final CharSequence input, final int start, final int end) {
+        try {
+            final Date date = DATE_FORMAT.get().parse(input.subSequence(start, end).toString(), new ParsePosition(0));
+            return date == null ? INVALID : date.getTime();
+        } catch (final Exception e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Reads a fixed amount of ASCII digits, returning a negative number if any character is not a digit.
+     */
+    private static int digits(final CharSequence input, final int start, final int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            final char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                final boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Computes the amount of days between the epoch and a date of the proleptic Gregorian calendar.
+     */
+    private static long daysFromEpoch(final int year, final int month, final int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * A decoded "yyyyMMdd HH:mm" prefix. Instances are immutable so that they can be shared between threads through
+     * a single volatile field.
+     */
+    private static final class Prefix {
+        private final char[] chars = new char[PREFIX_LENGTH];
+        private final long epochMillis;
+
+        private Prefix(final CharSequence input, final int start, final long epochMillis) {
+            for (int i = 0; i < PREFIX_LENGTH; i++) {
+                chars[i] = input.charAt(start + i);
+            }
+            this.epochMillis = epochMillis;
+        }
+
+        private boolean matches(final CharSequence input, final int start) {
+            // The last characters change most often, so they are compared first.
+            for (int i = PREFIX_LENGTH - 1; i >= 0; i--) {
+                if (chars[i] != input.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
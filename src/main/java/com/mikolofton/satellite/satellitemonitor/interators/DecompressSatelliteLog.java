@@ -0,0 +1,368 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decompresses gzip compressed telemetry logs while they are read, so that compressed archives are parsed without
+ * decompressing them to disk first. Decompression runs ahead of the reader on separate threads, connected to it by
+ * a bounded queue:
+ *
+ * A gzip log, including one of several concatenated gzip members, is inflated on one decompressor thread.
+ * A block compressed log is inflated on a pool of threads, one block at a time, and read in block order. Block
+ * compressed logs use the BGZF layout, where each gzip member holds at most 64 KiB of the log and records its own
+ * compressed size in a "BC" extra field, so blocks are found without inflating the blocks before them.
+ */
+public class DecompressSatelliteLog {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FLAG_EXTRA = 4;
+    private static final int MEMBER_HEADER_BYTES = 12;
+    private static final int MEMBER_TRAILER_BYTES = 8;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int QUEUE_CAPACITY_PER_THREAD = 2;
+    private static final byte[] END = new byte[0];
+
+    private final int parallelism;
+
+    /**
+     * Creates an instance of {@link DecompressSatelliteLog}.
+     *
+     * @param parallelism The amount of threads that inflate the blocks of a block compressed log. (greater than 0)
+     */
+    public DecompressSatelliteLog(final int parallelism) {
+        checkArgument(parallelism > 0, "The parallelism must be greater than 0.");
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param path The path of a file. (not null)
+     * @return Whether the file is gzip compressed.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    public static boolean isCompressed(final Path path) throws IOException {
+        requireNonNull(path);
+
+        final ByteBuffer header = readHeader(path, 2);
+        return header.remaining() == 2 && (header.getShort(0) & 0xffff) == GZIP_MAGIC;
+    }
+
+    /**
+     * @param path The path of a file. (not null)
+     * @return Whether the file is block compressed, which is checked by the header of its first block.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    public static boolean isBlockCompressed(final Path path) throws IOException {
+        requireNonNull(path);
+
+        final ByteBuffer header = readHeader(path, CHUNK_SIZE);
+        if (header.remaining() < MEMBER_HEADER_BYTES || (header.getShort(0) & 0xffff) != GZIP_MAGIC ||
+                (header.get(3) & FLAG_EXTRA) == 0) {
+            return false;
+        }
+
+        final int extraLength = header.getShort(10) & 0xffff;
+        if (header.remaining() < MEMBER_HEADER_BYTES + extraLength) {
+            return false;
+        }
+        final byte[] extra = new byte[extraLength];
+        ((Buffer) header).position(MEMBER_HEADER_BYTES);
+        header.get(extra);
+        return getBlockSize(extra) >= 0;
+    }
+
+    /**
+     * Opens a gzip compressed log for reading its decompressed bytes. Decompression starts right away and stops once
+     * the stream is closed.
+     *
+     * @param path The path of the compressed log. (not null)
+     * @return The decompressed bytes of the log.
+     * @throws IOException Thrown if the file cannot be opened.
+     */
+    public InputStream open(final Path path) throws IOException {
+        requireNonNull(path);
+
+        final boolean blockCompressed = isBlockCompressed(path);
+        final InputStream file = Files.newInputStream(path);
+        final DecompressedInputStream decompressed = new DecompressedInputStream(file, blockCompressed);
+
+        final Thread thread = new Thread(() -> {
+            try {
+                if (blockCompressed) {
+                    inflateBlocks(path, file, decompressed.queue);
+                } else {
+                    inflate(file, decompressed.queue);
+                }
+            } catch (final InterruptedException e) {
+                // The stream was closed.
+            }
+        }, "satellite-log-decompressor");
+        thread.setDaemon(true);
+        decompressed.thread = thread;
+        thread.start();
+
+        return decompressed;
+    }
+
+    /**
+     * Inflates a gzip log on the decompressor thread.
+     */
+    private static void inflate(
+            final InputStream file,
+            final BlockingQueue<Future<byte[]>> queue) throws InterruptedException {
+        try (final InputStream in = new GZIPInputStream(file, CHUNK_SIZE)) {
+            while (true) {
+                final byte[] chunk = new byte[CHUNK_SIZE];
+                int length = 0;
+                int read;
+                while (length < chunk.length && (read = in.read(chunk, length, chunk.length - length)) >= 0) {
+                    length += read;
+                }
+
+                if (length > 0) {
+                    queue.put(CompletableFuture.completedFuture(
+                            length == chunk.length ? chunk : Arrays.copyOf(chunk, length)));
+                }
+                if (length < chunk.length) {
+                    queue.put(CompletableFuture.completedFuture(END));
+                    return;
+                }
+            }
+        } catch (final IOException e) {
+            fail(queue, e);
+        }
+    }
+
+    /**
+     * Reads the blocks of a block compressed log on the decompressor thread and inflates them on a pool of threads.
+     */
+    private void inflateBlocks(
+            final Path path,
+            final InputStream file,
+            final BlockingQueue<Future<byte[]>> queue) throws InterruptedException {
+        final ExecutorService inflaters = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "satellite-log-inflater");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(file, CHUNK_SIZE))) {
+            final byte[] header = new byte[MEMBER_HEADER_BYTES];
+            while (true) {
+                final int first = in.read();
+                if (first < 0) {
+                    queue.put(CompletableFuture.completedFuture(END));
+                    return;
+                }
+                header[0] = (byte) first;
+                in.readFully(header, 1, header.length - 1);
+
+                final ByteBuffer headerBuffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+                if ((headerBuffer.getShort(0) & 0xffff) != GZIP_MAGIC || (header[3] & FLAG_EXTRA) == 0) {
+                    throw new IOException(path + " has a block without a block size.");
+                }
+
+                final byte[] extra = new byte[headerBuffer.getShort(10) & 0xffff];
+                in.readFully(extra);
+                final int blockSize = getBlockSize(extra);
+                final int dataLength = blockSize - MEMBER_HEADER_BYTES - extra.length;
+                if (blockSize < 0 || dataLength < MEMBER_TRAILER_BYTES) {
+                    throw new IOException(path + " has a block with an invalid block size.");
+                }
+
+                final byte[] data = new byte[dataLength];
+                in.readFully(data);
+                queue.put(inflaters.submit(() -> inflateBlock(path, data)));
+            }
+        } catch (final EOFException e) {
+            fail(queue, new IOException(path + " ends in the middle of a block.", e));
+        } catch (final IOException e) {
+            fail(queue, e);
+        } catch (final InterruptedException e) {
+            // The stream was closed, so the blocks still being inflated are not needed.
+            inflaters.shutdownNow();
+            throw e;
+        } finally {
+            // The blocks already queued are still inflated, as the reader waits for them.
+            inflaters.shutdown();
+        }
+    }
+
+    /**
+     * Inflates the deflated data of a block and checks it against the CRC32 and size in the trailer of the block.
+     */
+    private static byte[] inflateBlock(final Path path, final byte[] data) throws IOException {
+        final ByteBuffer trailer = ByteBuffer.wrap(data, data.length - MEMBER_TRAILER_BYTES, MEMBER_TRAILER_BYTES)
+                .slice().order(ByteOrder.LITTLE_ENDIAN);
+        final int crc = trailer.getInt(0);
+        final int size = trailer.getInt(4);
+        if (size < 0) {
+            throw new IOException(path + " has a block with an invalid size.");
+        }
+
+        // One spare byte lets the inflater reach the end of the deflated data once the block is full.
+        final byte[] block = new byte[size + 1];
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, 0, data.length - MEMBER_TRAILER_BYTES);
+            int length = 0;
+            while (length < block.length && !inflater.finished()) {
+                final int inflated = inflater.inflate(block, length, block.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != size || !inflater.finished()) {
+                throw new IOException(path + " has a block that does not match its size.");
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException(path + " has a corrupt block.", e);
+        } finally {
+            inflater.end();
+        }
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(block, 0, size);
+        if ((int) checksum.getValue() != crc) {
+            throw new IOException(path + " has a block that does not match its checksum.");
+        }
+        return Arrays.copyOf(block, size);
+    }
+
+    /**
+     * @param extra The extra field of a gzip member header. (not null)
+     * @return The size of the whole member from the "BC" subfield, or -1 if there is none.
+     */
+    private static int getBlockSize(final byte[] extra) {
+        final ByteBuffer buffer = ByteBuffer.wrap(extra).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.remaining() >= 4) {
+            final byte id1 = buffer.get();
+            final byte id2 = buffer.get();
+            final int length = buffer.getShort() & 0xffff;
+            if (id1 == 'B' && id2 == 'C' && length == 2 && buffer.remaining() >= 2) {
+                return (buffer.getShort() & 0xffff) + 1;
+            }
+            if (length > buffer.remaining()) {
+                return -1;
+            }
+            ((Buffer) buffer).position(buffer.position() + length);
+        }
+        return -1;
+    }
+
+    private static ByteBuffer readHeader(final Path path, final int length) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        if (!Files.isRegularFile(path)) {
+            ((Buffer) header).limit(0);
+            return header;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is read or the file ends.
+            }
+        }
+        ((Buffer) header).flip();
+        return header;
+    }
+
+    private static void fail(
+            final BlockingQueue<Future<byte[]>> queue,
+            final IOException cause) throws InterruptedException {
+        final CompletableFuture<byte[]> failed = new CompletableFuture<>();
+        failed.completeExceptionally(cause);
+        queue.put(failed);
+    }
+
+    /**
+     * The decompressed bytes of a log, taken in order from the queue the decompressor thread fills.
+     */
+    private class DecompressedInputStream extends InputStream {
+        private final InputStream file;
+        private final BlockingQueue<Future<byte[]>> queue;
+        private volatile Thread thread;
+        private byte[] chunk = new byte[0];
+        private int position;
+        private boolean ended;
+
+        private DecompressedInputStream(final InputStream file, final boolean blockCompressed) {
+            this.file = file;
+            this.queue = new ArrayBlockingQueue<>(blockCompressed ? parallelism * QUEUE_CAPACITY_PER_THREAD :
+                    QUEUE_CAPACITY_PER_THREAD);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            while (position == chunk.length) {
+                if (ended) {
+                    return -1;
+                }
+                try {
+                    chunk = queue.take().get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                } catch (final ExecutionException e) {
+                    ended = true;
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IOException(e.getCause());
+                }
+                position = 0;
+                ended = chunk == END;
+            }
+
+            final int read = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, bytes, offset, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            ended = true;
+            position = chunk.length;
+            thread.interrupt();
+            file.close();
+        }
+    }
+}
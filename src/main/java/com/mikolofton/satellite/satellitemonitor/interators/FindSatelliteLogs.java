@@ -0,0 +1,106 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Finds the telemetry logs a path refers to, which is either a single file, a directory whose files are all logs, or
+ * a glob pattern such as "archive/2018-01-01/*.log". The logs are returned sorted by path, which for logs named after
+ * the time they were written is the order they were written in. The indexes {@link IndexSatelliteLog} stores next to
+ * the logs of a directory or glob pattern are not logs, so they are skipped.
+ */
+public class FindSatelliteLogs {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private final FileSystem fileSystem;
+
+    /**
+     * Creates an instance of {@link FindSatelliteLogs} for the default file system.
+     */
+    public FindSatelliteLogs() {
+        this(FileSystems.getDefault());
+    }
+
+    /**
+     * Creates an instance of {@link FindSatelliteLogs}.
+     *
+     * @param fileSystem The file system to find the telemetry logs in. (not null)
+     */
+    public FindSatelliteLogs(final FileSystem fileSystem) {
+        requireNonNull(fileSystem);
+        this.fileSystem = fileSystem;
+    }
+
+    /**
+     * Finds the telemetry logs a path refers to. Directories are searched recursively.
+     *
+     * @param path A file, directory or glob pattern. (not null)
+     * @return The regular files the path refers to, sorted by path.
+     * @throws NoSuchFileException Thrown if the path refers to no files.
+     * @throws IOException Thrown if a directory cannot be read.
+     */
+    public List<Path> find(final String path) throws IOException {
+        requireNonNull(path);
+
+        final int globStart = indexOfGlob(path);
+        final List<Path> logs;
+
+        if (globStart < 0) {
+            final Path file = fileSystem.getPath(path);
+            if (Files.isDirectory(file)) {
+                logs = walk(file, p -> true);
+            } else if (Files.isRegularFile(file)) {
+                logs = Collections.singletonList(file);
+            } else {
+                logs = Collections.emptyList();
+            }
+        } else {
+            // Only the directory holding the part of the pattern without glob characters is searched.
+            final String separator = fileSystem.getSeparator();
+            final int baseEnd = path.lastIndexOf(separator, globStart);
+            final Path base = fileSystem.getPath(baseEnd < 0 ? "" : path.substring(0, baseEnd + separator.length()));
+
+            logs = Files.isDirectory(base) ?
+                    walk(base, fileSystem.getPathMatcher("glob:" + path)) :
+                    Collections.emptyList();
+        }
+
+        if (logs.isEmpty()) {
+            throw new NoSuchFileException(path);
+        }
+
+        return logs;
+    }
+
+    private static int indexOfGlob(final String path) {
+        for (int i = 0; i < path.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(path.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Path> walk(final Path directory, final PathMatcher matcher) throws IOException {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(p -> !IndexSatelliteLog.isIndexPath(p))
+                    .filter(matcher::matches)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Follows a telemetry log that is being written to, like "tail -f", and feeds each appended line to a
+ * {@link StreamSatelliteAlert}. Only bytes appended since the last poll are read and parsed.
+ *
+ * The log may be rotated, by moving it away and creating a new file at the same path, or truncated. A rotated log is
+ * read to its end before the new file is followed from its start. A truncated log is followed from its start; a
+ * truncation is noticed when the log is shorter than the offset read up to. A line that grows past a mebibyte before
+ * its line break is rejected without being held in memory.
+ */
+public class FollowSatelliteLog implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final ParseSatelliteStatus parser;
+    private final StreamSatelliteAlert streamAlert;
+    private final RecordSatelliteMetrics metrics;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private byte[] pending = new byte[READ_BUFFER_SIZE];
+    private int pendingLength;
+    private boolean skipping;
+
+    /**
+     * Creates an instance of {@link FollowSatelliteLog}. The log is read from its start on the first poll.
+     *
+     * @param path The path of the telemetry log to follow. (not null)
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param streamAlert Receives the statuses of the appended lines. (not null)
+     */
+    public FollowSatelliteLog(final Path path, final char delimiter, final StreamSatelliteAlert streamAlert) {
+        this(path, delimiter, streamAlert, new RecordSatelliteMetrics());
+    }
+
+    /**
+     * Creates an instance of {@link FollowSatelliteLog}. The log is read from its start on the first poll.
+     *
+     * @param path The path of the telemetry log to follow. (not null)
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param streamAlert Receives the statuses of the appended lines. (not null)
+     * @param metrics Records the lines read and the time taken by each poll that reads lines. (not null)
+     */
+    public FollowSatelliteLog(
+            final Path path,
+            final char delimiter,
+            final StreamSatelliteAlert streamAlert,
+            final RecordSatelliteMetrics metrics) {
+        requireNonNull(path);
+        requireNonNull(streamAlert);
+        requireNonNull(metrics);
+
+        this.path = path;
+        this.parser = new ParseSatelliteStatus(delimiter);
+        this.streamAlert = streamAlert;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Polls the telemetry log until the thread is interrupted.
+     *
+     * @param pollMillis The time to wait after a poll that found no new lines in milliseconds. (greater than 0)
+     * @throws IOException Thrown if the log cannot be read.
+     * @throws InterruptedException Thrown when the thread is interrupted.
+     */
+    public void follow(final long pollMillis) throws IOException, InterruptedException {
+        checkArgument(pollMillis > 0, "The poll interval must be greater than 0.");
+
+        while (!Thread.currentThread().isInterrupted()) {
+            final long startNanos = System.nanoTime();
+            if (poll() == 0) {
+                Thread.sleep(pollMillis);
+            } else {
+                metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, System.nanoTime() - startNanos);
+            }
+        }
+
+        throw new InterruptedException();
+    }
+
+    /**
+     * Reads the bytes appended to the telemetry log since the last poll and feeds the complete lines among them to
+     * the {@link StreamSatelliteAlert}. A line without a line break at its end is kept until the rest is appended.
+     *
+     * @return The amount of lines read, including lines that could not be parsed.
+     * @throws IOException Thrown if the log cannot be read.
+     */
+    public int poll() throws IOException {
+        final Object currentKey = getFileKey();
+        int lines = 0;
+
+        if (channel != null && currentKey != null && !currentKey.equals(fileKey)) {
+            // The log was rotated, so the rest of the old file is read before the new one.
+            lines += readAppended();
+            lines += flushPending();
+            closeChannel();
+        }
+
+        if (channel == null && currentKey != null) {
+            open(currentKey);
+        }
+
+        if (channel == null) {
+            return lines;
+        }
+
+        if (channel.size() < position) {
+            // The log was truncated, so the partial line before the truncation is dropped.
+            position = 0;
+            pendingLength = 0;
+            skipping = false;
+        }
+
+        return lines + readAppended();
+    }
+
+    /**
+     * @return The offset in the followed telemetry log up to which it has been read.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeChannel();
+    }
+
+    private Object getFileKey() throws IOException {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            // File systems without file keys are treated as never rotated, only truncated.
+            return attributes.fileKey() == null ? path : attributes.fileKey();
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void open(final Object currentKey) throws IOException {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (final NoSuchFileException e) {
+            return;
+        }
+        fileKey = currentKey;
+        position = 0;
+        pendingLength = 0;
+        skipping = false;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private int readAppended() throws IOException {
+        if (channel == null) {
+            return 0;
+        }
+
+        int lines = 0;
+        int read;
+
+        do {
+            ((Buffer) readBuffer).clear();
+            read = channel.read(readBuffer, position);
+            if (read > 0) {
+                position += read;
+                lines += append(readBuffer.array(), read);
+            }
+        } while (read > 0);
+
+        return lines;
+    }
+
+    private int append(final byte[] bytes, final int length) {
+        // The rest of a rejected line is dropped up to its line break.
+        int start = 0;
+        if (skipping) {
+            while (start < length && !ChunkSatelliteLog.isLineBreak(bytes[start])) {
+                start++;
+            }
+            if (start == length) {
+                return 0;
+            }
+            skipping = false;
+        }
+
+        final int appended = length - start;
+        if (pendingLength + appended > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + appended));
+        }
+        System.arraycopy(bytes, start, pending, pendingLength, appended);
+
+        // The pending bytes hold no line break, so only the appended bytes are scanned for the last one.
+        final int end = pendingLength + appended;
+        int lineEnd = end;
+        while (lineEnd > pendingLength && !ChunkSatelliteLog.isLineBreak(pending[lineEnd - 1])) {
+            lineEnd--;
+        }
+
+        int lines = 0;
+        if (lineEnd > pendingLength) {
+            lines += parsePending(lineEnd);
+        } else {
+            lineEnd = 0;
+        }
+
+        // Keep the partial line at the end for the next poll, unless it is too long to be a status.
+        pendingLength = end - lineEnd;
+        System.arraycopy(pending, lineEnd, pending, 0, pendingLength);
+        if (pendingLength > ParseSatelliteStatus.MAX_LINE_LENGTH) {
+            metrics.addLinesRead(1);
+            metrics.addRejected(ParseSatelliteStatus.Failure.LINE_LENGTH, 1);
+            pendingLength = 0;
+            skipping = true;
+            lines++;
+        }
+
+        return lines;
+    }
+
+    private int flushPending() {
+        final int lines = parsePending(pendingLength);
+        pendingLength = 0;
+        skipping = false;
+        return lines;
+    }
+
+    private int parsePending(final int end) {
+        Arrays.fill(rejected, 0);
+        final long lines = parser.parseLines(new AsciiSequence(ByteBuffer.wrap(pending, 0, end)), 0, end,
+                this::evaluate, rejected);
+        metrics.addLinesRead(lines);
+        metrics.addRejected(rejected);
+        return (int) lines;
+    }
+
+    private void evaluate(final ParseSatelliteStatus parsed) {
+        metrics.addLinesParsed(1);
+        metrics.addStatus(parsed.getComponentType());
+        streamAlert.accept(parsed.getSatelliteId(), parsed.toComponent(), parsed.getValue(),
+                parsed.getTimestampMillis());
+    }
+}
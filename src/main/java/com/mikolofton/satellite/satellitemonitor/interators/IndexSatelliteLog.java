@@ -0,0 +1,338 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds sparse indexes of text telemetry logs. A log is split into blocks of a fixed amount of lines, and the index
+ * records the byte range of each block along with the earliest and latest timestamp and the satellites of the
+ * statuses in it, so that a query only reads the blocks that may hold matching statuses.
+ *
+ * The index of a log is stored next to it with the ".idx" extension, along with the size and modification time of
+ * the log, and is rebuilt when the log has changed since it was indexed.
+ */
+public class IndexSatelliteLog {
+
+    /**
+     * The amount of lines in a block unless another amount is given.
+     */
+    public static final int DEFAULT_LINES_PER_BLOCK = 1024;
+
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final int MAGIC = 0x53415449;
+    private static final short VERSION = 2;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final char delimiter;
+    private final int linesPerBlock;
+
+    /**
+     * Creates an instance of {@link IndexSatelliteLog} with {@link #DEFAULT_LINES_PER_BLOCK} lines per block.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     */
+    public IndexSatelliteLog(final char delimiter) {
+        this(delimiter, DEFAULT_LINES_PER_BLOCK);
+    }
+
+    /**
+     * Creates an instance of {@link IndexSatelliteLog}.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param linesPerBlock The amount of lines in a block of the index. (greater than 0)
+     */
+    public IndexSatelliteLog(final char delimiter, final int linesPerBlock) {
+        checkArgument(linesPerBlock > 0, "The amount of lines per block must be greater than 0.");
+
+        this.delimiter = delimiter;
+        this.linesPerBlock = linesPerBlock;
+    }
+
+    /**
+     * @param log The path of a telemetry log. (not null)
+     * @return The path the index of the telemetry log is stored at.
+     */
+    public static Path getIndexPath(final Path log) {
+        requireNonNull(log);
+        return log.resolveSibling(log.getFileName() + INDEX_EXTENSION);
+    }
+
+    /**
+     * @param path The path of a file. (not null)
+     * @return Whether the file is named like the index of a telemetry log, rather than a telemetry log.
+     */
+    public static boolean isIndexPath(final Path path) {
+        requireNonNull(path);
+        final Path fileName = path.getFileName();
+        return fileName != null && fileName.toString().endsWith(INDEX_EXTENSION);
+    }
+
+    /**
+     * @return The character used by the satellite's telemetry logs to separate data.
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Loads the index of a telemetry log, building and storing it first if it does not exist or is out of date. The
+     * index of a file named like an index is built but not stored, so that indexes are not indexed in turn.
+     *
+     * @param log The path of the telemetry log. (not null)
+     * @return The blocks of the telemetry log in file order.
+     * @throws IOException Thrown if the telemetry log cannot be read.
+     */
+    public List<Block> index(final Path log) throws IOException {
+        requireNonNull(log);
+
+        if (isIndexPath(log)) {
+            return build(log);
+        }
+
+        final Path indexPath = getIndexPath(log);
+        final long size = Files.size(log);
+        final long lastModified = Files.getLastModifiedTime(log).toMillis();
+
+        final List<Block> stored = load(indexPath, size, lastModified);
+        if (stored != null) {
+            return stored;
+        }
+
+        final List<Block> blocks = build(log);
+        try {
+            store(indexPath, size, lastModified, blocks);
+        } catch (final IOException e) {
+            // Logs may be stored where they cannot be written next to, in which case the index is rebuilt each time.
+            Files.deleteIfExists(indexPath);
+        }
+        return blocks;
+    }
+
+    /**
+     * Builds the index of a telemetry log without storing it.
+     *
+     * @param log The path of the telemetry log. (not null)
+     * @return The blocks of the telemetry log in file order.
+     * @throws IOException Thrown if the telemetry log cannot be read.
+     */
+    public List<Block> build(final Path log) throws IOException {
+        requireNonNull(log);
+
+        final List<Block> blocks = new ArrayList<>();
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus(delimiter);
+
+        try (final FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            final BlockBuilder block = new BlockBuilder();
+            long bufferStart = 0;
+            long lineCount = 0;
+            boolean end = false;
+
+            while (!end) {
+                end = channel.read(buffer) < 0;
+                ((Buffer) buffer).flip();
+
+                final AsciiSequence chars = new AsciiSequence(buffer);
+                final int length = chars.length();
+                int lineStart = 0;
+
+                for (int i = 0; i <= length; i++) {
+                    if (i < length ? ChunkSatelliteLog.isLineBreak(buffer.get(i)) : end && lineStart < length) {
+                        // Empty lines, such as between the '\r' and '\n' of a line break, are not counted.
+                        if (i > lineStart) {
+                            if (lineCount > 0 && lineCount % linesPerBlock == 0) {
+                                blocks.add(block.build(bufferStart + lineStart));
+                            }
+                            lineCount++;
+
+                            if (parser.parse(chars, lineStart, i)) {
+                                block.add(parser.getSatelliteId(), parser.getTimestampMillis());
+                            }
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+
+                // A line longer than the buffer cannot be a status, so it is skipped rather than carried over.
+                if (lineStart == 0 && length == buffer.capacity()) {
+                    lineStart = length;
+                }
+
+                ((Buffer) buffer).position(Math.min(lineStart, length));
+                buffer.compact();
+                bufferStart += Math.min(lineStart, length);
+            }
+
+            if (lineCount > 0) {
+                blocks.add(block.build(channel.size()));
+            }
+        }
+
+        return Collections.unmodifiableList(blocks);
+    }
+
+    private List<Block> load(final Path indexPath, final long size, final long lastModified) {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION || in.readLong() != size ||
+                    in.readLong() != lastModified || in.readInt() != linesPerBlock) {
+                return null;
+            }
+
+            final int blockCount = in.readInt();
+            if (blockCount < 0) {
+                return null;
+            }
+            final List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(new Block(in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            return Collections.unmodifiableList(blocks);
+        } catch (final IOException e) {
+            // A missing, truncated or corrupt index is rebuilt.
+            return null;
+        }
+    }
+
+    private void store(
+            final Path indexPath,
+            final long size,
+            final long lastModified,
+            final List<Block> blocks) throws IOException {
+        try (final DataOutputStream out =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(size);
+            out.writeLong(lastModified);
+            out.writeInt(linesPerBlock);
+            out.writeInt(blocks.size());
+            for (final Block block : blocks) {
+                out.writeLong(block.start);
+                out.writeLong(block.end);
+                out.writeLong(block.minTimestampMillis);
+                out.writeLong(block.maxTimestampMillis);
+                out.writeLong(block.satelliteMask);
+            }
+        }
+    }
+
+    private static long getSatelliteBit(final int satelliteId) {
+        return 1L << ((satelliteId * 0x9E3779B9) >>> 26);
+    }
+
+    /**
+     * A range of lines of a telemetry log.
+     */
+    public static class Block {
+        private final long start;
+        private final long end;
+        private final long minTimestampMillis;
+        private final long maxTimestampMillis;
+        private final long satelliteMask;
+
+        /**
+         * Private to prevent instantiation. Blocks are created by {@link IndexSatelliteLog}.
+         *
+         * @param start The offset of the first byte of the block.
+         * @param end The offset after the last byte of the block.
+         * @param minTimestampMillis The earliest timestamp of the statuses in the block.
+         * @param maxTimestampMillis The latest timestamp of the statuses in the block.
+         * @param satelliteMask A bit for each satellite with statuses in the block, where satellites may share bits.
+         */
+        private Block(
+                final long start,
+                final long end,
+                final long minTimestampMillis,
+                final long maxTimestampMillis,
+                final long satelliteMask) {
+            this.start = start;
+            this.end = end;
+            this.minTimestampMillis = minTimestampMillis;
+            this.maxTimestampMillis = maxTimestampMillis;
+            this.satelliteMask = satelliteMask;
+        }
+
+        /**
+         * @return The offset of the first byte of the block.
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * @return The offset after the last byte of the block.
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * @return The earliest timestamp of the statuses in the block in milliseconds since the epoch, or
+         *     {@link Long#MAX_VALUE} if the block has no statuses.
+         */
+        public long getMinTimestampMillis() {
+            return minTimestampMillis;
+        }
+
+        /**
+         * @return The latest timestamp of the statuses in the block in milliseconds since the epoch, or
+         *     {@link Long#MIN_VALUE} if the block has no statuses.
+         */
+        public long getMaxTimestampMillis() {
+            return maxTimestampMillis;
+        }
+
+        /**
+         * @param satelliteId The identifier of a satellite.
+         * @return Whether the block may hold statuses of the satellite. False positives are possible.
+         */
+        public boolean mayContain(final int satelliteId) {
+            return (satelliteMask & getSatelliteBit(satelliteId)) != 0;
+        }
+    }
+
+    /**
+     * Collects the statuses of the block being indexed.
+     */
+    private static class BlockBuilder {
+        private long start;
+        private long minTimestampMillis = Long.MAX_VALUE;
+        private long maxTimestampMillis = Long.MIN_VALUE;
+        private long satelliteMask;
+
+        private void add(final int satelliteId, final long timestampMillis) {
+            minTimestampMillis = Math.min(minTimestampMillis, timestampMillis);
+            maxTimestampMillis = Math.max(maxTimestampMillis, timestampMillis);
+            satelliteMask |= getSatelliteBit(satelliteId);
+        }
+
+        /**
+         * Ends the block and starts the next one.
+         */
+        private Block build(final long end) {
+            final Block block = new Block(start, end, minTimestampMillis, maxTimestampMillis, satelliteMask);
+
+            start = end;
+            minTimestampMillis = Long.MAX_VALUE;
+            maxTimestampMillis = Long.MIN_VALUE;
+            satelliteMask = 0;
+
+            return block;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shares {@link SatelliteComponent} instances between telemetry log lines that describe the same component type and
+ * limits, so that identical components are a single object. The cache holds a bounded amount of components in a
+ * direct mapped table; a component whose slot is taken by another replaces it.
+ *
+ * The cache is safe to use from multiple threads without locking. {@link SatelliteComponent} is immutable, so a
+ * thread either sees a complete component in a slot or misses and builds its own.
+ */
+public class InternSatelliteComponent {
+
+    private final SatelliteComponent[] components;
+    private final int mask;
+
+    /**
+     * Creates an instance of {@link InternSatelliteComponent}.
+     *
+     * @param capacity The maximum amount of components held, rounded up to a power of two. (greater than 0)
+     */
+    public InternSatelliteComponent(final int capacity) {
+        checkArgument(capacity > 0, "The capacity must be greater than 0.");
+        checkArgument(capacity <= 1 << 30, "The capacity must not be greater than 2^30.");
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.components = new SatelliteComponent[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Gets the shared {@link SatelliteComponent} with the given type and limits, building it if it is not cached.
+     *
+     * @param componentType The type of component of a satellite. (not null)
+     * @param redHighLimit The upper limit of when this component is considered to be red.
+     * @param yellowHighLimit The upper limit of when this component is considered to be yellow.
+     * @param yellowLowLimit The lower limit of when this component is considered to be yellow.
+     * @param redLowLimit The lower limit of when this component is considered to be red.
+     * @return The {@link SatelliteComponent} with the given type and limits.
+     */
+    public SatelliteComponent intern(
+            final SatelliteComponent.ComponentType componentType,
+            final int redHighLimit,
+            final int yellowHighLimit,
+            final int yellowLowLimit,
+            final int redLowLimit) {
+        requireNonNull(componentType);
+
+        final int slot = getSlot(componentType, redHighLimit, yellowHighLimit, yellowLowLimit, redLowLimit);
+        final SatelliteComponent cached = components[slot];
+
+        if (cached != null &&
+                cached.getComponentType() == componentType &&
+                cached.getRedHighLimit() == redHighLimit &&
+                cached.getYellowHighLimit() == yellowHighLimit &&
+                cached.getYellowLowLimit() == yellowLowLimit &&
+                cached.getRedLowLimit() == redLowLimit) {
+            return cached;
+        }
+
+        final SatelliteComponent component = SatelliteComponent.newBuilder()
+                .setComponentType(componentType)
+                .setRedHighLimit(redHighLimit)
+                .setYellowHighLimit(yellowHighLimit)
+                .setYellowLowLimit(yellowLowLimit)
+                .setRedLowLimit(redLowLimit)
+                .build();
+
+        components[slot] = component;
+        return component;
+    }
+
+    /**
+     * Gets the shared {@link SatelliteComponent} that is equal to the given one, caching the given one if there is
+     * none.
+     *
+     * @param component The {@link SatelliteComponent} to find the shared instance of. (not null)
+     * @return The shared {@link SatelliteComponent} equal to the given one.
+     */
+    public SatelliteComponent intern(final SatelliteComponent component) {
+        requireNonNull(component);
+
+        final int slot = getSlot(component.getComponentType(), component.getRedHighLimit(),
+                component.getYellowHighLimit(), component.getYellowLowLimit(), component.getRedLowLimit());
+        final SatelliteComponent cached = components[slot];
+
+        if (component.equals(cached)) {
+            return cached;
+        }
+
+        components[slot] = component;
+        return component;
+    }
+
+    private int getSlot(
+            final SatelliteComponent.ComponentType componentType,
+            final int redHighLimit,
+            final int yellowHighLimit,
+            final int yellowLowLimit,
+            final int redLowLimit) {
+        int hash = componentType.ordinal();
+        hash = hash * 31 + redHighLimit;
+        hash = hash * 31 + yellowHighLimit;
+        hash = hash * 31 + yellowLowLimit;
+        hash = hash * 31 + redLowLimit;
+
+        // Spread the high bits so that limits differing only in high bits do not share a slot.
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+
+        return hash & mask;
+    }
+}
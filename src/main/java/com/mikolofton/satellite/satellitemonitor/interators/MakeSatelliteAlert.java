@@ -3,38 +3,113 @@ package com.mikolofton.satellite.satellitemonitor.interators;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import com.mikolofton.satellite.satellitemonitor.util.IntObjectMap;
+import com.mikolofton.satellite.satellitemonitor.util.LongObjectMap;
 
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Creates {@link SatelliteComponentAlert} based on whether there are the threshold amount of recorded
  * {@link SatelliteComponentStatus}s that have values that are above the red high limit or below the red low limit
- * within 5 minutes of each other.
+ * within 5 minutes of each other. Which values count towards an alert is decided by a {@link SatelliteAlertRule} per
+ * component type. A rule may make alerts of several severities, such as the rules of {@link #getAllRules()}, in which
+ * case each status is counted towards its severity in the same scan and each severity alerts on its own.
  */
 public class MakeSatelliteAlert {
 
+    private static final SatelliteComponentAlert.Severity[] SEVERITIES = SatelliteComponentAlert.Severity.values();
+
     private final int threshold;
+    private final EnumMap<SatelliteComponent.ComponentType, SatelliteAlertRule> rules;
 
     /**
-     * Creates an instance of {@link MakeSatelliteAlert}.
+     * Creates an instance of {@link MakeSatelliteAlert} that alerts when battery values are below the red low limit
+     * or thermostat values are above the red high limit.
      *
      * @param threshold The amount of {@link SatelliteComponentStatus}s with values that are above the red high limit
      *     or below the red low limit that will create a {@link SatelliteComponentAlert}.
      */
     public MakeSatelliteAlert(int threshold) {
+        this(threshold, getDefaultRules());
+    }
+
+    /**
+     * Creates an instance of {@link MakeSatelliteAlert}.
+     *
+     * @param threshold The amount of {@link SatelliteComponentStatus}s that count towards an alert that will create a
+     *     {@link SatelliteComponentAlert}.
+     * @param rules The {@link SatelliteAlertRule} of each component type. Statuses of component types without a rule
+     *     never make alerts. (not null)
+     */
+    public MakeSatelliteAlert(
+            final int threshold,
+            final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules) {
+        requireNonNull(rules);
+
         this.threshold = threshold;
+        this.rules = new EnumMap<>(SatelliteComponent.ComponentType.class);
+        this.rules.putAll(rules);
+    }
+
+    /**
+     * @return The {@link SatelliteAlertRule}s of {@link #MakeSatelliteAlert(int)}, which count battery values below
+     *     the red low limit and thermostat values above the red high limit.
+     */
+    public static Map<SatelliteComponent.ComponentType, SatelliteAlertRule> getDefaultRules() {
+        final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules =
+                new EnumMap<>(SatelliteComponent.ComponentType.class);
+        rules.put(SatelliteComponent.ComponentType.BATT, SatelliteAlertRule.RED_LOW);
+        rules.put(SatelliteComponent.ComponentType.TSTAT, SatelliteAlertRule.RED_HIGH);
+        return rules;
+    }
+
+    /**
+     * @return The {@link SatelliteAlertRule}s that count the values of every component type beyond either of its red
+     *     limits or its yellow limits, each towards the alerts of its own severity.
+     */
+    public static Map<SatelliteComponent.ComponentType, SatelliteAlertRule> getAllRules() {
+        final SatelliteAlertRule rule = SatelliteAlertRule.anyOf(SatelliteAlertRule.RED_LOW,
+                SatelliteAlertRule.RED_HIGH, SatelliteAlertRule.YELLOW_LOW, SatelliteAlertRule.YELLOW_HIGH);
+        final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules =
+                new EnumMap<>(SatelliteComponent.ComponentType.class);
+        for (final SatelliteComponent.ComponentType componentType : SatelliteComponent.ComponentType.values()) {
+            rules.put(componentType, rule);
+        }
+        return rules;
+    }
+
+    /**
+     * @return The amount of counted statuses within a window that make an alert.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return A bit for each component type and {@link SatelliteComponentAlert.Severity} that the rules make alerts
+     *     of, at the index of the component type times the amount of severities plus the index of the severity.
+     */
+    public int getSeverityMask() {
+        int mask = 0;
+        for (final Map.Entry<SatelliteComponent.ComponentType, SatelliteAlertRule> entry : rules.entrySet()) {
+            for (final SatelliteComponentAlert.Severity severity : entry.getValue().getSeverities()) {
+                mask |= 1 << (entry.getKey().ordinal() * SEVERITIES.length + severity.ordinal());
+            }
+        }
+        return mask;
     }
 
     /**
      * Makes a {@link SatelliteComponentAlert} for a specific satelliteId by aggregating
      * {@link SatelliteComponentStatus}s by component over five minute intervals and determining whether there are
-     * enough {@link SatelliteComponentStatus}s with values that are above the red high limit or below the red low
-     * limit.
+     * enough {@link SatelliteComponentStatus}s that count towards an alert. The statuses are read once, whatever the
+     * amount of component types.
      *
      * @param satelliteId The identifier of the satellite whose {@link SatelliteComponentStatus}s to use. (not null)
      * @param statuses The recorded {@link SatelliteComponentStatus} for the satellite. (not null)
@@ -44,42 +119,115 @@ public class MakeSatelliteAlert {
         requireNonNull(satelliteId);
         requireNonNull(statuses);
 
-        // Get all statuses for a component and group by five minute intervals.
-        final Map<Long, List<SatelliteComponentStatus>> batteryStatuses = statuses.stream()
-                .filter(s -> s.getComponent().getComponentType() == SatelliteComponent.ComponentType.BATT)
-                .collect(Collectors.groupingBy(s -> getInterval(s.getTimestamp().getEpochSecond())));
+        // Route each status to the five minute intervals of its component type.
+        final EnumMap<SatelliteComponent.ComponentType, LongObjectMap<Interval>> intervalsByType =
+                new EnumMap<>(SatelliteComponent.ComponentType.class);
+
+        for (final SatelliteComponentStatus status : statuses) {
+            final SatelliteComponent.ComponentType componentType = status.getComponent().getComponentType();
+            final SatelliteComponentAlert.Severity severity =
+                    getViolation(componentType, status.getValue(), status.getComponent());
+
+            if (severity == null) {
+                continue;
+            }
+
+            final Interval interval = intervalsByType
+                    .computeIfAbsent(componentType, type -> new LongObjectMap<>())
+                    .computeIfAbsent(getInterval(status.getTimestamp().getEpochSecond()), sec -> new Interval());
+            interval.count(severity.ordinal(), status.getTimestamp());
+        }
+
+        final Set<SatelliteComponentAlert> alerts = new HashSet<>();
+
+        intervalsByType.forEach((componentType, intervals) -> intervals.forEach((intervalSec, interval) -> {
+            for (int s = 0; s < SEVERITIES.length; s++) {
+                if (interval.alertCounts[s] >= threshold) {
+                    alerts.add(SatelliteComponentAlert.newBuilder()
+                            .setSatelliteId(satelliteId)
+                            .setComponent(componentType.name())
+                            .setSeverity(SEVERITIES[s].toString())
+                            .setTimestamp(interval.firstTimestamps[s].toString())
+                            .build());
+                }
+            }
+        }));
+
+        return alerts;
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentAlert}s of every satellite in a {@link SatelliteStatusBatch} by aggregating
+     * the statuses by satellite and component over five minute intervals, reading the primitive columns of the batch
+     * directly instead of {@link SatelliteComponentStatus} objects. The first counted status of an interval is the
+     * earliest one, whatever the batch order, as with {@link #makeAlerts(int, List)}.
+     *
+     * @param batch The recorded statuses of any amount of satellites. (not null)
+     * @return The {@link SatelliteComponentAlert}s made based on the statuses.
+     */
+    public Set<SatelliteComponentAlert> makeAlerts(final SatelliteStatusBatch batch) {
+        requireNonNull(batch);
+        return makeAlerts(batch, null, batch.size());
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentAlert}s of some of the statuses in a {@link SatelliteStatusBatch}, as
+     * {@link #makeAlerts(SatelliteStatusBatch)} does for all of them. The indices should hold every status of the
+     * satellites they refer to, since the statuses of other indices are not counted.
+     *
+     * @param batch The recorded statuses of any amount of satellites. (not null)
+     * @param indices The indices of the statuses to use in batch order, or null to use the first count statuses.
+     * @param count The amount of indices to use.
+     * @return The {@link SatelliteComponentAlert}s made based on the statuses.
+     */
+    public Set<SatelliteComponentAlert> makeAlerts(
+            final SatelliteStatusBatch batch,
+            final int[] indices,
+            final int count) {
+        requireNonNull(batch);
+
+        final IntObjectMap<EnumMap<SatelliteComponent.ComponentType, LongObjectMap<long[]>>> countsById =
+                new IntObjectMap<>();
 
-        final Map<Long, List<SatelliteComponentStatus>> thermostatStatuses = statuses.stream()
-                .filter(s -> s.getComponent().getComponentType() == SatelliteComponent.ComponentType.TSTAT)
-                .collect(Collectors.groupingBy(s -> getInterval(s.getTimestamp().getEpochSecond())));
+        for (int n = 0; n < count; n++) {
+            final int i = indices == null ? n : indices[n];
+            final SatelliteComponent.ComponentType componentType = batch.getComponentType(i);
+            final SatelliteComponentAlert.Severity severity =
+                    getViolation(componentType, batch.getValue(i), batch.getComponent(i));
+            if (severity == null) {
+                continue;
+            }
+
+            final long timestampMillis = batch.getTimestampMillis(i);
+
+            // Holds the amount of counted statuses of each severity followed by the timestamp of the earliest one.
+            final long[] intervalCounts = countsById
+                    .computeIfAbsent(batch.getSatelliteId(i), id ->
+                            new EnumMap<>(SatelliteComponent.ComponentType.class))
+                    .computeIfAbsent(componentType, type -> new LongObjectMap<>())
+                    .computeIfAbsent(getInterval(Math.floorDiv(timestampMillis, 1000)), interval ->
+                            new long[SEVERITIES.length * 2]);
+            final int s = severity.ordinal() * 2;
+            if (intervalCounts[s]++ == 0 || timestampMillis < intervalCounts[s + 1]) {
+                intervalCounts[s + 1] = timestampMillis;
+            }
+        }
 
         final Set<SatelliteComponentAlert> alerts = new HashSet<>();
 
-        // Handle all battery component statuses.
-        batteryStatuses.values().forEach(bStat -> {
-            final SatelliteComponentAlert.Builder alert = SatelliteComponentAlert.newBuilder();
-            final Optional<Instant> alertTimestamp = getAlertTimestamp(SatelliteComponent.ComponentType.BATT, bStat);
-
-            // If a timestamp is present, then an alert must be created for the timestamp.
-            alertTimestamp.ifPresent(ts -> alerts.add(alert.setSatelliteId(satelliteId)
-                    .setComponent(SatelliteComponent.ComponentType.BATT.name())
-                    .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
-                    .setTimestamp(ts.toString())
-                    .build()));
-        });
-
-        // Handle all thermostat component statues.
-        thermostatStatuses.values().forEach(tStat -> {
-            final SatelliteComponentAlert.Builder alert = SatelliteComponentAlert.newBuilder();
-            final Optional<Instant> alertTimestamp = getAlertTimestamp(SatelliteComponent.ComponentType.TSTAT, tStat);
-
-            // If a timestamp is present, then an alert must be created for the timestamp.
-            alertTimestamp.ifPresent(ts -> alerts.add(alert.setSatelliteId(satelliteId)
-                    .setComponent(SatelliteComponent.ComponentType.TSTAT.name())
-                    .setSeverity(SatelliteComponentAlert.Severity.RED_HIGH.toString())
-                    .setTimestamp(ts.toString())
-                    .build()));
-        });
+        countsById.forEach((satelliteId, countsByType) -> countsByType.forEach((componentType, countsByInterval) ->
+                countsByInterval.forEach((intervalSec, intervalCounts) -> {
+                    for (int s = 0; s < SEVERITIES.length; s++) {
+                        if (intervalCounts[s * 2] >= threshold) {
+                            alerts.add(SatelliteComponentAlert.newBuilder()
+                                    .setSatelliteId(satelliteId)
+                                    .setComponent(componentType.name())
+                                    .setSeverity(SEVERITIES[s].toString())
+                                    .setTimestamp(Instant.ofEpochMilli(intervalCounts[s * 2 + 1]).toString())
+                                    .build());
+                        }
+                    }
+                })));
 
         return alerts;
     }
@@ -97,8 +245,8 @@ public class MakeSatelliteAlert {
     /**
      * Determines whether an {@link SatelliteComponentAlert} must be made for a satellite component by counting the
      * amount of {@link SatelliteComponentAlert}s with values that are above the red high limit or below the red low
-     * limit based on the component type. If an alert must be made, the timestamp of the first
-     * {@link SatelliteComponentStatus} counted is returned to create the alert for.
+     * limit based on the component type. If an alert must be made, the timestamp of the earliest
+     * {@link SatelliteComponentStatus} counted is returned to create the alert for, whatever the order of the list.
      *
      * @param componentType The {@link SatelliteComponent.ComponentType} whose statuses are provided. (not null)
      * @param satelliteStatuses A list of {@link SatelliteComponentStatus}s within a five minute interval. (not null)
@@ -112,14 +260,9 @@ public class MakeSatelliteAlert {
         Optional<Instant> firstTimestamp = Optional.empty();
 
         for (final SatelliteComponentStatus status : satelliteStatuses) {
-            final boolean battCondition = componentType == SatelliteComponent.ComponentType.BATT &&
-                    status.getValue() < status.getComponent().getRedLowLimit();
-            final boolean tstatCondition = componentType == SatelliteComponent.ComponentType.TSTAT &&
-                    status.getValue() > status.getComponent().getRedHighLimit();
-
-            if (battCondition || tstatCondition) {
+            if (isAlertCondition(componentType, status)) {
                 alertCount++;
-                if (!firstTimestamp.isPresent()) {
+                if (!firstTimestamp.isPresent() || status.getTimestamp().isBefore(firstTimestamp.get())) {
                     firstTimestamp = Optional.of(status.getTimestamp());
                 }
             }
@@ -131,4 +274,110 @@ public class MakeSatelliteAlert {
             return Optional.empty();
         }
     }
+
+    /**
+     * Determines the {@link SatelliteComponentAlert}s that must be made for a satellite component in a single scan of
+     * its statuses, counting the statuses towards the {@link SatelliteComponentAlert.Severity} each of them violates.
+     * The timestamp of each severity is that of the earliest {@link SatelliteComponentStatus} counted towards it,
+     * whatever the order of the list.
+     *
+     * @param componentType The {@link SatelliteComponent.ComponentType} whose statuses are provided. (not null)
+     * @param satelliteStatuses A list of {@link SatelliteComponentStatus}s within a five minute interval. (not null)
+     * @return The timestamp to create an alert for of each severity that must make one.
+     */
+    public Map<SatelliteComponentAlert.Severity, Instant> getAlertTimestamps(
+            final SatelliteComponent.ComponentType componentType,
+            final List<SatelliteComponentStatus> satelliteStatuses) {
+        final Interval interval = new Interval();
+
+        for (final SatelliteComponentStatus status : satelliteStatuses) {
+            final SatelliteComponentAlert.Severity severity =
+                    getViolation(componentType, status.getValue(), status.getComponent());
+            if (severity != null) {
+                interval.count(severity.ordinal(), status.getTimestamp());
+            }
+        }
+
+        final Map<SatelliteComponentAlert.Severity, Instant> timestamps =
+                new EnumMap<>(SatelliteComponentAlert.Severity.class);
+        for (int s = 0; s < SEVERITIES.length; s++) {
+            if (interval.alertCounts[s] >= threshold) {
+                timestamps.put(SEVERITIES[s], interval.firstTimestamps[s]);
+            }
+        }
+        return timestamps;
+    }
+
+    /**
+     * Determines whether a {@link SatelliteComponentStatus} counts towards a {@link SatelliteComponentAlert}
+     * according to the {@link SatelliteAlertRule} of its component type.
+     *
+     * @param componentType The {@link SatelliteComponent.ComponentType} of the status. (not null)
+     * @param status The {@link SatelliteComponentStatus} to check. (not null)
+     * @return True if the status counts towards an alert, otherwise false.
+     */
+    public boolean isAlertCondition(
+            final SatelliteComponent.ComponentType componentType,
+            final SatelliteComponentStatus status) {
+        return isAlertCondition(componentType, status.getValue(), status.getComponent());
+    }
+
+    /**
+     * Determines whether a recorded value counts towards a {@link SatelliteComponentAlert} according to the
+     * {@link SatelliteAlertRule} of the component type.
+     *
+     * @param componentType The {@link SatelliteComponent.ComponentType} the value was recorded for. (not null)
+     * @param value The recorded value.
+     * @param component The {@link SatelliteComponent} whose limits to check the value against. (not null)
+     * @return True if the value counts towards an alert, otherwise false.
+     */
+    public boolean isAlertCondition(
+            final SatelliteComponent.ComponentType componentType,
+            final double value,
+            final SatelliteComponent component) {
+        return getViolation(componentType, value, component) != null;
+    }
+
+    /**
+     * Determines the {@link SatelliteComponentAlert.Severity} a recorded value counts towards according to the
+     * {@link SatelliteAlertRule} of the component type.
+     *
+     * @param componentType The {@link SatelliteComponent.ComponentType} the value was recorded for. (not null)
+     * @param value The recorded value.
+     * @param component The {@link SatelliteComponent} whose limits to check the value against. (not null)
+     * @return The severity the value counts towards, or null if it counts towards no alert.
+     */
+    public SatelliteComponentAlert.Severity getViolation(
+            final SatelliteComponent.ComponentType componentType,
+            final double value,
+            final SatelliteComponent component) {
+        final SatelliteAlertRule rule = rules.get(componentType);
+        return rule == null ? null : rule.getViolation(value, component);
+    }
+
+    /**
+     * @param componentType The {@link SatelliteComponent.ComponentType} an alert is made for. (not null)
+     * @return The {@link SatelliteComponentAlert.Severity} of alerts made for the component type.
+     * @throws IllegalArgumentException Thrown if the component type has no {@link SatelliteAlertRule}.
+     * @throws IllegalStateException Thrown if the rule of the component type makes alerts of several severities.
+     */
+    public SatelliteComponentAlert.Severity getSeverity(final SatelliteComponent.ComponentType componentType) {
+        final SatelliteAlertRule rule = rules.get(componentType);
+        checkArgument(rule != null, "There is no alert rule for the component type " + componentType);
+        return rule.getSeverity();
+    }
+
+    /**
+     * The statuses of a five minute interval of a satellite component that count towards an alert of each severity.
+     */
+    private static class Interval {
+        private final long[] alertCounts = new long[SEVERITIES.length];
+        private final Instant[] firstTimestamps = new Instant[SEVERITIES.length];
+
+        private void count(final int severity, final Instant timestamp) {
+            if (alertCounts[severity]++ == 0 || timestamp.isBefore(firstTimestamps[severity])) {
+                firstTimestamps[severity] = timestamp;
+            }
+        }
+    }
 }
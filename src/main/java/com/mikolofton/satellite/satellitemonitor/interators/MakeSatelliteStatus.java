@@ -2,14 +2,17 @@ package com.mikolofton.satellite.satellitemonitor.interators;
 
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
 
+import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.TimeZone;
 
+import static com.google.common.base.Preconditions.checkElementIndex;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -17,7 +20,11 @@ import static java.util.Objects.requireNonNull;
  */
 public class MakeSatelliteStatus {
 
+    private static final String REGEX_META_CHARACTERS = ".$|()[{^?*+\\";
+    private static final DecodeSatelliteTimestamp TIMESTAMPS = new DecodeSatelliteTimestamp();
+
     private final String delimiter;
+    private final ThreadLocal<ParseSatelliteStatus> parser;
 
     /**
      * Creates an instance of {@link MakeSatelliteStatus}.
@@ -26,6 +33,11 @@ public class MakeSatelliteStatus {
      */
     public MakeSatelliteStatus(final String delimiter) {
         this.delimiter = delimiter;
+
+        final Character delimiterChar = getDelimiterChar(delimiter);
+        this.parser = delimiterChar == null ?
+                null :
+                ThreadLocal.withInitial(() -> new ParseSatelliteStatus(delimiterChar));
     }
 
     /**
@@ -39,23 +51,38 @@ public class MakeSatelliteStatus {
     public SatelliteComponentStatus makeStatus(final String input) throws MakeSatelliteStatusException {
         requireNonNull(input);
 
+        // Lines are scanned without splitting when possible. Lines the scan rejects are split below so that the
+        // same exception is thrown as before.
+        final ParseSatelliteStatus.Failure failure;
+        if (parser != null) {
+            final ParseSatelliteStatus lineParser = parser.get();
+            if (lineParser.parse(input)) {
+                return lineParser.toStatus();
+            }
+            failure = lineParser.getFailure();
+        } else {
+            failure = null;
+        }
+
         final Iterator<String> statusLine = Arrays.stream(input.split(delimiter)).iterator();
 
         final SatelliteComponentStatus.Builder satelliteStatus = SatelliteComponentStatus.newBuilder();
         final SatelliteComponent.Builder component = SatelliteComponent.newBuilder();
 
-        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd HH:mm:ss.SSS");
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-
         // Timestamp
         if (statusLine.hasNext()) {
+            final String timestampField = statusLine.next();
+            final long timestampMillis = TIMESTAMPS.decode(timestampField);
+
             try {
-                final Instant timestamp = dateFormat.parse(statusLine.next()).toInstant();
+                final Instant timestamp = timestampMillis != DecodeSatelliteTimestamp.INVALID ?
+                        Instant.ofEpochMilli(timestampMillis) :
+                        newDateFormat().parse(timestampField).toInstant();
 
                 satelliteStatus.setTimestamp(timestamp);
             } catch (final Exception e) {
                 throw new MakeSatelliteStatusException("Unable to create Satellite Status due to the following " +
-                    "error: " + e.getMessage(), e);
+                    "error: " + e.getMessage(), e, ParseSatelliteStatus.Failure.TIMESTAMP);
             }
         }
 
@@ -100,7 +127,208 @@ public class MakeSatelliteStatus {
                     .build();
         } catch (final Exception e) {
             throw new MakeSatelliteStatusException("Unable to create Satellite Status due to the following " +
-                "error: " + e.getMessage(), e);
+                "error: " + e.getMessage(), e, failure);
+        }
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentStatus}s of many lines of data of the telemetry logs at once. Lines are
+     * separated by "\n", "\r\n" or "\r". Lines that cannot be parsed are recorded in the report instead of
+     * throwing, and empty lines are skipped.
+     *
+     * The statuses and errors are appended, so the batch and report can be cleared and reused for the next buffer.
+     * Line numbers continue from the lines already counted by the report, so consecutive buffers of a log are
+     * numbered as lines of the whole log.
+     *
+     * @param input The lines of data. (not null)
+     * @param statuses The batch the statuses of the parsed lines are added to. (not null)
+     * @param report The report the lines that cannot be parsed are added to. (not null)
+     */
+    public void makeStatuses(final CharSequence input, final SatelliteStatusBatch statuses, final Report report) {
+        requireNonNull(input);
+        requireNonNull(statuses);
+        requireNonNull(report);
+
+        final ParseSatelliteStatus lineParser = parser == null ? null : parser.get();
+        final int length = input.length();
+        int lineStart = 0;
+
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && input.charAt(lineEnd) != '\n' && input.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+
+            makeStatus(input, lineStart, lineEnd, lineParser, statuses, report);
+
+            lineStart = lineEnd + 1;
+            if (lineEnd + 1 < length && input.charAt(lineEnd) == '\r' && input.charAt(lineEnd + 1) == '\n') {
+                lineStart++;
+            }
+        }
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentStatus}s of many lines of ASCII data of the telemetry logs at once, without
+     * decoding them into strings. See {@link #makeStatuses(CharSequence, SatelliteStatusBatch, Report)}.
+     *
+     * @param input The lines of data, from the position up to the limit of the buffer. The position is not changed.
+     *     (not null)
+     * @param statuses The batch the statuses of the parsed lines are added to. (not null)
+     * @param report The report the lines that cannot be parsed are added to. (not null)
+     */
+    public void makeStatuses(final ByteBuffer input, final SatelliteStatusBatch statuses, final Report report) {
+        requireNonNull(input);
+        makeStatuses(new AsciiSequence(input.slice()), statuses, report);
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentStatus}s of many lines of data of the telemetry logs at once. See
+     * {@link #makeStatuses(CharSequence, SatelliteStatusBatch, Report)}.
+     *
+     * @param lines The lines of data, each without its line separator. (not null)
+     * @param statuses The batch the statuses of the parsed lines are added to. (not null)
+     * @param report The report the lines that cannot be parsed are added to. (not null)
+     */
+    public void makeStatuses(final List<String> lines, final SatelliteStatusBatch statuses, final Report report) {
+        requireNonNull(lines);
+        requireNonNull(statuses);
+        requireNonNull(report);
+
+        final ParseSatelliteStatus lineParser = parser == null ? null : parser.get();
+        for (final String line : lines) {
+            makeStatus(line, 0, line.length(), lineParser, statuses, report);
+        }
+    }
+
+    private void makeStatus(
+            final CharSequence input,
+            final int start,
+            final int end,
+            final ParseSatelliteStatus lineParser,
+            final SatelliteStatusBatch statuses,
+            final Report report) {
+        final long lineNumber = report.addLine();
+        if (start == end) {
+            return;
+        }
+
+        if (lineParser != null) {
+            if (lineParser.parse(input, start, end)) {
+                statuses.add(lineParser.getSatelliteId(), lineParser.toComponent(), lineParser.getValue(),
+                        lineParser.getTimestampMillis());
+            } else {
+                report.addError(lineNumber, lineParser.getFailure());
+            }
+            return;
+        }
+
+        // Delimiters that are regular expressions can only be split, so their failures are still exceptions.
+        try {
+            statuses.add(makeStatus(input.subSequence(start, end).toString()));
+        } catch (final MakeSatelliteStatusException e) {
+            report.addError(lineNumber, e.getFailure());
+        }
+    }
+
+    /**
+     * Creates the date format of the telemetry logs, only used to report why a timestamp cannot be decoded.
+     */
+    private static SimpleDateFormat newDateFormat() {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd HH:mm:ss.SSS");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return dateFormat;
+    }
+
+    /**
+     * Finds the single character a delimiter matches, like {@link String#split(String)} does for its fast path.
+     *
+     * @param delimiter The regular expression used to separate data.
+     * @return The character the delimiter matches, or null if it is not a single literal character.
+     */
+    private static Character getDelimiterChar(final String delimiter) {
+        if (delimiter == null) {
+            return null;
+        }
+
+        if (delimiter.length() == 1 && REGEX_META_CHARACTERS.indexOf(delimiter.charAt(0)) < 0) {
+            return delimiter.charAt(0);
+        }
+
+        if (delimiter.length() == 2 && delimiter.charAt(0) == '\\' &&
+                !Character.isLetterOrDigit(delimiter.charAt(1))) {
+            return delimiter.charAt(1);
+        }
+
+        return null;
+    }
+
+    /**
+     * The lines counted by {@link #makeStatuses(CharSequence, SatelliteStatusBatch, Report)} and the lines among them
+     * that could not be parsed. Errors are stored in primitive arrays, so that recording them creates no objects.
+     */
+    public static class Report {
+        private static final ParseSatelliteStatus.Failure[] FAILURES = ParseSatelliteStatus.Failure.values();
+        private static final byte UNKNOWN = -1;
+
+        private long lineCount;
+        private long[] lineNumbers = new long[16];
+        private byte[] failures = new byte[16];
+        private int errorCount;
+
+        private long addLine() {
+            return ++lineCount;
+        }
+
+        private void addError(final long lineNumber, final ParseSatelliteStatus.Failure failure) {
+            if (errorCount == lineNumbers.length) {
+                lineNumbers = Arrays.copyOf(lineNumbers, errorCount * 2);
+                failures = Arrays.copyOf(failures, errorCount * 2);
+            }
+
+            lineNumbers[errorCount] = lineNumber;
+            failures[errorCount] = failure == null ? UNKNOWN : (byte) failure.ordinal();
+            errorCount++;
+        }
+
+        /**
+         * Resets the report to no lines and no errors, keeping its capacity.
+         */
+        public void clear() {
+            lineCount = 0;
+            errorCount = 0;
+        }
+
+        /**
+         * @return The amount of lines counted, including empty lines.
+         */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        /**
+         * @return The amount of lines that could not be parsed.
+         */
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * @param index The index of an error. (0 to {@link #getErrorCount()} exclusive)
+         * @return The number of the line that could not be parsed, starting at 1.
+         */
+        public long getLineNumber(final int index) {
+            checkElementIndex(index, errorCount);
+            return lineNumbers[index];
+        }
+
+        /**
+         * @param index The index of an error. (0 to {@link #getErrorCount()} exclusive)
+         * @return The reason the line could not be parsed, or null if it is not known.
+         */
+        public ParseSatelliteStatus.Failure getFailure(final int index) {
+            checkElementIndex(index, errorCount);
+            return failures[index] == UNKNOWN ? null : FAILURES[failures[index]];
         }
     }
 
@@ -108,8 +336,25 @@ public class MakeSatelliteStatus {
      * An {@link Exception} that indicates when there was an error in {@link MakeSatelliteStatus}.
      */
     public static class MakeSatelliteStatusException extends Exception {
+        private final ParseSatelliteStatus.Failure failure;
+
         public MakeSatelliteStatusException(final String msg, final Exception e) {
+            this(msg, e, null);
+        }
+
+        public MakeSatelliteStatusException(
+                final String msg,
+                final Exception e,
+                final ParseSatelliteStatus.Failure failure) {
             super(msg, e);
+            this.failure = failure;
+        }
+
+        /**
+         * @return The reason the input could not be parsed, or null if it is not known.
+         */
+        public ParseSatelliteStatus.Failure getFailure() {
+            return failure;
         }
     }
 }
@@ -0,0 +1,222 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import com.mikolofton.satellite.satellitemonitor.util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates {@link SatelliteComponentAlert}s for many satellites in parallel. The statuses of different satellites
+ * never make an alert together, so the satellites are split into shards that are evaluated by
+ * {@link MakeSatelliteAlert} on a {@link ForkJoinPool}. Each shard collects its own alerts, and the alerts of the
+ * shards are only combined once the shards are done, so no locks are needed.
+ */
+public class ParallelSatelliteAlert {
+
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final MakeSatelliteAlert makeAlert;
+    private final int parallelism;
+
+    /**
+     * Creates an instance of {@link ParallelSatelliteAlert}.
+     *
+     * @param makeAlert Makes the alerts of each shard. (not null)
+     * @param parallelism The amount of shards evaluated at the same time. (greater than 0)
+     */
+    public ParallelSatelliteAlert(final MakeSatelliteAlert makeAlert, final int parallelism) {
+        requireNonNull(makeAlert);
+        checkArgument(parallelism > 0, "The parallelism must be greater than 0.");
+
+        this.makeAlert = makeAlert;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentAlert}s of every satellite, as calling
+     * {@link MakeSatelliteAlert#makeAlerts(int, List)} for each satellite would.
+     *
+     * @param statusesById The recorded {@link SatelliteComponentStatus}s by satellite identifier. (not null)
+     * @return The {@link SatelliteComponentAlert}s made based on the statuses.
+     */
+    public Set<SatelliteComponentAlert> makeAlerts(final Map<Integer, List<SatelliteComponentStatus>> statusesById) {
+        requireNonNull(statusesById);
+
+        final int[] satelliteIds = new int[statusesById.size()];
+        final List<List<SatelliteComponentStatus>> statuses = new ArrayList<>(statusesById.size());
+        for (final Map.Entry<Integer, List<SatelliteComponentStatus>> entry : statusesById.entrySet()) {
+            satelliteIds[statuses.size()] = entry.getKey();
+            statuses.add(entry.getValue());
+        }
+
+        return makeAlerts(satelliteIds, statuses);
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentAlert}s of every satellite, as calling
+     * {@link MakeSatelliteAlert#makeAlerts(int, List)} for each satellite would.
+     *
+     * @param statusesById The recorded {@link SatelliteComponentStatus}s by satellite identifier. (not null)
+     * @return The {@link SatelliteComponentAlert}s made based on the statuses.
+     */
+    public Set<SatelliteComponentAlert> makeAlerts(final IntObjectMap<List<SatelliteComponentStatus>> statusesById) {
+        requireNonNull(statusesById);
+
+        final int[] satelliteIds = new int[statusesById.size()];
+        final List<List<SatelliteComponentStatus>> statuses = new ArrayList<>(statusesById.size());
+        statusesById.forEach((satelliteId, satelliteStatuses) -> {
+            satelliteIds[statuses.size()] = satelliteId;
+            statuses.add(satelliteStatuses);
+        });
+
+        return makeAlerts(satelliteIds, statuses);
+    }
+
+    private Set<SatelliteComponentAlert> makeAlerts(
+            final int[] satelliteIds,
+            final List<List<SatelliteComponentStatus>> statuses) {
+        final int shardSize = Math.max(1, satelliteIds.length / (parallelism * SHARDS_PER_THREAD));
+        return invoke(new SatellitesTask(satelliteIds, statuses, 0, satelliteIds.length, shardSize));
+    }
+
+    /**
+     * Makes the {@link SatelliteComponentAlert}s of every satellite in a {@link SatelliteStatusBatch}, as
+     * {@link MakeSatelliteAlert#makeAlerts(SatelliteStatusBatch)} would.
+     *
+     * @param batch The recorded statuses of any amount of satellites. (not null)
+     * @return The {@link SatelliteComponentAlert}s made based on the statuses.
+     */
+    public Set<SatelliteComponentAlert> makeAlerts(final SatelliteStatusBatch batch) {
+        requireNonNull(batch);
+
+        final int shardCount = parallelism * SHARDS_PER_THREAD;
+
+        // Every status of a satellite goes to the same shard, in batch order.
+        final int[] shards = new int[batch.size()];
+        final int[] shardSizes = new int[shardCount];
+        for (int i = 0; i < batch.size(); i++) {
+            shards[i] = getShard(batch.getSatelliteId(i), shardCount);
+            shardSizes[shards[i]]++;
+        }
+
+        final int[][] shardIndices = new int[shardCount][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shardIndices[shard] = new int[shardSizes[shard]];
+            shardSizes[shard] = 0;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            shardIndices[shards[i]][shardSizes[shards[i]]++] = i;
+        }
+
+        return invoke(new BatchTask(batch, shardIndices, 0, shardCount));
+    }
+
+    private Set<SatelliteComponentAlert> invoke(final RecursiveTask<List<SatelliteComponentAlert>> task) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            return new HashSet<>(pool.invoke(task));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int getShard(final int satelliteId, final int shardCount) {
+        final int hash = satelliteId * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shardCount;
+    }
+
+    private static List<SatelliteComponentAlert> merge(
+            final List<SatelliteComponentAlert> left,
+            final List<SatelliteComponentAlert> right) {
+        if (left.size() < right.size()) {
+            right.addAll(left);
+            return right;
+        }
+        left.addAll(right);
+        return left;
+    }
+
+    /**
+     * Evaluates a range of satellites, splitting it in two until it is no larger than a shard.
+     */
+    private class SatellitesTask extends RecursiveTask<List<SatelliteComponentAlert>> {
+        private final int[] satelliteIds;
+        private final List<List<SatelliteComponentStatus>> statuses;
+        private final int from;
+        private final int to;
+        private final int shardSize;
+
+        private SatellitesTask(
+                final int[] satelliteIds,
+                final List<List<SatelliteComponentStatus>> statuses,
+                final int from,
+                final int to,
+                final int shardSize) {
+            this.satelliteIds = satelliteIds;
+            this.statuses = statuses;
+            this.from = from;
+            this.to = to;
+            this.shardSize = shardSize;
+        }
+
+        @Override
+        protected List<SatelliteComponentAlert> compute() {
+            if (to - from <= shardSize) {
+                final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    alerts.addAll(makeAlert.makeAlerts(satelliteIds[i], statuses.get(i)));
+                }
+                return alerts;
+            }
+
+            final int middle = (from + to) >>> 1;
+            final SatellitesTask left = new SatellitesTask(satelliteIds, statuses, from, middle, shardSize);
+            left.fork();
+            final List<SatelliteComponentAlert> right =
+                    new SatellitesTask(satelliteIds, statuses, middle, to, shardSize).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Evaluates a range of the shards of a {@link SatelliteStatusBatch}, splitting it until it is a single shard.
+     */
+    private class BatchTask extends RecursiveTask<List<SatelliteComponentAlert>> {
+        private final SatelliteStatusBatch batch;
+        private final int[][] shardIndices;
+        private final int from;
+        private final int to;
+
+        private BatchTask(final SatelliteStatusBatch batch, final int[][] shardIndices, final int from, final int to) {
+            this.batch = batch;
+            this.shardIndices = shardIndices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SatelliteComponentAlert> compute() {
+            if (to - from == 1) {
+                return new ArrayList<>(makeAlert.makeAlerts(batch, shardIndices[from], shardIndices[from].length));
+            }
+
+            final int middle = (from + to) >>> 1;
+            final BatchTask left = new BatchTask(batch, shardIndices, from, middle);
+            left.fork();
+            final List<SatelliteComponentAlert> right = new BatchTask(batch, shardIndices, middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Parses single lines of data of the telemetry logs by scanning character offsets, without splitting the line into
+ * intermediate strings. The values of the last parsed line are kept by the instance, so an instance can be reused
+ * across lines but must not be shared between threads.
+ *
+ * Lines are accepted exactly when {@link MakeSatelliteStatus#makeStatus(String)} accepts them. Values in an unusual
+ * but valid format, such as a timestamp that is not "yyyyMMdd HH:mm:ss.SSS" or a value with an exponent, are handed
+ * to the same parsers {@link MakeSatelliteStatus} uses.
+ */
+public class ParseSatelliteStatus {
+
+    /**
+     * The longest line readers hold while waiting for its line break. A longer line cannot be a status, so it is
+     * rejected with {@link Failure#LINE_LENGTH}.
+     */
+    static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private static final int FIELD_COUNT = 8;
+    private static final int MAX_FAST_INT_DIGITS = 9;
+    private static final int MAX_FAST_DOUBLE_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+    private static final SatelliteComponent.ComponentType[] COMPONENT_TYPES =
+            SatelliteComponent.ComponentType.values();
+    private static final int COMPONENT_CACHE_CAPACITY = 256;
+    private static final InternSatelliteComponent SHARED_COMPONENTS =
+            new InternSatelliteComponent(COMPONENT_CACHE_CAPACITY);
+
+    /**
+     * The reasons a line of data of the telemetry logs cannot be parsed. {@link #LINE_LENGTH} is not found by the
+     * parser, but by readers that drop a line too long to hold until its line break.
+     */
+    public enum Failure {
+        MISSING_FIELD, TIMESTAMP, SATELLITE_ID, LIMITS, VALUE, COMPONENT_TYPE, LINE_LENGTH
+    }
+
+    private final char delimiter;
+    private final InternSatelliteComponent components;
+    private final DecodeSatelliteTimestamp timestamps;
+
+    private long timestampMillis;
+    private int satelliteId;
+    private int redHighLimit;
+    private int yellowHighLimit;
+    private int yellowLowLimit;
+    private int redLowLimit;
+    private double value;
+    private SatelliteComponent.ComponentType componentType;
+    private Failure failure;
+    private int parsedInt;
+
+    /**
+     * Creates an instance of {@link ParseSatelliteStatus} that shares {@link SatelliteComponent}s with every other
+     * instance created this way.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     */
+    public ParseSatelliteStatus(final char delimiter) {
+        this(delimiter, SHARED_COMPONENTS);
+    }
+
+    /**
+     * Creates an instance of {@link ParseSatelliteStatus}.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param components The cache of the {@link SatelliteComponent}s of parsed lines. (not null)
+     */
+    public ParseSatelliteStatus(final char delimiter, final InternSatelliteComponent components) {
+        this(delimiter, components, new DecodeSatelliteTimestamp());
+    }
+
+    /**
+     * Creates an instance of {@link ParseSatelliteStatus}.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param components The cache of the {@link SatelliteComponent}s of parsed lines. (not null)
+     * @param timestamps Decodes the timestamps of parsed lines. (not null)
+     */
+    public ParseSatelliteStatus(
+            final char delimiter,
+            final InternSatelliteComponent components,
+            final DecodeSatelliteTimestamp timestamps) {
+        requireNonNull(components);
+        requireNonNull(timestamps);
+
+        this.delimiter = delimiter;
+        this.components = components;
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * Parses a single line of data of the telemetry logs.
+     *
+     * @param input The line of data to parse. (not null)
+     * @return True if the line was parsed, otherwise false and {@link #getFailure()} tells why.
+     */
+    public boolean parse(final CharSequence input) {
+        requireNonNull(input);
+        return parse(input, 0, input.length());
+    }
+
+    /**
+     * Parses a single line of data of the telemetry logs that is part of a larger sequence of characters.
+     *
+     * @param input The characters containing the line of data. (not null)
+     * @param start The offset of the first character of the line.
+     * @param end The offset after the last character of the line.
+     * @return True if the line was parsed, otherwise false and {@link #getFailure()} tells why.
+     */
+    public boolean parse(final CharSequence input, final int start, final int end) {
+        failure = null;
+
+        int fieldStart = start;
+
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (fieldStart > end) {
+                return fail(Failure.MISSING_FIELD);
+            }
+
+            int fieldEnd = fieldStart;
+            while (fieldEnd < end && input.charAt(fieldEnd) != delimiter) {
+                fieldEnd++;
+            }
+
+            if (!parseField(field, input, fieldStart, fieldEnd)) {
+                return false;
+            }
+
+            fieldStart = fieldEnd + 1;
+        }
+
+        if (satelliteId <= 0) {
+            return fail(Failure.SATELLITE_ID);
+        }
+
+        if (redHighLimit <= 0 || redLowLimit <= 0 || yellowHighLimit <= 0 || yellowLowLimit <= 0 ||
+                redHighLimit <= redLowLimit || yellowHighLimit <= yellowLowLimit) {
+            return fail(Failure.LIMITS);
+        }
+
+        if (!(value > 0)) {
+            return fail(Failure.VALUE);
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses every line of data of the telemetry logs in part of a larger sequence of characters. Lines are separated
+     * by '\n' or '\r', the characters after the last line break are parsed as a line too, and empty lines are
+     * skipped.
+     *
+     * @param input The characters containing the lines of data. (not null)
+     * @param start The offset of the first character of the first line.
+     * @param end The offset after the last character of the last line.
+     * @param parsed Receives the instance after each line it parsed, while it holds the values of the line. (not null)
+     * @param rejected The amount of lines that could not be parsed for each {@link Failure}, indexed by its ordinal,
+     *     which the rejected lines are added to. (not null)
+     * @return The amount of non-empty lines.
+     */
+    public long parseLines(
+            final CharSequence input,
+            final int start,
+            final int end,
+            final Consumer<ParseSatelliteStatus> parsed,
+            final long[] rejected) {
+        requireNonNull(input);
+        requireNonNull(parsed);
+        requireNonNull(rejected);
+
+        long lines = 0;
+        int lineStart = start;
+
+        for (int i = start; i <= end; i++) {
+            if (i == end || input.charAt(i) == '\n' || input.charAt(i) == '\r') {
+                if (i > lineStart) {
+                    lines++;
+                    if (parse(input, lineStart, i)) {
+                        parsed.accept(this);
+                    } else {
+                        rejected[failure.ordinal()]++;
+                    }
+                }
+                lineStart = i + 1;
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * @return The reason the last line could not be parsed, or null if it was parsed.
+     */
+    public Failure getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return The timestamp of the last parsed line in milliseconds since the epoch.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * @return The identifier of the satellite of the last parsed line.
+     */
+    public int getSatelliteId() {
+        return satelliteId;
+    }
+
+    /**
+     * @return The red high limit of the last parsed line.
+     */
+    public int getRedHighLimit() {
+        return redHighLimit;
+    }
+
+    /**
+     * @return The yellow high limit of the last parsed line.
+     */
+    public int getYellowHighLimit() {
+        return yellowHighLimit;
+    }
+
+    /**
+     * @return The yellow low limit of the last parsed line.
+     */
+    public int getYellowLowLimit() {
+        return yellowLowLimit;
+    }
+
+    /**
+     * @return The red low limit of the last parsed line.
+     */
+    public int getRedLowLimit() {
+        return redLowLimit;
+    }
+
+    /**
+     * @return The value of the last parsed line.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return The {@link SatelliteComponent.ComponentType} of the last parsed line.
+     */
+    public SatelliteComponent.ComponentType getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * @return The {@link SatelliteComponent} of the last parsed line, shared with other lines of the same component.
+     */
+    public SatelliteComponent toComponent() {
+        return components.intern(componentType, redHighLimit, yellowHighLimit, yellowLowLimit, redLowLimit);
+    }
+
+    /**
+     * Adds the status of the last parsed line to a batch.
+     *
+     * @param statuses The batch to add the status to. (not null)
+     */
+    public void addTo(final SatelliteStatusBatch statuses) {
+        statuses.add(satelliteId, toComponent(), value, timestampMillis);
+    }
+
+    /**
+     * @return The {@link SatelliteComponentStatus} of the last parsed line.
+     */
+    public SatelliteComponentStatus toStatus() {
+        return SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(satelliteId)
+                .setComponent(toComponent())
+                .setValue(value)
+                .setTimestamp(Instant.ofEpochMilli(timestampMillis))
+                .build();
+    }
+
+    private boolean parseField(final int field, final CharSequence input, final int start, final int end) {
+        switch (field) {
+            case 0:
+                return parseTimestamp(input, start, end) || fail(Failure.TIMESTAMP);
+            case 1:
+                if (!parseInt(input, start, end)) {
+                    return fail(Failure.SATELLITE_ID);
+                }
+                satelliteId = parsedInt;
+                return true;
+            case 2:
+                if (!parseInt(input, start, end)) {
+                    return fail(Failure.LIMITS);
+                }
+                redHighLimit = parsedInt;
+                return true;
+            case 3:
+                if (!parseInt(input, start, end)) {
+                    return fail(Failure.LIMITS);
+                }
+                yellowHighLimit = parsedInt;
+                return true;
+            case 4:
+                if (!parseInt(input, start, end)) {
+                    return fail(Failure.LIMITS);
+                }
+                yellowLowLimit = parsedInt;
+                return true;
+            case 5:
+                if (!parseInt(input, start, end)) {
+                    return fail(Failure.LIMITS);
+                }
+                redLowLimit = parsedInt;
+                return true;
+            case 6:
+                return parseValue(input, start, end) || fail(Failure.VALUE);
+            default:
+                return parseComponentType(input, start, end) || fail(Failure.COMPONENT_TYPE);
+        }
+    }
+
+    private boolean parseTimestamp(final CharSequence input, final int start, final int end) {
+        final long decoded = timestamps.decode(input, start, end);
+        if (decoded == DecodeSatelliteTimestamp.INVALID) {
+            return false;
+        }
+
+        timestampMillis = decoded;
+        return true;
+    }
+
+    private boolean parseInt(final CharSequence input, final int start, final int end) {
+        int from = start;
+        int to = end;
+
+        while (from < to && input.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && input.charAt(to - 1) <= ' ') {
+            to--;
+        }
+
+        int i = from;
+        final boolean negative = i < to && input.charAt(i) == '-';
+        if (i < to && (negative || input.charAt(i) == '+')) {
+            i++;
+        }
+
+        if (i < to && to - i <= MAX_FAST_INT_DIGITS) {
+            int result = 0;
+            for (; i < to; i++) {
+                final char c = input.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                result = result * 10 + (c - '0');
+            }
+
+            if (i == to) {
+                parsedInt = negative ? -result : result;
+                return true;
+            }
+        }
+
+        try {
+            parsedInt = Integer.parseInt(input.subSequence(from, to).toString());
+            return true;
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean parseValue(final CharSequence input, final int start, final int end) {
+        int from = start;
+        int to = end;
+
+        while (from < to && input.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && input.charAt(to - 1) <= ' ') {
+            to--;
+        }
+
+        int i = from;
+        final boolean negative = i < to && input.charAt(i) == '-';
+        if (i < to && (negative || input.charAt(i) == '+')) {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digitCount = 0;
+        int fractionDigits = -1;
+
+        for (; i < to; i++) {
+            final char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digitCount++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+
+        // Both the mantissa and the power of ten are exact doubles, so a single division rounds exactly as
+        // Double.parseDouble would.
+        if (i == to && digitCount > 0 && digitCount <= MAX_FAST_DOUBLE_DIGITS) {
+            final double result = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            value = negative ? -result : result;
+            return true;
+        }
+
+        try {
+            value = Double.parseDouble(input.subSequence(from, to).toString());
+            return true;
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean parseComponentType(final CharSequence input, final int start, final int end) {
+        for (final SatelliteComponent.ComponentType type : COMPONENT_TYPES) {
+            final String name = type.name();
+            if (name.length() != end - start) {
+                continue;
+            }
+
+            int i = 0;
+            while (i < name.length() && name.charAt(i) == input.charAt(start + i)) {
+                i++;
+            }
+
+            if (i == name.length()) {
+                componentType = type;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean fail(final Failure reason) {
+        failure = reason;
+        return false;
+    }
+}
@@ -0,0 +1,570 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Makes {@link SatelliteComponentAlert}s from telemetry logs in a staged pipeline, so that reading, parsing and
+ * evaluating overlap:
+ *
+ * 1. A reader thread reads the logs in newline aligned chunks of bytes. Compressed logs are decompressed ahead of
+ *    it on separate threads by {@link DecompressSatelliteLog}.
+ * 2. A pool of parser threads parses each chunk and splits its statuses into partitions by satellite.
+ * 3. The calling thread hands the partitions of each chunk, in file order, to the evaluator of each partition.
+ * 4. Each evaluator thread feeds its partitions to its own {@link StreamSatelliteAlert}.
+ *
+ * All statuses of a satellite are evaluated by the same evaluator in file order, so the same alerts are made as by a
+ * single {@link StreamSatelliteAlert}. The stages are connected by bounded queues, so a slow stage blocks the stages
+ * before it instead of letting chunks pile up in memory.
+ *
+ * With a {@link CheckpointSatelliteAlert}, the calling thread periodically waits for the evaluators to catch up with
+ * the last chunk handed to them and saves their state with the position after that chunk. Text logs can be resumed
+ * after any chunk, binary logs only once they have been read to the end.
+ */
+public class PipelineSatelliteAlert {
+
+    private static final int CHUNK_SIZE = 1 << 18;
+    private static final int QUEUE_CAPACITY_PER_THREAD = 2;
+    private static final long NO_POSITION = -1;
+    private static final Chunk END = new Chunk(new SatelliteStatusBatch[0], -1, NO_POSITION);
+    private static final SatelliteStatusBatch END_BATCH = new SatelliteStatusBatch(0);
+    private static final SatelliteStatusBatch CHECKPOINT_BATCH = new SatelliteStatusBatch(0);
+
+    private final char delimiter;
+    private final int threshold;
+    private final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules;
+    private final int severityMask;
+    private final StreamSatelliteAlert.Window window;
+    private final long allowedLatenessMillis;
+    private final int parallelism;
+    private final RecordSatelliteMetrics metrics;
+
+    /**
+     * Creates an instance of {@link PipelineSatelliteAlert}.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param threshold The amount of violating statuses within a window that make an alert. (greater than 0)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive,
+     *     in milliseconds, or {@link StreamSatelliteAlert#IN_ORDER}. (not negative)
+     * @param parallelism The amount of parser threads and of evaluator threads. (greater than 0)
+     * @param metrics Records the lines read, the statuses evaluated and the time taken by each chunk. (not null)
+     */
+    public PipelineSatelliteAlert(
+            final char delimiter,
+            final int threshold,
+            final StreamSatelliteAlert.Window window,
+            final long allowedLatenessMillis,
+            final int parallelism,
+            final RecordSatelliteMetrics metrics) {
+        this(delimiter, threshold, MakeSatelliteAlert.getDefaultRules(), window, allowedLatenessMillis, parallelism,
+                metrics);
+    }
+
+    /**
+     * Creates an instance of {@link PipelineSatelliteAlert} that counts statuses by the given rules.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param threshold The amount of violating statuses within a window that make an alert. (greater than 0)
+     * @param rules The {@link SatelliteAlertRule} of each component type. (not null)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive,
+     *     in milliseconds, or {@link StreamSatelliteAlert#IN_ORDER}. (not negative)
+     * @param parallelism The amount of parser threads and of evaluator threads. (greater than 0)
+     * @param metrics Records the lines read, the statuses evaluated and the time taken by each chunk. (not null)
+     */
+    public PipelineSatelliteAlert(
+            final char delimiter,
+            final int threshold,
+            final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules,
+            final StreamSatelliteAlert.Window window,
+            final long allowedLatenessMillis,
+            final int parallelism,
+            final RecordSatelliteMetrics metrics) {
+        requireNonNull(rules);
+        requireNonNull(window);
+        requireNonNull(metrics);
+        checkArgument(threshold > 0, "The threshold must be greater than 0.");
+        checkArgument(parallelism > 0, "The parallelism must be greater than 0.");
+        checkArgument(allowedLatenessMillis >= 0 || allowedLatenessMillis == StreamSatelliteAlert.IN_ORDER,
+                "The allowed lateness must not be negative.");
+
+        this.delimiter = delimiter;
+        this.threshold = threshold;
+        this.rules = new EnumMap<>(SatelliteComponent.ComponentType.class);
+        this.rules.putAll(rules);
+        this.severityMask = new MakeSatelliteAlert(threshold, rules).getSeverityMask();
+        this.window = window;
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.parallelism = parallelism;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Makes the alerts of text and binary telemetry logs, returning once every status has been evaluated.
+     *
+     * @param paths The paths of the telemetry logs in the order to read them. (not null)
+     * @param consumer Receives each alert as soon as it is made. It is called from several threads. (not null)
+     * @throws IOException Thrown if a log cannot be read or the consumer fails.
+     * @throws InterruptedException Thrown if the calling thread is interrupted.
+     */
+    public void makeAlerts(
+            final List<Path> paths,
+            final Consumer<SatelliteComponentAlert> consumer) throws IOException, InterruptedException {
+        requireNonNull(paths);
+        requireNonNull(consumer);
+
+        makeAlerts(paths, consumer, Optional.empty());
+    }
+
+    /**
+     * Makes the alerts of text and binary telemetry logs from the last checkpoint, or from the start if there is no
+     * checkpoint yet, returning once every status has been evaluated. Checkpoints are written while the logs are
+     * read. Alerts made after the last checkpoint of a run that stopped are made again when it is resumed.
+     *
+     * @param paths The paths of the telemetry logs in the order to read them. They must be the paths the checkpoint
+     *     was written for. (not null)
+     * @param consumer Receives each alert as soon as it is made. It is called from several threads. (not null)
+     * @param checkpoint Reads the checkpoint to resume from and writes new checkpoints. (not null)
+     * @throws IOException Thrown if a log or the checkpoint cannot be read, the checkpoint cannot be written, or the
+     *     consumer fails.
+     * @throws InterruptedException Thrown if the calling thread is interrupted.
+     * @throws IllegalArgumentException Thrown if the checkpoint was written for other logs or other options.
+     */
+    public void makeAlerts(
+            final List<Path> paths,
+            final Consumer<SatelliteComponentAlert> consumer,
+            final CheckpointSatelliteAlert checkpoint) throws IOException, InterruptedException {
+        requireNonNull(paths);
+        requireNonNull(consumer);
+        requireNonNull(checkpoint);
+
+        makeAlerts(paths, consumer, Optional.of(checkpoint));
+    }
+
+    private void makeAlerts(
+            final List<Path> paths,
+            final Consumer<SatelliteComponentAlert> consumer,
+            final Optional<CheckpointSatelliteAlert> checkpoint) throws IOException, InterruptedException {
+        final Optional<CheckpointSatelliteAlert.Checkpoint> resumed = checkpoint.isPresent() ?
+                checkpoint.get().read() : Optional.empty();
+        resumed.ifPresent(state -> checkResume(state, paths));
+
+        final List<StreamSatelliteAlert> streamAlerts = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            final StreamSatelliteAlert streamAlert =
+                    new StreamSatelliteAlert(threshold, rules, window, allowedLatenessMillis, consumer);
+            if (resumed.isPresent()) {
+                final int partition = i;
+                for (final byte[] state : resumed.get().getStates()) {
+                    streamAlert.readState(new DataInputStream(new ByteArrayInputStream(state)),
+                            satelliteId -> getPartition(satelliteId) == partition);
+                }
+            }
+            streamAlerts.add(streamAlert);
+        }
+
+        final ExecutorService parsers = Executors.newFixedThreadPool(parallelism);
+        final BlockingQueue<Future<Chunk>> parsed = new ArrayBlockingQueue<>(parallelism * QUEUE_CAPACITY_PER_THREAD);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final List<Evaluator> evaluators = new ArrayList<>();
+        for (final StreamSatelliteAlert streamAlert : streamAlerts) {
+            evaluators.add(new Evaluator(streamAlert, failure));
+        }
+
+        final int startIndex = resumed.map(CheckpointSatelliteAlert.Checkpoint::getFileIndex).orElse(0);
+        final long startOffset = resumed.map(CheckpointSatelliteAlert.Checkpoint::getOffset).orElse(0L);
+        final Thread reader = new Thread(() -> read(paths, startIndex, startOffset, parsers, parsed),
+                "satellite-log-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            while (true) {
+                final Chunk chunk = parsed.take().get();
+                if (chunk == END || failure.get() != null) {
+                    break;
+                }
+
+                for (int i = 0; i < chunk.partitions.length; i++) {
+                    if (chunk.partitions[i].size() > 0) {
+                        evaluators.get(i).queue.put(chunk.partitions[i]);
+                    }
+                }
+
+                if (checkpoint.isPresent() && chunk.offset != NO_POSITION && checkpoint.get().isDue()) {
+                    checkpoint(checkpoint.get(), evaluators, failure, chunk.fileIndex,
+                            paths.get(chunk.fileIndex).toString(), chunk.offset);
+                }
+            }
+        } catch (final ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } catch (final IOException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            reader.interrupt();
+            parsers.shutdownNow();
+            for (final Evaluator evaluator : evaluators) {
+                evaluator.queue.put(END_BATCH);
+            }
+            for (final Evaluator evaluator : evaluators) {
+                evaluator.join();
+            }
+        }
+
+        final Throwable cause = failure.get();
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) cause).getCause();
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+    }
+
+    private void checkResume(final CheckpointSatelliteAlert.Checkpoint checkpoint, final List<Path> paths) {
+        checkArgument(checkpoint.getThreshold() == threshold && checkpoint.getSeverityMask() == severityMask &&
+                checkpoint.getWindow() == window && checkpoint.getAllowedLatenessMillis() == allowedLatenessMillis,
+                "The checkpoint was written with other options.");
+        checkArgument(checkpoint.getFileIndex() < paths.size() &&
+                paths.get(checkpoint.getFileIndex()).toString().equals(checkpoint.getFilePath()),
+                "The checkpoint was written for other telemetry logs.");
+    }
+
+    /**
+     * Waits on the calling thread until every evaluator has evaluated the chunks handed to it, then writes their
+     * state with the position after the last chunk. Nothing is written if an evaluator failed.
+     */
+    private void checkpoint(
+            final CheckpointSatelliteAlert checkpoint,
+            final List<Evaluator> evaluators,
+            final AtomicReference<Throwable> failure,
+            final int fileIndex,
+            final String filePath,
+            final long offset) throws IOException, InterruptedException {
+        for (final Evaluator evaluator : evaluators) {
+            evaluator.state = new CompletableFuture<>();
+            evaluator.queue.put(CHECKPOINT_BATCH);
+        }
+
+        final List<byte[]> states = new ArrayList<>();
+        for (final Evaluator evaluator : evaluators) {
+            try {
+                states.add(evaluator.state.get());
+            } catch (final ExecutionException e) {
+                // The failure is already recorded.
+                return;
+            }
+        }
+
+        if (failure.get() == null) {
+            checkpoint.write(new CheckpointSatelliteAlert.Checkpoint(threshold, severityMask, window,
+                    allowedLatenessMillis, fileIndex, filePath, offset, states));
+        }
+    }
+
+    /**
+     * Reads the logs on the reader thread from a position, submitting each chunk to the parsers and queueing its
+     * result in order.
+     */
+    private void read(
+            final List<Path> paths,
+            final int startIndex,
+            final long startOffset,
+            final ExecutorService parsers,
+            final BlockingQueue<Future<Chunk>> parsed) {
+        try {
+            for (int fileIndex = startIndex; fileIndex < paths.size(); fileIndex++) {
+                final Path path = paths.get(fileIndex);
+                final long offset = fileIndex == startIndex ? startOffset : 0;
+
+                if (ReadSatelliteBinaryLog.isBinaryLog(path)) {
+                    // Binary logs are only resumed from their end, as the offsets of their blocks are not known.
+                    if (offset > 0) {
+                        continue;
+                    }
+                    final int index = fileIndex;
+                    new ReadSatelliteBinaryLog().read(path, block -> {
+                        try {
+                            parsed.put(parsers.submit(() -> new Chunk(partition(block), index, NO_POSITION)));
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new UncheckedIOException(new InterruptedIOException());
+                        }
+                    });
+                    parsed.put(CompletableFuture.completedFuture(
+                            new Chunk(new SatelliteStatusBatch[0], fileIndex, Files.size(path))));
+                } else {
+                    readText(path, fileIndex, offset, parsers, parsed);
+                }
+            }
+            parsed.put(CompletableFuture.completedFuture(END));
+        } catch (final InterruptedException e) {
+            // The pipeline was stopped.
+        } catch (final UncheckedIOException e) {
+            fail(parsed, e.getCause());
+        } catch (final Throwable e) {
+            // Errors are passed on too, as nothing else would end the wait for the next chunk.
+            fail(parsed, e);
+        }
+    }
+
+    private void readText(
+            final Path path,
+            final int fileIndex,
+            final long startOffset,
+            final ExecutorService parsers,
+            final BlockingQueue<Future<Chunk>> parsed) throws IOException, InterruptedException {
+        try (final ReadableByteChannel channel = openText(path, startOffset)) {
+            final ChunkSatelliteLog chunks = new ChunkSatelliteLog(channel, CHUNK_SIZE);
+            while (chunks.next()) {
+                final byte[] chunk = chunks.getChunk();
+                final int chunkLength = chunks.getLength();
+                final long chunkOffset = startOffset + chunks.getEndOffset();
+                parsed.put(parsers.submit(() -> new Chunk(parse(chunk, chunkLength), fileIndex, chunkOffset)));
+            }
+        }
+    }
+
+    /**
+     * Opens a text log at an offset. The offset of a compressed log is an offset in its decompressed bytes.
+     */
+    private ReadableByteChannel openText(final Path path, final long offset) throws IOException {
+        if (!DecompressSatelliteLog.isCompressed(path)) {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            channel.position(offset);
+            return channel;
+        }
+
+        final InputStream in = new DecompressSatelliteLog(parallelism).open(path);
+        try {
+            long remaining = offset;
+            while (remaining > 0) {
+                final long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    throw new EOFException(path + " ends before the offset " + offset + ".");
+                }
+                remaining -= skipped;
+            }
+        } catch (final IOException e) {
+            in.close();
+            throw e;
+        }
+        return Channels.newChannel(in);
+    }
+
+    private static void fail(final BlockingQueue<Future<Chunk>> parsed, final Throwable cause) {
+        final CompletableFuture<Chunk> failed = new CompletableFuture<>();
+        failed.completeExceptionally(cause);
+        try {
+            parsed.put(failed);
+        } catch (final InterruptedException e) {
+            // The pipeline was stopped.
+        }
+    }
+
+    /**
+     * Parses a chunk of a text log on a parser thread.
+     */
+    private SatelliteStatusBatch[] parse(final byte[] chunk, final int length) {
+        final long startNanos = System.nanoTime();
+        final AsciiSequence chars = new AsciiSequence(ByteBuffer.wrap(chunk, 0, length));
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus(delimiter);
+        final SatelliteStatusBatch[] partitions = newPartitions();
+
+        final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+        final long lines = parser.parseLines(chars, 0, length,
+                parsed -> parsed.addTo(partitions[getPartition(parsed.getSatelliteId())]), rejected);
+
+        long parsedLines = 0;
+        for (final SatelliteStatusBatch partition : partitions) {
+            parsedLines += partition.size();
+        }
+        metrics.addLinesRead(lines);
+        metrics.addLinesParsed(parsedLines);
+        metrics.addRejected(rejected);
+        metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, System.nanoTime() - startNanos);
+
+        return partitions;
+    }
+
+    /**
+     * Splits a block of a binary log into partitions on a parser thread.
+     */
+    private SatelliteStatusBatch[] partition(final SatelliteStatusBatch block) {
+        final SatelliteStatusBatch[] partitions = newPartitions();
+        for (int i = 0; i < block.size(); i++) {
+            partitions[getPartition(block.getSatelliteId(i))].add(block.getSatelliteId(i), block.getComponent(i),
+                    block.getValue(i), block.getTimestampMillis(i));
+        }
+        return partitions;
+    }
+
+    private SatelliteStatusBatch[] newPartitions() {
+        final SatelliteStatusBatch[] partitions = new SatelliteStatusBatch[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            partitions[i] = new SatelliteStatusBatch();
+        }
+        return partitions;
+    }
+
+    private int getPartition(final int satelliteId) {
+        final int hash = satelliteId * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % parallelism;
+    }
+
+    /**
+     * The partitions of a parsed chunk and the position in the logs after it.
+     */
+    private static class Chunk {
+        private final SatelliteStatusBatch[] partitions;
+        private final int fileIndex;
+        private final long offset;
+
+        /**
+         * @param offset The offset in bytes after the chunk in its log, or {@link #NO_POSITION} if the logs cannot be
+         *     resumed after the chunk.
+         */
+        private Chunk(final SatelliteStatusBatch[] partitions, final int fileIndex, final long offset) {
+            this.partitions = partitions;
+            this.fileIndex = fileIndex;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Evaluates the {@link SatelliteComponentStatus}s of one partition on its own thread.
+     */
+    private class Evaluator extends Thread {
+        private final BlockingQueue<SatelliteStatusBatch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY_PER_THREAD);
+        private final StreamSatelliteAlert streamAlert;
+        private final AtomicReference<Throwable> failure;
+        private volatile CompletableFuture<byte[]> state;
+
+        private Evaluator(final StreamSatelliteAlert streamAlert, final AtomicReference<Throwable> failure) {
+            super("satellite-alert-evaluator");
+            setDaemon(true);
+
+            this.streamAlert = streamAlert;
+            this.failure = failure;
+            start();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                final SatelliteStatusBatch statuses;
+                try {
+                    statuses = queue.take();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                if (statuses == END_BATCH) {
+                    finish();
+                    return;
+                }
+                if (statuses == CHECKPOINT_BATCH) {
+                    writeState();
+                    continue;
+                }
+
+                // After a failure the queue is still drained so that the pipeline is not blocked.
+                if (failure.get() == null) {
+                    try {
+                        evaluate(statuses);
+                    } catch (final RuntimeException | Error e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Evaluates the statuses still held back for late arrivals, as the logs have been read to the end.
+         */
+        private void finish() {
+            if (failure.get() != null) {
+                return;
+            }
+
+            try {
+                streamAlert.flush();
+                metrics.addLate(streamAlert.getLateCount());
+            } catch (final RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        /**
+         * Writes the state of the evaluator for a checkpoint, as every chunk before the checkpoint was evaluated.
+         */
+        private void writeState() {
+            if (failure.get() != null) {
+                state.completeExceptionally(failure.get());
+                return;
+            }
+
+            try {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (final DataOutputStream out = new DataOutputStream(bytes)) {
+                    streamAlert.writeState(out);
+                }
+                state.complete(bytes.toByteArray());
+            } catch (final IOException | RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+                state.completeExceptionally(e);
+            }
+        }
+
+        private void evaluate(final SatelliteStatusBatch statuses) {
+            final long startNanos = System.nanoTime();
+
+            metrics.addStatuses(statuses);
+            for (int i = 0; i < statuses.size(); i++) {
+                streamAlert.accept(statuses.getSatelliteId(i), statuses.getComponent(i), statuses.getValue(i),
+                        statuses.getTimestampMillis(i));
+            }
+
+            metrics.recordLatency(RecordSatelliteMetrics.Stage.EVALUATE, System.nanoTime() - startNanos);
+        }
+    }
+}
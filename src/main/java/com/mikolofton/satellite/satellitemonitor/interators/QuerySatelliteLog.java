@@ -0,0 +1,187 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the {@link SatelliteComponentStatus}s of a telemetry log within a time range, optionally of a single
+ * satellite. Text logs are indexed by {@link IndexSatelliteLog} so that only the blocks that may hold matching statuses
+ * are read.
+ *
+ * The time range is widened to whole five minute intervals, so that {@link MakeSatelliteAlert} makes the same alerts
+ * with tumbling windows for the intervals overlapping the range as it would from the whole log. Sliding windows depend
+ * on the statuses before the range, so they do not make the same alerts from a time range.
+ */
+public class QuerySatelliteLog {
+
+    private static final long INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long MAX_RANGE_SIZE = 1 << 28;
+
+    private final IndexSatelliteLog indexLog;
+
+    /**
+     * Creates an instance of {@link QuerySatelliteLog}.
+     *
+     * @param indexLog Indexes the text telemetry logs that are queried. (not null)
+     */
+    public QuerySatelliteLog(final IndexSatelliteLog indexLog) {
+        requireNonNull(indexLog);
+        this.indexLog = indexLog;
+    }
+
+    /**
+     * Reads the statuses of all satellites in the five minute intervals overlapping a time range.
+     *
+     * @param log The path of a text, compressed text or binary telemetry log. (not null)
+     * @param fromMillis The start of the time range in milliseconds since the epoch.
+     * @param toMillis The end of the time range in milliseconds since the epoch, inclusive. (not before fromMillis)
+     * @return The matching statuses in the order they appear in the log.
+     * @throws IOException Thrown if the log cannot be read.
+     */
+    public SatelliteStatusBatch query(final Path log, final long fromMillis, final long toMillis) throws IOException {
+        return query(log, true, 0, fromMillis, toMillis);
+    }
+
+    /**
+     * Reads the statuses of a satellite in the five minute intervals overlapping a time range.
+     *
+     * @param log The path of a text, compressed text or binary telemetry log. (not null)
+     * @param satelliteId The identifier of the satellite.
+     * @param fromMillis The start of the time range in milliseconds since the epoch.
+     * @param toMillis The end of the time range in milliseconds since the epoch, inclusive. (not before fromMillis)
+     * @return The matching statuses in the order they appear in the log.
+     * @throws IOException Thrown if the log cannot be read.
+     */
+    public SatelliteStatusBatch query(
+            final Path log,
+            final int satelliteId,
+            final long fromMillis,
+            final long toMillis) throws IOException {
+        return query(log, false, satelliteId, fromMillis, toMillis);
+    }
+
+    private SatelliteStatusBatch query(
+            final Path log,
+            final boolean allSatellites,
+            final int satelliteId,
+            final long fromMillis,
+            final long toMillis) throws IOException {
+        requireNonNull(log);
+        checkArgument(fromMillis <= toMillis, "The start of the time range must not be after its end.");
+
+        final Filter filter = new Filter(allSatellites, satelliteId, fromMillis, toMillis);
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+
+        if (ReadSatelliteBinaryLog.isBinaryLog(log)) {
+            new ReadSatelliteBinaryLog().read(log, block -> {
+                for (int i = 0; i < block.size(); i++) {
+                    if (filter.matches(block.getSatelliteId(i), block.getTimestampMillis(i))) {
+                        statuses.add(block.getSatelliteId(i), block.getComponent(i), block.getValue(i),
+                                block.getTimestampMillis(i));
+                    }
+                }
+            });
+            return statuses;
+        }
+
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus(indexLog.getDelimiter());
+        final Consumer<ParseSatelliteStatus> matching = parsed -> {
+            if (filter.matches(parsed.getSatelliteId(), parsed.getTimestampMillis())) {
+                parsed.addTo(statuses);
+            }
+        };
+        // Queries do not record metrics, so the counts of rejected lines are not used.
+        final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+
+        // Compressed logs cannot be read at the offsets of an index, so the whole log is read.
+        if (DecompressSatelliteLog.isCompressed(log)) {
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new DecompressSatelliteLog(Runtime.getRuntime().availableProcessors()).open(log),
+                    StandardCharsets.ISO_8859_1))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    parser.parseLines(line, 0, line.length(), matching, rejected);
+                }
+            }
+            return statuses;
+        }
+
+        try (final FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            for (final long[] range : getRanges(indexLog.index(log), filter)) {
+                final AsciiSequence chars = new AsciiSequence(
+                        channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]));
+                parser.parseLines(chars, 0, chars.length(), matching, rejected);
+            }
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Merges the blocks that may hold matching statuses into as few byte ranges as possible.
+     *
+     * @return The start and end offset of each range in file order.
+     */
+    static List<long[]> getRanges(final List<IndexSatelliteLog.Block> blocks, final Filter filter) {
+        final List<long[]> ranges = new ArrayList<>();
+        long[] last = null;
+
+        for (final IndexSatelliteLog.Block block : blocks) {
+            if (!filter.mayMatch(block)) {
+                continue;
+            }
+            if (last != null && last[1] == block.getStart() && block.getEnd() - last[0] <= MAX_RANGE_SIZE) {
+                last[1] = block.getEnd();
+            } else {
+                last = new long[] {block.getStart(), block.getEnd()};
+                ranges.add(last);
+            }
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Matches the statuses of a query.
+     */
+    static class Filter {
+        private final boolean allSatellites;
+        private final int satelliteId;
+        private final long fromInterval;
+        private final long toInterval;
+
+        Filter(final boolean allSatellites, final int satelliteId, final long fromMillis, final long toMillis) {
+            this.allSatellites = allSatellites;
+            this.satelliteId = satelliteId;
+            this.fromInterval = Math.floorDiv(fromMillis, INTERVAL_MILLIS);
+            this.toInterval = Math.floorDiv(toMillis, INTERVAL_MILLIS);
+        }
+
+        private boolean matches(final int statusSatelliteId, final long timestampMillis) {
+            final long interval = Math.floorDiv(timestampMillis, INTERVAL_MILLIS);
+            return (allSatellites || statusSatelliteId == satelliteId) &&
+                    interval >= fromInterval && interval <= toInterval;
+        }
+
+        private boolean mayMatch(final IndexSatelliteLog.Block block) {
+            return (allSatellites || block.mayContain(satelliteId)) &&
+                    Math.floorDiv(block.getMaxTimestampMillis(), INTERVAL_MILLIS) >= fromInterval &&
+                    Math.floorDiv(block.getMinTimestampMillis(), INTERVAL_MILLIS) <= toInterval;
+        }
+    }
+}
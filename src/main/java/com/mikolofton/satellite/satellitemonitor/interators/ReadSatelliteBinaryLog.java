@@ -0,0 +1,192 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the {@link SatelliteComponentStatus}s of a binary telemetry log written by {@link WriteSatelliteBinaryLog}.
+ * The records are copied straight into {@link SatelliteStatusBatch}es, so reading a binary log is much cheaper than
+ * parsing the text log it was converted from.
+ */
+public class ReadSatelliteBinaryLog {
+
+    private static final SatelliteComponent.ComponentType[] COMPONENT_TYPES =
+            SatelliteComponent.ComponentType.values();
+
+    /**
+     * Checks whether a file is a binary telemetry log rather than a text telemetry log.
+     *
+     * @param path The path of the file to check. (not null)
+     * @return Whether the file starts with the magic number of the binary log format.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    public static boolean isBinaryLog(final Path path) throws IOException {
+        requireNonNull(path);
+
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is read or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == WriteSatelliteBinaryLog.MAGIC;
+        }
+    }
+
+    /**
+     * Reads all statuses of a binary telemetry log into one {@link SatelliteStatusBatch}, in the order they were
+     * written.
+     *
+     * @param path The path of the binary log. (not null)
+     * @return The {@link SatelliteComponentStatus}s of the binary log.
+     * @throws IOException Thrown if the file cannot be read or is not a valid binary log.
+     */
+    public SatelliteStatusBatch read(final Path path) throws IOException {
+        requireNonNull(path);
+
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch(0);
+        read(path, statuses::addAll);
+        return statuses;
+    }
+
+    /**
+     * Reads a binary telemetry log one block at a time, so that memory use does not grow with the size of the log.
+     *
+     * @param path The path of the binary log. (not null)
+     * @param blockConsumer Receives the statuses of each block in the order they were written. A new batch is given
+     *     for each block. (not null)
+     * @throws IOException Thrown if the file cannot be read or is not a valid binary log.
+     */
+    public void read(final Path path, final Consumer<SatelliteStatusBatch> blockConsumer) throws IOException {
+        requireNonNull(path);
+        requireNonNull(blockConsumer);
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(WriteSatelliteBinaryLog.BLOCK_HEADER_BYTES);
+
+            ((Buffer) header).limit(WriteSatelliteBinaryLog.HEADER_BYTES);
+            if (!readFully(channel, header) ||
+                    header.getInt(0) != WriteSatelliteBinaryLog.MAGIC) {
+                throw new IOException(path + " is not a binary telemetry log.");
+            }
+            if (header.getShort(4) != WriteSatelliteBinaryLog.VERSION) {
+                throw new IOException(path + " has an unsupported binary log version: " + header.getShort(4));
+            }
+
+            final List<SatelliteComponent> components = new ArrayList<>();
+            final ByteBuffer body = ByteBuffer.allocate(WriteSatelliteBinaryLog.BLOCK_RECORDS *
+                    (WriteSatelliteBinaryLog.COMPONENT_BYTES + WriteSatelliteBinaryLog.RECORD_BYTES));
+
+            while (true) {
+                ((Buffer) header).clear();
+                if (!readFully(channel, header)) {
+                    if (header.position() == 0) {
+                        return;
+                    }
+                    throw new EOFException(path + " ends in the middle of a block.");
+                }
+
+                final int recordCount = header.getInt(0);
+                final int componentCount = header.getInt(4);
+                final long firstTimestampMillis = header.getLong(8);
+
+                if (recordCount < 0 || recordCount > WriteSatelliteBinaryLog.BLOCK_RECORDS ||
+                        componentCount < 0 || componentCount > WriteSatelliteBinaryLog.BLOCK_RECORDS) {
+                    throw new IOException(path + " has a corrupt block at offset " +
+                            (channel.position() - header.capacity()) + ".");
+                }
+
+                final int bodyBytes = componentCount * WriteSatelliteBinaryLog.COMPONENT_BYTES +
+                        recordCount * WriteSatelliteBinaryLog.RECORD_BYTES;
+                ((Buffer) body).clear();
+                ((Buffer) body).limit(bodyBytes);
+                if (!readFully(channel, body)) {
+                    throw new EOFException(path + " ends in the middle of a block.");
+                }
+                ((Buffer) body).flip();
+
+                for (int i = 0; i < componentCount; i++) {
+                    components.add(readComponent(path, body));
+                }
+
+                blockConsumer.accept(readRecords(path, body, recordCount, firstTimestampMillis, components));
+            }
+        }
+    }
+
+    private static SatelliteComponent readComponent(final Path path, final ByteBuffer body) throws IOException {
+        final int type = body.get();
+        final int redHighLimit = body.getInt();
+        final int yellowHighLimit = body.getInt();
+        final int yellowLowLimit = body.getInt();
+        final int redLowLimit = body.getInt();
+
+        try {
+            return SatelliteComponent.newBuilder()
+                    .setComponentType(COMPONENT_TYPES[type])
+                    .setRedHighLimit(redHighLimit)
+                    .setYellowHighLimit(yellowHighLimit)
+                    .setYellowLowLimit(yellowLowLimit)
+                    .setRedLowLimit(redLowLimit)
+                    .build();
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException(path + " has a corrupt component.", e);
+        }
+    }
+
+    private static SatelliteStatusBatch readRecords(
+            final Path path,
+            final ByteBuffer body,
+            final int recordCount,
+            final long firstTimestampMillis,
+            final List<SatelliteComponent> components) throws IOException {
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch(recordCount);
+
+        long timestampMillis = firstTimestampMillis;
+        for (int i = 0; i < recordCount; i++) {
+            timestampMillis += body.getInt();
+            final int satelliteId = body.getInt();
+            final int componentRef = body.getShort() & 0xFFFF;
+            final double value = body.getDouble();
+
+            if (componentRef >= components.size()) {
+                throw new IOException(path + " references an unknown component: " + componentRef);
+            }
+            statuses.add(satelliteId, components.get(componentRef), value, timestampMillis);
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Reads until the buffer is full.
+     *
+     * @return Whether the buffer was filled before the end of the file.
+     */
+    private static boolean readFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
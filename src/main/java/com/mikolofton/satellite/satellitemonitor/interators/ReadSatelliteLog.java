@@ -0,0 +1,243 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the {@link SatelliteComponentStatus}s of a telemetry log by memory mapping the file, splitting it into
+ * newline aligned chunks and parsing the chunks in parallel. The bytes of the file are read as ASCII characters
+ * without decoding them into strings.
+ *
+ * Compressed logs cannot be memory mapped, so they are decompressed on separate threads by
+ * {@link DecompressSatelliteLog} and cut into newline aligned chunks as they are decompressed, and their chunks are
+ * parsed on the same threads as the chunks of the other logs.
+ */
+public class ReadSatelliteLog {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 1 << 28;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int COMPRESSED_CHUNK_SIZE = 1 << 20;
+
+    private final char delimiter;
+    private final int parallelism;
+    private final RecordSatelliteMetrics metrics;
+
+    /**
+     * Creates an instance of {@link ReadSatelliteLog}.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param parallelism The amount of chunks to parse at the same time. (greater than 0)
+     */
+    public ReadSatelliteLog(final char delimiter, final int parallelism) {
+        this(delimiter, parallelism, new RecordSatelliteMetrics());
+    }
+
+    /**
+     * Creates an instance of {@link ReadSatelliteLog}.
+     *
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param parallelism The amount of chunks to parse at the same time. (greater than 0)
+     * @param metrics Records the lines read and the time taken to parse each chunk. (not null)
+     */
+    public ReadSatelliteLog(final char delimiter, final int parallelism, final RecordSatelliteMetrics metrics) {
+        requireNonNull(metrics);
+        checkArgument(parallelism > 0, "The parallelism must be greater than 0.");
+
+        this.delimiter = delimiter;
+        this.parallelism = parallelism;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Reads the {@link SatelliteComponentStatus}s of a telemetry log into a {@link SatelliteStatusBatch}. Lines that
+     * cannot be parsed are skipped. The statuses are in the order they appear in the file.
+     *
+     * @param path The path of the telemetry log. (not null)
+     * @return The {@link SatelliteComponentStatus}s of the telemetry log.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    public SatelliteStatusBatch read(final Path path) throws IOException {
+        requireNonNull(path);
+        return read(Collections.singletonList(path));
+    }
+
+    /**
+     * Reads the {@link SatelliteComponentStatus}s of several telemetry logs into one {@link SatelliteStatusBatch}.
+     * The chunks of all logs share the same threads, so many small logs are read as fast as one large log. Lines
+     * that cannot be parsed are skipped. The statuses are in the order of the logs and then the order they appear in
+     * each log, so statuses of five minute intervals that span two logs end up together when the logs are given in
+     * the order they were written.
+     *
+     * @param paths The paths of the telemetry logs. (not null)
+     * @return The {@link SatelliteComponentStatus}s of the telemetry logs.
+     * @throws IOException Thrown if a file cannot be read.
+     */
+    public SatelliteStatusBatch read(final List<Path> paths) throws IOException {
+        requireNonNull(paths);
+
+        final List<FileChannel> channels = new ArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            long totalSize = 0;
+            final boolean[] compressed = new boolean[paths.size()];
+            for (int i = 0; i < paths.size(); i++) {
+                final FileChannel channel = FileChannel.open(paths.get(i), StandardOpenOption.READ);
+                channels.add(channel);
+                compressed[i] = DecompressSatelliteLog.isCompressed(paths.get(i));
+                if (!compressed[i]) {
+                    totalSize += channel.size();
+                }
+            }
+
+            final long chunkSize = Math.min(MAX_CHUNK_SIZE,
+                    Math.max(MIN_CHUNK_SIZE, totalSize / ((long) parallelism * CHUNKS_PER_THREAD) + 1));
+
+            final List<Future<SatelliteStatusBatch>> chunkStatuses = new ArrayList<>();
+            final List<Path> chunkPaths = new ArrayList<>();
+            for (int i = 0; i < paths.size(); i++) {
+                if (compressed[i]) {
+                    for (final Future<SatelliteStatusBatch> statuses : readCompressed(paths.get(i), executor)) {
+                        chunkStatuses.add(statuses);
+                        chunkPaths.add(paths.get(i));
+                    }
+                    continue;
+                }
+
+                final FileChannel channel = channels.get(i);
+                for (final long[] chunk : getChunks(channel, chunkSize)) {
+                    chunkStatuses.add(executor.submit(() -> readChunk(channel, chunk[0], chunk[1])));
+                    chunkPaths.add(paths.get(i));
+                }
+            }
+
+            // Chunks are merged in file order so that the statuses stay in file order.
+            final SatelliteStatusBatch statuses = new SatelliteStatusBatch(0);
+            for (int i = 0; i < chunkStatuses.size(); i++) {
+                try {
+                    statuses.addAll(chunkStatuses.get(i).get());
+                } catch (final ExecutionException e) {
+                    throw new IOException("Unable to read " + chunkPaths.get(i) + " due to the following error: " +
+                            e.getCause().getMessage(), e.getCause());
+                }
+            }
+
+            return statuses;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading " + paths, e);
+        } finally {
+            executor.shutdownNow();
+            for (final FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Splits a file into chunks that each end right after a line break, or at the end of the file.
+     *
+     * @param channel The channel of the file to split. (not null)
+     * @param chunkSize The size of a chunk before it is extended to the next line break.
+     * @return The start and end offset of each chunk in file order.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    private List<long[]> getChunks(final FileChannel channel, final long chunkSize) throws IOException {
+        final long size = channel.size();
+
+        final List<long[]> chunks = new ArrayList<>();
+        final ByteBuffer probe = ByteBuffer.allocate(4096);
+
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+
+            // Move the end of the chunk past the next line break so that no line is split between chunks.
+            findLineBreak:
+            while (end < size) {
+                ((Buffer) probe).clear();
+                final int read = channel.read(probe, end - 1);
+                for (int i = 0; i < read; i++) {
+                    if (ChunkSatelliteLog.isLineBreak(probe.get(i))) {
+                        end += i;
+                        break findLineBreak;
+                    }
+                }
+                end = Math.min(size, end + read);
+            }
+
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Decompresses a compressed log, submitting each line aligned chunk to the executor as it is decompressed.
+     *
+     * @param path The path of the compressed log. (not null)
+     * @param executor Parses the chunks. (not null)
+     * @return The statuses of each chunk in file order.
+     * @throws IOException Thrown if the file cannot be read or decompressed.
+     */
+    private List<Future<SatelliteStatusBatch>> readCompressed(
+            final Path path,
+            final ExecutorService executor) throws IOException {
+        final List<Future<SatelliteStatusBatch>> chunkStatuses = new ArrayList<>();
+
+        try (final InputStream in = new DecompressSatelliteLog(parallelism).open(path)) {
+            final ChunkSatelliteLog chunks = new ChunkSatelliteLog(Channels.newChannel(in), COMPRESSED_CHUNK_SIZE);
+            while (chunks.next()) {
+                final ByteBuffer chunk = ByteBuffer.wrap(chunks.getChunk(), 0, chunks.getLength());
+                chunkStatuses.add(executor.submit(() -> readChunk(chunk)));
+            }
+            return chunkStatuses;
+        }
+    }
+
+    private SatelliteStatusBatch readChunk(
+            final FileChannel channel,
+            final long start,
+            final long end) throws IOException {
+        return readChunk(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+    }
+
+    private SatelliteStatusBatch readChunk(final ByteBuffer bytes) {
+        final long startNanos = System.nanoTime();
+        final AsciiSequence chunk = new AsciiSequence(bytes);
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus(delimiter);
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+
+        // Lines are counted locally and added to the metrics once per chunk.
+        final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+        final long lines = parser.parseLines(chunk, 0, chunk.length(), parsed -> parsed.addTo(statuses), rejected);
+
+        metrics.addLinesRead(lines);
+        metrics.addLinesParsed(statuses.size());
+        metrics.addRejected(rejected);
+        metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, System.nanoTime() - startNanos);
+
+        return statuses;
+    }
+}
@@ -0,0 +1,368 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.google.gson.stream.JsonWriter;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records what the satellite monitor does: the lines it reads, parses and rejects, the statuses it evaluates by
+ * {@link SatelliteComponent.ComponentType}, the alerts it makes, and how long each {@link Stage} takes. Counters are
+ * {@link LongAdder}s, so threads can record at the same time without contending, and callers on a hot path are
+ * expected to count locally and add their counts in bulk.
+ */
+public class RecordSatelliteMetrics {
+
+    /**
+     * The stages of processing a telemetry log whose latency is recorded.
+     *
+     * PARSE - Reading and parsing lines. In follow mode this is a poll, which also evaluates the lines.
+     * GROUP - Grouping statuses by satellite.
+     * EVALUATE - Making alerts from statuses.
+     * SERIALIZE - Writing alerts as JSON.
+     */
+    public enum Stage {
+        PARSE, GROUP, EVALUATE, SERIALIZE
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder linesParsed = new LongAdder();
+    private final LongAdder unknownRejected = new LongAdder();
+    private final LongAdder alerts = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final Map<ParseSatelliteStatus.Failure, LongAdder> rejected =
+            new EnumMap<>(ParseSatelliteStatus.Failure.class);
+    private final Map<SatelliteComponent.ComponentType, LongAdder> statuses =
+            new EnumMap<>(SatelliteComponent.ComponentType.class);
+    private final Map<Stage, LatencyHistogram> latencies = new EnumMap<>(Stage.class);
+
+    /**
+     * Creates an instance of {@link RecordSatelliteMetrics} with all counts at 0.
+     */
+    public RecordSatelliteMetrics() {
+        for (final ParseSatelliteStatus.Failure failure : ParseSatelliteStatus.Failure.values()) {
+            rejected.put(failure, new LongAdder());
+        }
+        for (final SatelliteComponent.ComponentType type : SatelliteComponent.ComponentType.values()) {
+            statuses.put(type, new LongAdder());
+        }
+        for (final Stage stage : Stage.values()) {
+            latencies.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * @param count The amount of lines read, whether or not they could be parsed.
+     */
+    public void addLinesRead(final long count) {
+        linesRead.add(count);
+    }
+
+    /**
+     * @param count The amount of lines parsed into statuses.
+     */
+    public void addLinesParsed(final long count) {
+        linesParsed.add(count);
+    }
+
+    /**
+     * @param failure The reason lines could not be parsed, or null if it is not known.
+     * @param count The amount of lines that could not be parsed for the reason.
+     */
+    public void addRejected(final ParseSatelliteStatus.Failure failure, final long count) {
+        (failure == null ? unknownRejected : rejected.get(failure)).add(count);
+    }
+
+    /**
+     * @param counts The amount of lines that could not be parsed for each {@link ParseSatelliteStatus.Failure},
+     *     indexed by its ordinal. (not null)
+     */
+    public void addRejected(final long[] counts) {
+        requireNonNull(counts);
+        for (final ParseSatelliteStatus.Failure failure : ParseSatelliteStatus.Failure.values()) {
+            rejected.get(failure).add(counts[failure.ordinal()]);
+        }
+    }
+
+    /**
+     * @param type The {@link SatelliteComponent.ComponentType} of an evaluated status. (not null)
+     */
+    public void addStatus(final SatelliteComponent.ComponentType type) {
+        statuses.get(type).increment();
+    }
+
+    /**
+     * Counts the statuses of a batch that is evaluated.
+     *
+     * @param batch The statuses that are evaluated. (not null)
+     */
+    public void addStatuses(final SatelliteStatusBatch batch) {
+        requireNonNull(batch);
+
+        final long[] counts = new long[statuses.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            counts[batch.getComponentType(i).ordinal()]++;
+        }
+        for (final SatelliteComponent.ComponentType type : SatelliteComponent.ComponentType.values()) {
+            statuses.get(type).add(counts[type.ordinal()]);
+        }
+    }
+
+    /**
+     * @param count The amount of {@link SatelliteComponentAlert}s made.
+     */
+    public void addAlerts(final long count) {
+        alerts.add(count);
+    }
+
+    /**
+     * @param count The amount of statuses dropped because they arrived after the watermark of their satellite.
+     */
+    public void addLate(final long count) {
+        late.add(count);
+    }
+
+    /**
+     * @param stage The stage that was run. (not null)
+     * @param nanos How long the stage took in nanoseconds.
+     */
+    public void recordLatency(final Stage stage, final long nanos) {
+        latencies.get(stage).record(nanos);
+    }
+
+    /**
+     * @return The amount of lines read, whether or not they could be parsed.
+     */
+    public long getLinesRead() {
+        return linesRead.sum();
+    }
+
+    /**
+     * @return The amount of lines parsed into statuses.
+     */
+    public long getLinesParsed() {
+        return linesParsed.sum();
+    }
+
+    /**
+     * @param failure The reason lines could not be parsed, or null for lines whose reason is not known.
+     * @return The amount of lines that could not be parsed for the reason.
+     */
+    public long getRejected(final ParseSatelliteStatus.Failure failure) {
+        return (failure == null ? unknownRejected : rejected.get(failure)).sum();
+    }
+
+    /**
+     * @param type A {@link SatelliteComponent.ComponentType}. (not null)
+     * @return The amount of evaluated statuses of the type.
+     */
+    public long getStatuses(final SatelliteComponent.ComponentType type) {
+        return statuses.get(type).sum();
+    }
+
+    /**
+     * @return The amount of {@link SatelliteComponentAlert}s made.
+     */
+    public long getAlerts() {
+        return alerts.sum();
+    }
+
+    /**
+     * @return The amount of statuses dropped because they arrived after the watermark of their satellite.
+     */
+    public long getLate() {
+        return late.sum();
+    }
+
+    /**
+     * @param stage A stage of processing a telemetry log. (not null)
+     * @return The latencies recorded for the stage.
+     */
+    public LatencyHistogram getLatency(final Stage stage) {
+        return latencies.get(stage);
+    }
+
+    /**
+     * Writes the metrics recorded so far as a JSON object. Latencies are in microseconds.
+     *
+     * @param out The writer to write the metrics to. It is flushed but not closed. (not null)
+     * @throws IOException Thrown if the metrics cannot be written.
+     */
+    public void writeJson(final Writer out) throws IOException {
+        requireNonNull(out);
+
+        final long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        final JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+
+        json.beginObject();
+        json.name("elapsedMillis").value(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        json.name("linesRead").value(getLinesRead());
+        json.name("linesPerSecond").value(getLinesRead() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        json.name("linesParsed").value(getLinesParsed());
+
+        json.name("linesRejected").beginObject();
+        for (final ParseSatelliteStatus.Failure failure : ParseSatelliteStatus.Failure.values()) {
+            json.name(failure.name()).value(getRejected(failure));
+        }
+        json.name("UNKNOWN").value(getRejected(null));
+        json.endObject();
+
+        json.name("statuses").beginObject();
+        for (final SatelliteComponent.ComponentType type : SatelliteComponent.ComponentType.values()) {
+            json.name(type.name()).value(getStatuses(type));
+        }
+        json.endObject();
+
+        json.name("lateStatuses").value(getLate());
+        json.name("alerts").value(getAlerts());
+
+        json.name("latencyMicros").beginObject();
+        for (final Stage stage : Stage.values()) {
+            final LatencyHistogram latency = getLatency(stage);
+            json.name(stage.name()).beginObject();
+            json.name("count").value(latency.getCount());
+            json.name("mean").value(toMicros(latency.getMean()));
+            json.name("p50").value(toMicros(latency.getPercentile(50)));
+            json.name("p90").value(toMicros(latency.getPercentile(90)));
+            json.name("p99").value(toMicros(latency.getPercentile(99)));
+            json.name("max").value(toMicros(latency.getMax()));
+            json.endObject();
+        }
+        json.endObject();
+
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * @return The metrics recorded so far as a JSON object.
+     */
+    public String toJson() {
+        final StringWriter out = new StringWriter();
+        try {
+            writeJson(out);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static double toMicros(final double nanos) {
+        return Math.round(nanos / 10.0) / 100.0;
+    }
+
+    /**
+     * A histogram of latencies in nanoseconds with buckets that grow exponentially, so that any latency is recorded
+     * in constant space with a relative error of at most 12.5%. Latencies can be recorded from multiple threads.
+     */
+    public static class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Private to prevent instantiation. Histograms are created by {@link RecordSatelliteMetrics}.
+         */
+        private LatencyHistogram() { }
+
+        /**
+         * @param nanos A latency in nanoseconds. Negative latencies are recorded as 0.
+         */
+        public void record(final long nanos) {
+            final long latency = Math.max(0, nanos);
+
+            counts.incrementAndGet(getBucket(latency));
+            count.increment();
+            sum.add(latency);
+            max.accumulate(latency);
+        }
+
+        /**
+         * @return The amount of recorded latencies.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return The mean of the recorded latencies in nanoseconds, or 0 if none were recorded.
+         */
+        public double getMean() {
+            final long recorded = getCount();
+            return recorded == 0 ? 0 : (double) sum.sum() / recorded;
+        }
+
+        /**
+         * @return The largest recorded latency in nanoseconds, or 0 if none were recorded.
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * @param percentile The percentage of latencies that are at most the returned latency. (0 to 100)
+         * @return The latency in nanoseconds that the percentage of recorded latencies do not exceed, rounded up to
+         *     the end of its bucket, or 0 if none were recorded.
+         */
+        public long getPercentile(final double percentile) {
+            final long recorded = getCount();
+            if (recorded == 0) {
+                return 0;
+            }
+
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += counts.get(bucket);
+                if (seen >= rank) {
+                    return Math.min(getBucketEnd(bucket), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        /**
+         * Values below {@link #SUB_BUCKETS} each get a bucket, and every larger power of two is split into
+         * {@link #SUB_BUCKETS} buckets.
+         */
+        private static int getBucket(final long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+
+            final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long getBucketEnd(final int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+
+            final int shift = bucket / SUB_BUCKETS - 1;
+            final long start = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+            return start + (1L << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decides which recorded values of a satellite component count towards a {@link SatelliteComponentAlert} and the
+ * {@link SatelliteComponentAlert.Severity} of the alerts they make. A rule combined with {@link #anyOf} makes alerts
+ * of several severities, and each value counts towards at most one of them.
+ */
+public class SatelliteAlertRule {
+
+    /**
+     * Counts values that are below the red low limit of the component.
+     */
+    public static final SatelliteAlertRule RED_LOW = new SatelliteAlertRule(
+            SatelliteComponentAlert.Severity.RED_LOW,
+            (value, component) -> value < component.getRedLowLimit());
+
+    /**
+     * Counts values that are above the red high limit of the component.
+     */
+    public static final SatelliteAlertRule RED_HIGH = new SatelliteAlertRule(
+            SatelliteComponentAlert.Severity.RED_HIGH,
+            (value, component) -> value > component.getRedHighLimit());
+
+    /**
+     * Counts values that are below the yellow low limit of the component but not below its red low limit.
+     */
+    public static final SatelliteAlertRule YELLOW_LOW = new SatelliteAlertRule(
+            SatelliteComponentAlert.Severity.YELLOW_LOW,
+            (value, component) -> value < component.getYellowLowLimit() && value >= component.getRedLowLimit());
+
+    /**
+     * Counts values that are above the yellow high limit of the component but not above its red high limit.
+     */
+    public static final SatelliteAlertRule YELLOW_HIGH = new SatelliteAlertRule(
+            SatelliteComponentAlert.Severity.YELLOW_HIGH,
+            (value, component) -> value > component.getYellowHighLimit() && value <= component.getRedHighLimit());
+
+    private final SatelliteComponentAlert.Severity[] severities;
+    private final Condition[] conditions;
+
+    /**
+     * Creates an instance of {@link SatelliteAlertRule}.
+     *
+     * @param severity The {@link SatelliteComponentAlert.Severity} of the alerts the rule makes. (not null)
+     * @param condition Decides whether a recorded value counts towards an alert. (not null)
+     */
+    public SatelliteAlertRule(final SatelliteComponentAlert.Severity severity, final Condition condition) {
+        requireNonNull(severity);
+        requireNonNull(condition);
+
+        this.severities = new SatelliteComponentAlert.Severity[] {severity};
+        this.conditions = new Condition[] {condition};
+    }
+
+    private SatelliteAlertRule(final SatelliteComponentAlert.Severity[] severities, final Condition[] conditions) {
+        this.severities = severities;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Combines rules into one that checks a value against each of them in turn, so that the value is compared once
+     * per rule whatever the amount of severities. A value counts towards the severity of the first rule it violates.
+     *
+     * @param rules The rules to combine, each making alerts of other severities. (not null, not empty)
+     * @return The combined rule.
+     */
+    public static SatelliteAlertRule anyOf(final SatelliteAlertRule... rules) {
+        requireNonNull(rules);
+        checkArgument(rules.length > 0, "There must be at least one rule.");
+
+        final Set<SatelliteComponentAlert.Severity> seen = EnumSet.noneOf(SatelliteComponentAlert.Severity.class);
+        int count = 0;
+        for (final SatelliteAlertRule rule : rules) {
+            for (final SatelliteComponentAlert.Severity severity : rule.severities) {
+                checkArgument(seen.add(severity), "The rules must make alerts of other severities.");
+            }
+            count += rule.severities.length;
+        }
+
+        final SatelliteComponentAlert.Severity[] severities = new SatelliteComponentAlert.Severity[count];
+        final Condition[] conditions = new Condition[count];
+        int i = 0;
+        for (final SatelliteAlertRule rule : rules) {
+            System.arraycopy(rule.severities, 0, severities, i, rule.severities.length);
+            System.arraycopy(rule.conditions, 0, conditions, i, rule.conditions.length);
+            i += rule.severities.length;
+        }
+
+        return new SatelliteAlertRule(severities, conditions);
+    }
+
+    /**
+     * @return The {@link SatelliteComponentAlert.Severity} of the alerts the rule makes.
+     * @throws IllegalStateException Thrown if the rule makes alerts of several severities.
+     */
+    public SatelliteComponentAlert.Severity getSeverity() {
+        checkState(severities.length == 1, "The rule makes alerts of several severities.");
+        return severities[0];
+    }
+
+    /**
+     * @return The {@link SatelliteComponentAlert.Severity}s of the alerts the rule makes.
+     */
+    public Set<SatelliteComponentAlert.Severity> getSeverities() {
+        final Set<SatelliteComponentAlert.Severity> severitySet =
+                EnumSet.noneOf(SatelliteComponentAlert.Severity.class);
+        Collections.addAll(severitySet, severities);
+        return Collections.unmodifiableSet(severitySet);
+    }
+
+    /**
+     * @param value The recorded value.
+     * @param component The {@link SatelliteComponent} whose limits to check the value against. (not null)
+     * @return True if the value counts towards an alert, otherwise false.
+     */
+    public boolean isViolation(final double value, final SatelliteComponent component) {
+        return getViolation(value, component) != null;
+    }
+
+    /**
+     * @param value The recorded value.
+     * @param component The {@link SatelliteComponent} whose limits to check the value against. (not null)
+     * @return The {@link SatelliteComponentAlert.Severity} of the alert the value counts towards, or null if it
+     *     counts towards none.
+     */
+    public SatelliteComponentAlert.Severity getViolation(final double value, final SatelliteComponent component) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (conditions[i].test(value, component)) {
+                return severities[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decides whether a recorded value counts towards an alert, without boxing the value.
+     */
+    @FunctionalInterface
+    public interface Condition {
+        /**
+         * @param value The recorded value.
+         * @param component The {@link SatelliteComponent} whose limits to check the value against. (not null)
+         * @return True if the value counts towards an alert, otherwise false.
+         */
+        boolean test(double value, SatelliteComponent component);
+    }
+}
@@ -0,0 +1,286 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves a resident satellite monitor on a loopback TCP port, so that telemetry lines are evaluated by a process
+ * that is already running and warmed up instead of a new process per batch of lines.
+ *
+ * Clients connect and write telemetry lines. All connections feed the same {@link StreamSatelliteAlert}, so the open
+ * five minute windows of each satellite stay in memory between connections. Each alert is written back as a line of
+ * JSON on the connection whose lines completed it, as soon as the lines read with it have been evaluated. Once a
+ * client shuts down its output, its remaining lines are evaluated, their alerts are written, and the connection is
+ * closed, so a batch of lines can be sent and its alerts read to the end of the stream. Statuses held back for late
+ * arrivals stay held back for later connections. A line that grows past a mebibyte before its line break is
+ * rejected without being held in memory.
+ */
+public class ServeSatelliteAlert implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 12;
+
+    private final char delimiter;
+    private final StreamSatelliteAlert streamAlert;
+    private final RecordSatelliteMetrics metrics;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "satellite-monitor-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private final List<SatelliteComponentAlert> madeAlerts = new ArrayList<>();
+
+    /**
+     * Creates an instance of {@link ServeSatelliteAlert} listening on a loopback port. Connections are accepted once
+     * {@link #serve()} is called.
+     *
+     * @param port The port to listen on, or 0 for any free port. (not negative)
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param threshold The amount of violating statuses within a window that make an alert. (greater than 0)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive,
+     *     in milliseconds, or {@link StreamSatelliteAlert#IN_ORDER}. (not negative)
+     * @param metrics Records the lines read, the statuses evaluated and the time taken by each read. (not null)
+     * @throws IOException Thrown if the port cannot be listened on.
+     */
+    public ServeSatelliteAlert(
+            final int port,
+            final char delimiter,
+            final int threshold,
+            final StreamSatelliteAlert.Window window,
+            final long allowedLatenessMillis,
+            final RecordSatelliteMetrics metrics) throws IOException {
+        this(port, delimiter, threshold, MakeSatelliteAlert.getDefaultRules(), window, allowedLatenessMillis, metrics);
+    }
+
+    /**
+     * Creates an instance of {@link ServeSatelliteAlert} listening on a loopback port that counts statuses by the
+     * given rules. Connections are accepted once {@link #serve()} is called.
+     *
+     * @param port The port to listen on, or 0 for any free port. (not negative)
+     * @param delimiter The character used by the satellite's telemetry logs to separate data.
+     * @param threshold The amount of violating statuses within a window that make an alert. (greater than 0)
+     * @param rules The {@link SatelliteAlertRule} of each component type. (not null)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive,
+     *     in milliseconds, or {@link StreamSatelliteAlert#IN_ORDER}. (not negative)
+     * @param metrics Records the lines read, the statuses evaluated and the time taken by each read. (not null)
+     * @throws IOException Thrown if the port cannot be listened on.
+     */
+    public ServeSatelliteAlert(
+            final int port,
+            final char delimiter,
+            final int threshold,
+            final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules,
+            final StreamSatelliteAlert.Window window,
+            final long allowedLatenessMillis,
+            final RecordSatelliteMetrics metrics) throws IOException {
+        requireNonNull(rules);
+        requireNonNull(window);
+        requireNonNull(metrics);
+        checkArgument(port >= 0 && port <= 0xffff, "The port must be between 0 and 65535.");
+        checkArgument(threshold > 0, "The threshold must be greater than 0.");
+
+        this.delimiter = delimiter;
+        this.streamAlert = new StreamSatelliteAlert(threshold, rules, window, allowedLatenessMillis,
+                madeAlerts::add);
+        this.metrics = metrics;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * @return The loopback port the monitor listens on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections, each served on its own thread, until the monitor is closed.
+     *
+     * @throws IOException Thrown if a connection cannot be accepted.
+     */
+    public void serve() throws IOException {
+        while (true) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (final SocketException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+
+            sockets.add(socket);
+            connections.execute(() -> {
+                try {
+                    serve(socket);
+                } catch (final IOException e) {
+                    // The client went away, which only ends its own connection.
+                } finally {
+                    sockets.remove(socket);
+                    closeQuietly(socket);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open connections.
+     *
+     * @throws IOException Thrown if the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        for (final Socket socket : sockets) {
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Reads the telemetry lines of a connection and writes back the alerts they complete.
+     */
+    private void serve(final Socket socket) throws IOException {
+        final InputStream in = socket.getInputStream();
+        final Writer out = new BufferedWriter(
+                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        final WriteSatelliteAlert alertWriter = new WriteSatelliteAlert(out, WriteSatelliteAlert.Format.NDJSON, false);
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus(delimiter);
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+        final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+
+        byte[] pending = new byte[READ_BUFFER_SIZE];
+        int pendingLength = 0;
+        boolean skipping = false;
+        alertWriter.start();
+
+        while (true) {
+            if (pendingLength == pending.length) {
+                if (pending.length < ParseSatelliteStatus.MAX_LINE_LENGTH) {
+                    pending = Arrays.copyOf(pending,
+                            Math.min(pending.length * 2, ParseSatelliteStatus.MAX_LINE_LENGTH));
+                } else {
+                    // The partial line is too long to be a status, so it is rejected and skipped to its line break.
+                    metrics.addLinesRead(1);
+                    metrics.addRejected(ParseSatelliteStatus.Failure.LINE_LENGTH, 1);
+                    pendingLength = 0;
+                    skipping = true;
+                }
+            }
+            final int read = in.read(pending, pendingLength, pending.length - pendingLength);
+            final long startNanos = System.nanoTime();
+            final int end = read < 0 ? pendingLength : pendingLength + read;
+
+            int lineStart = 0;
+            if (skipping) {
+                while (lineStart < end && !ChunkSatelliteLog.isLineBreak(pending[lineStart])) {
+                    lineStart++;
+                }
+                skipping = lineStart == end;
+            }
+
+            // Only complete lines are evaluated, unless the client has nothing more to send. The pending bytes hold
+            // no line break, so only the bytes just read are scanned.
+            int lineEnd = end;
+            if (read >= 0) {
+                final int scanStart = Math.max(lineStart, pendingLength);
+                while (lineEnd > scanStart && !ChunkSatelliteLog.isLineBreak(pending[lineEnd - 1])) {
+                    lineEnd--;
+                }
+                if (lineEnd == scanStart) {
+                    lineEnd = lineStart;
+                }
+            }
+
+            statuses.clear();
+            Arrays.fill(rejected, 0);
+            final long lines = parser.parseLines(new AsciiSequence(ByteBuffer.wrap(pending)), lineStart, lineEnd,
+                    parsed -> parsed.addTo(statuses), rejected);
+            metrics.addLinesRead(lines);
+            metrics.addLinesParsed(statuses.size());
+            metrics.addRejected(rejected);
+            metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, System.nanoTime() - startNanos);
+
+            for (final SatelliteComponentAlert alert : evaluate(statuses)) {
+                alertWriter.write(alert);
+            }
+
+            System.arraycopy(pending, lineEnd, pending, 0, end - lineEnd);
+            pendingLength = end - lineEnd;
+
+            if (read < 0) {
+                alertWriter.close();
+                return;
+            }
+            // Alerts are sent once the client has no more lines waiting, instead of after each read.
+            if (in.available() == 0) {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Feeds statuses to the shared {@link StreamSatelliteAlert}, one connection at a time.
+     *
+     * @return The alerts the statuses completed.
+     */
+    private List<SatelliteComponentAlert> evaluate(final SatelliteStatusBatch statuses) {
+        if (statuses.size() == 0) {
+            return new ArrayList<>();
+        }
+
+        final long startNanos = System.nanoTime();
+        final List<SatelliteComponentAlert> alerts;
+        synchronized (streamAlert) {
+            for (int i = 0; i < statuses.size(); i++) {
+                streamAlert.accept(statuses.getSatelliteId(i), statuses.getComponent(i), statuses.getValue(i),
+                        statuses.getTimestampMillis(i));
+            }
+            alerts = new ArrayList<>(madeAlerts);
+            madeAlerts.clear();
+        }
+
+        metrics.addStatuses(statuses);
+        metrics.addAlerts(alerts.size());
+        metrics.recordLatency(RecordSatelliteMetrics.Stage.EVALUATE, System.nanoTime() - startNanos);
+        return alerts;
+    }
+
+    private static void closeQuietly(final Socket socket) {
+        try {
+            socket.close();
+        } catch (final IOException e) {
+            // The connection is already closed.
+        }
+    }
+}
@@ -0,0 +1,651 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.util.IntObjectMap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates {@link SatelliteComponentAlert}s from {@link SatelliteComponentStatus}s one at a time as they are read
+ * from the telemetry logs. Only the open five minute window of each satellite component is kept, so memory is
+ * bounded by the amount of satellites rather than the amount of recorded statuses.
+ *
+ * The statuses of a satellite component are expected in time order, as they are written to the telemetry logs,
+ * unless an allowed lateness is given. Statuses are then held back per satellite until its watermark, the latest
+ * timestamp seen for the satellite minus the allowed lateness, passes them, and are evaluated in time order. Statuses
+ * that arrive after the watermark passed them are late and dropped, and {@link #flush()} evaluates the statuses still
+ * held back once no more statuses will arrive.
+ *
+ * Statuses are counted towards the {@link SatelliteComponentAlert.Severity} their rule gives them, as with
+ * {@link MakeSatelliteAlert}, and each severity of a satellite component has its own windows.
+ *
+ * Timestamps are kept to the millisecond, the precision of the telemetry logs.
+ */
+public class StreamSatelliteAlert {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final SatelliteComponent.ComponentType[] COMPONENT_TYPES =
+            SatelliteComponent.ComponentType.values();
+    private static final SatelliteComponentAlert.Severity[] SEVERITIES = SatelliteComponentAlert.Severity.values();
+
+    /**
+     * The kinds of five minute windows statuses are counted in.
+     *
+     * TUMBLING - Fixed intervals aligned on the epoch, as {@link MakeSatelliteAlert#getInterval(long)} computes.
+     * SLIDING - Any five minutes, so statuses on both sides of an interval boundary count together.
+     */
+    public enum Window {
+        TUMBLING, SLIDING
+    }
+
+    /**
+     * The allowed lateness of statuses that are evaluated as they arrive, expected in time order.
+     */
+    public static final long IN_ORDER = -1;
+
+    private final MakeSatelliteAlert makeAlert;
+    private final int threshold;
+    private final Window window;
+    private final Consumer<SatelliteComponentAlert> alertConsumer;
+    private final IntObjectMap<EnumMap<SatelliteComponent.ComponentType, Interval>> intervalsById =
+            new IntObjectMap<>();
+    private final IntObjectMap<EnumMap<SatelliteComponent.ComponentType, Violations[]>> violationsById =
+            new IntObjectMap<>();
+    private final long allowedLatenessMillis;
+    private final IntObjectMap<Pending> pendingById = new IntObjectMap<>();
+    private long sequence;
+    private long lateCount;
+
+    /**
+     * Creates an instance of {@link StreamSatelliteAlert} that counts statuses in tumbling windows.
+     *
+     * @param threshold The amount of {@link SatelliteComponentStatus}s with values that are above the red high limit
+     *     or below the red low limit that will create a {@link SatelliteComponentAlert}.
+     * @param alertConsumer Receives each {@link SatelliteComponentAlert} as soon as it is made. (not null)
+     */
+    public StreamSatelliteAlert(final int threshold, final Consumer<SatelliteComponentAlert> alertConsumer) {
+        this(threshold, Window.TUMBLING, alertConsumer);
+    }
+
+    /**
+     * Creates an instance of {@link StreamSatelliteAlert}.
+     *
+     * @param threshold The amount of {@link SatelliteComponentStatus}s with values that are above the red high limit
+     *     or below the red low limit that will create a {@link SatelliteComponentAlert}. (greater than 0)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param alertConsumer Receives each {@link SatelliteComponentAlert} as soon as it is made. (not null)
+     */
+    public StreamSatelliteAlert(
+            final int threshold,
+            final Window window,
+            final Consumer<SatelliteComponentAlert> alertConsumer) {
+        this(threshold, window, IN_ORDER, alertConsumer);
+    }
+
+    /**
+     * Creates an instance of {@link StreamSatelliteAlert} for statuses that may arrive out of time order.
+     *
+     * @param threshold The amount of {@link SatelliteComponentStatus}s with values that are above the red high limit
+     *     or below the red low limit that will create a {@link SatelliteComponentAlert}. (greater than 0)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive,
+     *     in milliseconds, or {@link #IN_ORDER}. (not negative)
+     * @param alertConsumer Receives each {@link SatelliteComponentAlert} as soon as it is made. (not null)
+     */
+    public StreamSatelliteAlert(
+            final int threshold,
+            final Window window,
+            final long allowedLatenessMillis,
+            final Consumer<SatelliteComponentAlert> alertConsumer) {
+        this(threshold, MakeSatelliteAlert.getDefaultRules(), window, allowedLatenessMillis, alertConsumer);
+    }
+
+    /**
+     * Creates an instance of {@link StreamSatelliteAlert} that counts statuses by the given rules.
+     *
+     * @param threshold The amount of {@link SatelliteComponentStatus}s that count towards an alert of a severity
+     *     that will create a {@link SatelliteComponentAlert}. (greater than 0)
+     * @param rules The {@link SatelliteAlertRule} of each component type. Statuses of component types without a rule
+     *     never make alerts. (not null)
+     * @param window The kind of five minute window statuses are counted in. (not null)
+     * @param allowedLatenessMillis How long before the latest status of a satellite its statuses may still arrive,
+     *     in milliseconds, or {@link #IN_ORDER}. (not negative)
+     * @param alertConsumer Receives each {@link SatelliteComponentAlert} as soon as it is made. (not null)
+     */
+    public StreamSatelliteAlert(
+            final int threshold,
+            final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules,
+            final Window window,
+            final long allowedLatenessMillis,
+            final Consumer<SatelliteComponentAlert> alertConsumer) {
+        requireNonNull(rules);
+        requireNonNull(window);
+        requireNonNull(alertConsumer);
+        checkArgument(allowedLatenessMillis >= 0 || allowedLatenessMillis == IN_ORDER,
+                "The allowed lateness must not be negative.");
+
+        this.makeAlert = new MakeSatelliteAlert(threshold, rules);
+        this.threshold = threshold;
+        this.window = window;
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.alertConsumer = alertConsumer;
+    }
+
+    /**
+     * Adds a {@link SatelliteComponentStatus} to the open five minute window of its satellite component.
+     *
+     * @param status The next recorded {@link SatelliteComponentStatus}. (not null)
+     * @see #accept(int, SatelliteComponent, double, long)
+     */
+    public void accept(final SatelliteComponentStatus status) {
+        requireNonNull(status);
+        accept(status.getSatelliteId(), status.getComponent(), status.getValue(), status.getTimestamp().toEpochMilli());
+    }
+
+    /**
+     * Adds the data of a status to the open five minute window of its satellite component.
+     *
+     * With tumbling windows, a {@link SatelliteComponentAlert} is made as soon as the interval holds the threshold
+     * amount of statuses that count towards an alert, since the remaining statuses of the interval cannot change it.
+     * A status from a different interval closes the open one.
+     *
+     * With sliding windows, a {@link SatelliteComponentAlert} is made as soon as the threshold amount of statuses
+     * that count towards an alert were recorded less than five minutes apart. Those statuses are then cleared, so a
+     * status counts towards at most one alert.
+     *
+     * @param satelliteId The identifier of the satellite.
+     * @param component The {@link SatelliteComponent} the status belongs to. (not null)
+     * @param value The value recorded for the {@link SatelliteComponent}.
+     * @param timestampMillis The time when the value was recorded in milliseconds since the epoch.
+     */
+    public void accept(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final long timestampMillis) {
+        requireNonNull(component);
+
+        if (allowedLatenessMillis == IN_ORDER) {
+            evaluate(satelliteId, component, value, timestampMillis);
+            return;
+        }
+
+        final Pending pending = pendingById.computeIfAbsent(satelliteId, id -> new Pending());
+        if (timestampMillis < pending.watermarkMillis) {
+            lateCount++;
+            return;
+        }
+
+        pending.statuses.add(new PendingStatus(component, value, timestampMillis, sequence++));
+
+        if (timestampMillis - allowedLatenessMillis > pending.watermarkMillis) {
+            pending.watermarkMillis = timestampMillis - allowedLatenessMillis;
+            release(satelliteId, pending, pending.watermarkMillis);
+        }
+    }
+
+    /**
+     * Evaluates every status that is held back, as if the watermark of every satellite passed its latest status.
+     * Called once no more statuses will arrive, such as at the end of the telemetry logs. Statuses older than the
+     * latest flushed status of their satellite are late afterwards.
+     */
+    public void flush() {
+        pendingById.forEach((satelliteId, pending) -> {
+            while (!pending.statuses.isEmpty()) {
+                final PendingStatus status = pending.statuses.poll();
+                pending.watermarkMillis = Math.max(pending.watermarkMillis, status.timestampMillis);
+                evaluate(satelliteId, status.component, status.value, status.timestampMillis);
+            }
+        });
+    }
+
+    /**
+     * @return The amount of statuses dropped because they arrived after the watermark of their satellite passed them.
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    /**
+     * @return The amount of statuses held back until the watermark of their satellite passes them.
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (final IntObjectMap.Cursor<Pending> pending = pendingById.cursor(); pending.next(); ) {
+            count += pending.value().statuses.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return The amount of satellite components that currently have an open five minute window.
+     */
+    public int getOpenIntervalCount() {
+        return countComponents(intervalsById) + countComponents(violationsById);
+    }
+
+    /**
+     * Writes the open windows and the held back statuses of every satellite, so that {@link #readState} can continue
+     * from them in another instance with the same threshold, window and allowed lateness. The amount of late statuses
+     * is not written. The state consists of:
+     *
+     * int intervalCount, intervalCount times: int satelliteId, byte componentType, long intervalSec, one per severity:
+     * int alertCount, long firstTimestampMillis, boolean alerted
+     * int violationsCount, violationsCount times: int satelliteId, byte componentType, byte severity, int size, size
+     * times: long timestampMillis
+     * int pendingCount, pendingCount times: int satelliteId, long watermarkMillis, int size, size times: byte
+     * componentType, int redHighLimit, int yellowHighLimit, int yellowLowLimit, int redLowLimit, double value,
+     * long timestampMillis
+     *
+     * @param out Receives the state. (not null)
+     * @throws IOException Thrown if the state cannot be written.
+     */
+    public void writeState(final DataOutput out) throws IOException {
+        requireNonNull(out);
+
+        out.writeInt(countComponents(intervalsById));
+        for (final IntObjectMap.Cursor<EnumMap<SatelliteComponent.ComponentType, Interval>> intervals =
+                intervalsById.cursor(); intervals.next(); ) {
+            for (final Map.Entry<SatelliteComponent.ComponentType, Interval> entry : intervals.value().entrySet()) {
+                final Interval interval = entry.getValue();
+                out.writeInt(intervals.key());
+                out.writeByte(entry.getKey().ordinal());
+                out.writeLong(interval.intervalSec);
+                for (int s = 0; s < SEVERITIES.length; s++) {
+                    out.writeInt(interval.alertCounts[s]);
+                    out.writeLong(interval.firstTimestampMillis[s]);
+                    out.writeBoolean(interval.alerted[s]);
+                }
+            }
+        }
+
+        out.writeInt(countViolations());
+        for (final IntObjectMap.Cursor<EnumMap<SatelliteComponent.ComponentType, Violations[]>> violations =
+                violationsById.cursor(); violations.next(); ) {
+            for (final Map.Entry<SatelliteComponent.ComponentType, Violations[]> entry :
+                    violations.value().entrySet()) {
+                for (int s = 0; s < SEVERITIES.length; s++) {
+                    final Violations severityViolations = entry.getValue()[s];
+                    if (severityViolations == null) {
+                        continue;
+                    }
+                    out.writeInt(violations.key());
+                    out.writeByte(entry.getKey().ordinal());
+                    out.writeByte(s);
+                    out.writeInt(severityViolations.size);
+                    for (int i = 0; i < severityViolations.size; i++) {
+                        out.writeLong(severityViolations.timestampMillis[
+                                (severityViolations.head + i) % severityViolations.timestampMillis.length]);
+                    }
+                }
+            }
+        }
+
+        out.writeInt(pendingById.size());
+        for (final IntObjectMap.Cursor<Pending> entry = pendingById.cursor(); entry.next(); ) {
+            final PendingStatus[] statuses = entry.value().statuses.toArray(new PendingStatus[0]);
+            Arrays.sort(statuses, Pending.ORDER);
+
+            out.writeInt(entry.key());
+            out.writeLong(entry.value().watermarkMillis);
+            out.writeInt(statuses.length);
+            for (final PendingStatus status : statuses) {
+                out.writeByte(status.component.getComponentType().ordinal());
+                out.writeInt(status.component.getRedHighLimit());
+                out.writeInt(status.component.getYellowHighLimit());
+                out.writeInt(status.component.getYellowLowLimit());
+                out.writeInt(status.component.getRedLowLimit());
+                out.writeDouble(status.value);
+                out.writeLong(status.timestampMillis);
+            }
+        }
+    }
+
+    /**
+     * Adds the open windows and the held back statuses that {@link #writeState} wrote, replacing the state of the
+     * satellites they belong to. Several states may be read into the same instance, such as the states of the
+     * evaluators of a {@link PipelineSatelliteAlert}.
+     *
+     * @param in Supplies the state. (not null)
+     * @param satelliteIds Selects the satellites whose state is kept. (not null)
+     * @throws IOException Thrown if the state cannot be read or is corrupt.
+     */
+    public void readState(final DataInput in, final IntPredicate satelliteIds) throws IOException {
+        requireNonNull(in);
+        requireNonNull(satelliteIds);
+
+        try {
+            final int intervalCount = in.readInt();
+            for (int i = 0; i < intervalCount; i++) {
+                final int satelliteId = in.readInt();
+                final SatelliteComponent.ComponentType componentType = COMPONENT_TYPES[in.readByte()];
+                final Interval interval = new Interval();
+                interval.intervalSec = in.readLong();
+                for (int s = 0; s < SEVERITIES.length; s++) {
+                    interval.alertCounts[s] = in.readInt();
+                    interval.firstTimestampMillis[s] = in.readLong();
+                    interval.alerted[s] = in.readBoolean();
+                }
+
+                if (satelliteIds.test(satelliteId)) {
+                    intervalsById.computeIfAbsent(satelliteId,
+                            id -> new EnumMap<>(SatelliteComponent.ComponentType.class)).put(componentType, interval);
+                }
+            }
+
+            final int violationsCount = in.readInt();
+            for (int i = 0; i < violationsCount; i++) {
+                final int satelliteId = in.readInt();
+                final SatelliteComponent.ComponentType componentType = COMPONENT_TYPES[in.readByte()];
+                final SatelliteComponentAlert.Severity severity = SEVERITIES[in.readByte()];
+                final Violations violations = new Violations(threshold);
+                final int size = in.readInt();
+                for (int j = 0; j < size; j++) {
+                    final long timestampMillis = in.readLong();
+                    if (violations.size == violations.timestampMillis.length) {
+                        throw new IOException("The state holds more violations than the threshold.");
+                    }
+                    violations.add(timestampMillis);
+                }
+
+                if (satelliteIds.test(satelliteId)) {
+                    violationsById.computeIfAbsent(satelliteId,
+                            id -> new EnumMap<>(SatelliteComponent.ComponentType.class))
+                            .computeIfAbsent(componentType, type -> new Violations[SEVERITIES.length])
+                            [severity.ordinal()] = violations;
+                }
+            }
+
+            final int pendingCount = in.readInt();
+            for (int i = 0; i < pendingCount; i++) {
+                final int satelliteId = in.readInt();
+                final Pending pending = new Pending();
+                pending.watermarkMillis = in.readLong();
+                final int size = in.readInt();
+                for (int j = 0; j < size; j++) {
+                    final SatelliteComponent component = SatelliteComponent.newBuilder()
+                            .setComponentType(COMPONENT_TYPES[in.readByte()])
+                            .setRedHighLimit(in.readInt())
+                            .setYellowHighLimit(in.readInt())
+                            .setYellowLowLimit(in.readInt())
+                            .setRedLowLimit(in.readInt())
+                            .build();
+                    pending.statuses.add(new PendingStatus(component, in.readDouble(), in.readLong(), sequence++));
+                }
+
+                if (satelliteIds.test(satelliteId)) {
+                    pendingById.put(satelliteId, pending);
+                }
+            }
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("The state is corrupt.", e);
+        }
+    }
+
+    /**
+     * Evaluates the held back statuses of a satellite that the watermark passed, then frees the windows the
+     * watermark closed, since no status that is not late can fall in them anymore.
+     */
+    private void release(final int satelliteId, final Pending pending, final long watermarkMillis) {
+        while (!pending.statuses.isEmpty() && pending.statuses.peek().timestampMillis <= watermarkMillis) {
+            final PendingStatus status = pending.statuses.poll();
+            evaluate(satelliteId, status.component, status.value, status.timestampMillis);
+        }
+
+        final Map<SatelliteComponent.ComponentType, Interval> intervals = intervalsById.get(satelliteId);
+        if (intervals != null) {
+            intervals.values().removeIf(interval ->
+                    TimeUnit.SECONDS.toMillis(interval.intervalSec) + WINDOW_MILLIS <= watermarkMillis);
+            if (intervals.isEmpty()) {
+                intervalsById.remove(satelliteId);
+            }
+        }
+
+        final Map<SatelliteComponent.ComponentType, Violations[]> violations = violationsById.get(satelliteId);
+        if (violations != null) {
+            violations.values().removeIf(typeViolations -> expire(typeViolations, watermarkMillis - WINDOW_MILLIS));
+            if (violations.isEmpty()) {
+                violationsById.remove(satelliteId);
+            }
+        }
+    }
+
+    /**
+     * @return The amount of satellite components that have state in a map of the components of each satellite.
+     */
+    private static int countComponents(final IntObjectMap<? extends Map<?, ?>> componentsById) {
+        int count = 0;
+        for (final IntObjectMap.Cursor<? extends Map<?, ?>> components = componentsById.cursor();
+                components.next(); ) {
+            count += components.value().size();
+        }
+        return count;
+    }
+
+    /**
+     * @return The amount of satellite component severities that have violations within a sliding window.
+     */
+    private int countViolations() {
+        int count = 0;
+        for (final IntObjectMap.Cursor<EnumMap<SatelliteComponent.ComponentType, Violations[]>> violations =
+                violationsById.cursor(); violations.next(); ) {
+            for (final Violations[] typeViolations : violations.value().values()) {
+                for (final Violations severityViolations : typeViolations) {
+                    if (severityViolations != null) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Expires the violations of each severity of a satellite component, dropping the severities left without any.
+     *
+     * @return Whether no severity has violations left.
+     */
+    private static boolean expire(final Violations[] typeViolations, final long oldestMillis) {
+        boolean empty = true;
+        for (int s = 0; s < typeViolations.length; s++) {
+            if (typeViolations[s] != null) {
+                typeViolations[s].expire(oldestMillis);
+                if (typeViolations[s].size == 0) {
+                    typeViolations[s] = null;
+                } else {
+                    empty = false;
+                }
+            }
+        }
+        return empty;
+    }
+
+    private void evaluate(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final long timestampMillis) {
+        if (window == Window.SLIDING) {
+            acceptSliding(satelliteId, component, value, timestampMillis);
+        } else {
+            acceptTumbling(satelliteId, component, value, timestampMillis);
+        }
+    }
+
+    private void acceptTumbling(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final long timestampMillis) {
+        final SatelliteComponent.ComponentType componentType = component.getComponentType();
+        final long intervalSec = makeAlert.getInterval(Math.floorDiv(timestampMillis, 1000));
+
+        final Interval interval = intervalsById
+                .computeIfAbsent(satelliteId, id -> new EnumMap<>(SatelliteComponent.ComponentType.class))
+                .computeIfAbsent(componentType, type -> new Interval());
+
+        if (interval.intervalSec != intervalSec) {
+            interval.open(intervalSec);
+        }
+
+        final SatelliteComponentAlert.Severity severity = makeAlert.getViolation(componentType, value, component);
+        if (severity == null || interval.alerted[severity.ordinal()]) {
+            return;
+        }
+
+        final int s = severity.ordinal();
+        if (interval.alertCounts[s]++ == 0) {
+            interval.firstTimestampMillis[s] = timestampMillis;
+        }
+
+        if (interval.alertCounts[s] >= threshold) {
+            interval.alerted[s] = true;
+            emit(satelliteId, componentType, severity, interval.firstTimestampMillis[s]);
+        }
+    }
+
+    private void acceptSliding(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final long timestampMillis) {
+        final SatelliteComponent.ComponentType componentType = component.getComponentType();
+
+        final SatelliteComponentAlert.Severity severity = makeAlert.getViolation(componentType, value, component);
+        if (severity == null) {
+            return;
+        }
+
+        final Violations[] typeViolations = violationsById
+                .computeIfAbsent(satelliteId, id -> new EnumMap<>(SatelliteComponent.ComponentType.class))
+                .computeIfAbsent(componentType, type -> new Violations[SEVERITIES.length]);
+        if (typeViolations[severity.ordinal()] == null) {
+            typeViolations[severity.ordinal()] = new Violations(threshold);
+        }
+        final Violations violations = typeViolations[severity.ordinal()];
+
+        violations.expire(timestampMillis - WINDOW_MILLIS);
+        violations.add(timestampMillis);
+
+        if (violations.size >= threshold) {
+            emit(satelliteId, componentType, severity, violations.first());
+            violations.clear();
+        }
+    }
+
+    private void emit(
+            final int satelliteId,
+            final SatelliteComponent.ComponentType componentType,
+            final SatelliteComponentAlert.Severity severity,
+            final long firstTimestampMillis) {
+        alertConsumer.accept(SatelliteComponentAlert.newBuilder()
+                .setSatelliteId(satelliteId)
+                .setComponent(componentType.name())
+                .setSeverity(severity.toString())
+                .setTimestamp(Instant.ofEpochMilli(firstTimestampMillis).toString())
+                .build());
+    }
+
+    /**
+     * The statuses of a satellite held back until its watermark passes them, earliest first. Statuses with the same
+     * timestamp keep the order they arrived in.
+     */
+    private static class Pending {
+        private static final Comparator<PendingStatus> ORDER = Comparator
+                .comparingLong((PendingStatus status) -> status.timestampMillis)
+                .thenComparingLong(status -> status.sequence);
+
+        private final PriorityQueue<PendingStatus> statuses = new PriorityQueue<>(ORDER);
+        private long watermarkMillis = Long.MIN_VALUE;
+    }
+
+    /**
+     * A status held back until the watermark of its satellite passes it.
+     */
+    private static class PendingStatus {
+        private final SatelliteComponent component;
+        private final double value;
+        private final long timestampMillis;
+        private final long sequence;
+
+        private PendingStatus(
+                final SatelliteComponent component,
+                final double value,
+                final long timestampMillis,
+                final long sequence) {
+            this.component = component;
+            this.value = value;
+            this.timestampMillis = timestampMillis;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * The state of the open five minute interval of a satellite component, with the counted statuses of each
+     * severity.
+     */
+    private static class Interval {
+        private long intervalSec = Long.MIN_VALUE;
+        private final int[] alertCounts = new int[SEVERITIES.length];
+        private final long[] firstTimestampMillis = new long[SEVERITIES.length];
+        private final boolean[] alerted = new boolean[SEVERITIES.length];
+
+        private void open(final long intervalSec) {
+            this.intervalSec = intervalSec;
+            Arrays.fill(alertCounts, 0);
+            Arrays.fill(firstTimestampMillis, 0);
+            Arrays.fill(alerted, false);
+        }
+    }
+
+    /**
+     * The timestamps of the statuses of a satellite component that count towards an alert of a severity within the
+     * last five minutes, oldest first, in a ring buffer that holds the threshold amount of timestamps.
+     */
+    private static class Violations {
+        private final long[] timestampMillis;
+        private int head;
+        private int size;
+
+        private Violations(final int capacity) {
+            this.timestampMillis = new long[Math.max(1, capacity)];
+        }
+
+        private void expire(final long oldestMillis) {
+            while (size > 0 && timestampMillis[head] <= oldestMillis) {
+                head = (head + 1) % timestampMillis.length;
+                size--;
+            }
+        }
+
+        private void add(final long timestamp) {
+            timestampMillis[(head + size) % timestampMillis.length] = timestamp;
+            size++;
+        }
+
+        private long first() {
+            return timestampMillis[head];
+        }
+
+        private void clear() {
+            head = 0;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteJson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes {@link SatelliteComponentAlert}s as JSON one at a time as they are made, instead of building the JSON of all
+ * alerts as one string. Alerts may be written from multiple threads.
+ */
+public class WriteSatelliteAlert implements Consumer<SatelliteComponentAlert>, Closeable {
+
+    /**
+     * The JSON formats alerts can be written in.
+     *
+     * PRETTY - An indented JSON array, as the satellite monitor has always printed.
+     * COMPACT - A JSON array without whitespace.
+     * NDJSON - One JSON object per line, without an enclosing array.
+     */
+    public enum Format {
+        PRETTY, COMPACT, NDJSON
+    }
+
+    private final Writer out;
+    private final Format format;
+    private final boolean autoFlush;
+    private final Gson gson;
+    private final JsonWriter jsonWriter;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Creates an instance of {@link WriteSatelliteAlert}.
+     *
+     * @param out The writer to write the alerts to. It is flushed but not closed by {@link #close()}. (not null)
+     * @param format The JSON format to write the alerts in. (not null)
+     * @param autoFlush Whether the writer is flushed after each alert, so that each alert is seen as soon as it is
+     *     made.
+     */
+    public WriteSatelliteAlert(final Writer out, final Format format, final boolean autoFlush) {
+        requireNonNull(out);
+        requireNonNull(format);
+
+        this.out = out;
+        this.format = format;
+        this.autoFlush = autoFlush;
+        this.gson = format == Format.PRETTY ? SatelliteJson.PRETTY : SatelliteJson.COMPACT;
+
+        try {
+            this.jsonWriter = gson.newJsonWriter(out);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Top level values are written one after another in NDJSON.
+        this.jsonWriter.setLenient(format == Format.NDJSON);
+    }
+
+    /**
+     * Writes the opening of the output, which is done by the first alert if it is not called.
+     *
+     * @throws IOException Thrown if the output cannot be written.
+     */
+    public synchronized void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        if (format != Format.NDJSON) {
+            jsonWriter.beginArray();
+        }
+        if (autoFlush) {
+            jsonWriter.flush();
+        }
+    }
+
+    /**
+     * Writes a {@link SatelliteComponentAlert}.
+     *
+     * @param alert The alert to write. (not null)
+     * @throws IOException Thrown if the alert cannot be written.
+     */
+    public synchronized void write(final SatelliteComponentAlert alert) throws IOException {
+        requireNonNull(alert);
+
+        start();
+        gson.toJson(alert, SatelliteComponentAlert.class, jsonWriter);
+        if (format == Format.NDJSON) {
+            out.write('\n');
+        }
+        if (autoFlush) {
+            jsonWriter.flush();
+        }
+    }
+
+    /**
+     * Writes a {@link SatelliteComponentAlert}.
+     *
+     * @param alert The alert to write. (not null)
+     * @throws UncheckedIOException Thrown if the alert cannot be written.
+     */
+    @Override
+    public void accept(final SatelliteComponentAlert alert) {
+        try {
+            write(alert);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the closing of the output followed by a line break and flushes the writer. Alerts cannot be written
+     * afterwards.
+     *
+     * @throws IOException Thrown if the output cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        start();
+        closed = true;
+
+        if (format != Format.NDJSON) {
+            jsonWriter.endArray();
+            out.write(System.lineSeparator());
+        }
+        jsonWriter.flush();
+    }
+}
@@ -0,0 +1,205 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes {@link SatelliteComponentStatus}s in the binary telemetry log format, which {@link ReadSatelliteBinaryLog}
+ * reads without parsing any text.
+ *
+ * A binary log starts with the magic number "SATB" and a format version, followed by blocks of up to
+ * {@link #BLOCK_RECORDS} statuses. Each {@link SatelliteComponent} is written once, in the first block that uses it,
+ * and is afterwards referenced by its index in the order components were written. A block consists of:
+ *
+ * int recordCount, int componentCount, long firstTimestampMillis
+ * componentCount times: byte componentType, int redHighLimit, int yellowHighLimit, int yellowLowLimit, int redLowLimit
+ * recordCount times: int timestampDeltaMillis, int satelliteId, unsigned short componentRef, double value
+ *
+ * The timestamp of a status is stored as the difference to the timestamp of the previous status of the block, so a
+ * block ends early when that difference does not fit in an int. All numbers are big endian.
+ */
+public class WriteSatelliteBinaryLog implements Closeable {
+
+    static final int MAGIC = 0x53415442;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 4 + 2;
+    static final int BLOCK_HEADER_BYTES = 4 + 4 + 8;
+    static final int COMPONENT_BYTES = 1 + 4 * 4;
+    static final int RECORD_BYTES = 4 + 4 + 2 + 8;
+    static final int BLOCK_RECORDS = 4096;
+    static final int MAX_COMPONENTS = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+    private final ByteBuffer components = ByteBuffer.allocate(BLOCK_RECORDS * COMPONENT_BYTES);
+    private final ByteBuffer records = ByteBuffer.allocate(BLOCK_RECORDS * RECORD_BYTES);
+    private final Map<SatelliteComponent, Integer> componentRefs = new HashMap<>();
+
+    private int recordCount;
+    private int componentCount;
+    private long firstTimestampMillis;
+    private long lastTimestampMillis;
+
+    /**
+     * Creates an instance of {@link WriteSatelliteBinaryLog} that replaces the file at a path.
+     *
+     * @param path The path of the binary log to write. (not null)
+     * @throws IOException Thrown if the file cannot be created.
+     */
+    public WriteSatelliteBinaryLog(final Path path) throws IOException {
+        requireNonNull(path);
+
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        final ByteBuffer fileHeader = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION);
+        ((Buffer) fileHeader).flip();
+        writeFully(fileHeader);
+    }
+
+    /**
+     * Writes the data of a single status.
+     *
+     * @param satelliteId The identifier of the satellite.
+     * @param component The {@link SatelliteComponent} the status belongs to. (not null)
+     * @param value The value recorded for the {@link SatelliteComponent}.
+     * @param timestampMillis The time when the value was recorded in milliseconds since the epoch.
+     * @throws IOException Thrown if the status cannot be written.
+     */
+    public void write(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final long timestampMillis) throws IOException {
+        requireNonNull(component);
+        write(satelliteId, getComponentRef(component), value, timestampMillis);
+    }
+
+    /**
+     * Writes all statuses of a {@link SatelliteStatusBatch} in batch order.
+     *
+     * @param batch The statuses to write. (not null)
+     * @throws IOException Thrown if the statuses cannot be written.
+     */
+    public void write(final SatelliteStatusBatch batch) throws IOException {
+        requireNonNull(batch);
+
+        // The components of the batch are looked up once rather than once per status.
+        final int[] refs = new int[batch.getComponents().size()];
+        Arrays.fill(refs, -1);
+
+        for (int i = 0; i < batch.size(); i++) {
+            final int limitsRef = batch.getLimitsRef(i);
+            if (refs[limitsRef] < 0) {
+                refs[limitsRef] = getComponentRef(batch.getComponents().get(limitsRef));
+            }
+            write(batch.getSatelliteId(i), refs[limitsRef], batch.getValue(i), batch.getTimestampMillis(i));
+        }
+    }
+
+    /**
+     * Writes the last block and closes the file.
+     *
+     * @throws IOException Thrown if the last block cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void write(
+            final int satelliteId,
+            final int componentRef,
+            final double value,
+            final long timestampMillis) throws IOException {
+        final long delta = timestampMillis - lastTimestampMillis;
+        if (recordCount > 0 && (delta < Integer.MIN_VALUE || delta > Integer.MAX_VALUE)) {
+            flushBlock();
+        }
+        if (recordCount == 0) {
+            firstTimestampMillis = timestampMillis;
+        }
+
+        records.putInt(recordCount == 0 ? 0 : (int) delta)
+                .putInt(satelliteId)
+                .putShort((short) componentRef)
+                .putDouble(value);
+        lastTimestampMillis = timestampMillis;
+        recordCount++;
+
+        if (recordCount == BLOCK_RECORDS) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * @return The index of a component in the log, adding it to the current block if it has not been written yet.
+     */
+    private int getComponentRef(final SatelliteComponent component) throws IOException {
+        final Integer ref = componentRefs.get(component);
+        if (ref != null) {
+            return ref;
+        }
+
+        if (componentRefs.size() == MAX_COMPONENTS) {
+            throw new IOException("A binary log cannot hold more than " + MAX_COMPONENTS + " distinct components.");
+        }
+        // The component is written in the block of the first status using it, which holds at most one new
+        // component per status.
+        components.put((byte) component.getComponentType().ordinal())
+                .putInt(component.getRedHighLimit())
+                .putInt(component.getYellowHighLimit())
+                .putInt(component.getYellowLowLimit())
+                .putInt(component.getRedLowLimit());
+        componentCount++;
+
+        final int newRef = componentRefs.size();
+        componentRefs.put(component, newRef);
+        return newRef;
+    }
+
+    private void flushBlock() throws IOException {
+        if (recordCount == 0 && componentCount == 0) {
+            return;
+        }
+
+        ((Buffer) header).clear();
+        header.putInt(recordCount).putInt(componentCount).putLong(firstTimestampMillis);
+        ((Buffer) header).flip();
+        ((Buffer) components).flip();
+        ((Buffer) records).flip();
+
+        writeFully(header);
+        writeFully(components);
+        writeFully(records);
+
+        ((Buffer) components).clear();
+        ((Buffer) records).clear();
+        recordCount = 0;
+        componentCount = 0;
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package com.mikolofton.satellite.satellitemonitor.models;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.util.Objects;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -121,8 +118,7 @@ public class SatelliteComponent {
 
     @Override
     public String toString() {
-        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(this);
+        return SatelliteJson.PRETTY.toJson(this);
     }
 
     /**
@@ -1,8 +1,5 @@
 package com.mikolofton.satellite.satellitemonitor.models;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.time.Instant;
 import java.util.Objects;
 
@@ -25,7 +22,9 @@ public class SatelliteComponentAlert {
      */
     public enum Severity {
         RED_LOW("RED LOW"),
-        RED_HIGH("RED HIGH");
+        RED_HIGH("RED HIGH"),
+        YELLOW_LOW("YELLOW LOW"),
+        YELLOW_HIGH("YELLOW HIGH");
 
         private final String name;
 
@@ -115,8 +114,7 @@ public class SatelliteComponentAlert {
 
     @Override
     public String toString() {
-        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(this);
+        return SatelliteJson.PRETTY.toJson(this);
     }
 
     /**
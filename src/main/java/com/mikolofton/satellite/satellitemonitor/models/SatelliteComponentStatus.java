@@ -1,8 +1,5 @@
 package com.mikolofton.satellite.satellitemonitor.models;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.time.Instant;
 import java.util.Objects;
 
@@ -96,8 +93,7 @@ public class SatelliteComponentStatus {
 
     @Override
     public String toString() {
-        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(this);
+        return SatelliteJson.PRETTY.toJson(this);
     }
 
     /**
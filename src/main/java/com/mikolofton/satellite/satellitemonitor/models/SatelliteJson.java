@@ -0,0 +1,206 @@
+package com.mikolofton.satellite.satellitemonitor.models;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * The shared {@link Gson} instances that write and read the models as JSON.
+ *
+ * Each model has a hand-written {@link TypeAdapter}, so models are serialized without reflection and without
+ * creating a {@link Gson} per call. The adapters write the same JSON the reflective serialization wrote, with the
+ * timestamp of a {@link SatelliteComponentStatus} as its seconds and nanos.
+ */
+public final class SatelliteJson {
+
+    /**
+     * Writes and reads the models as indented JSON.
+     */
+    public static final Gson PRETTY = newGsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * Writes and reads the models as JSON without whitespace.
+     */
+    public static final Gson COMPACT = newGsonBuilder().create();
+
+    /**
+     * Private to prevent instantiation.
+     */
+    private SatelliteJson() { }
+
+    private static GsonBuilder newGsonBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(SatelliteComponent.class, new ComponentAdapter().nullSafe())
+                .registerTypeAdapter(SatelliteComponentStatus.class, new StatusAdapter().nullSafe())
+                .registerTypeAdapter(SatelliteComponentAlert.class, new AlertAdapter().nullSafe());
+    }
+
+    /**
+     * Writes and reads a {@link SatelliteComponent} as its type and limits.
+     */
+    private static class ComponentAdapter extends TypeAdapter<SatelliteComponent> {
+
+        @Override
+        public void write(final JsonWriter out, final SatelliteComponent component) throws IOException {
+            out.beginObject();
+            out.name("componentType").value(component.getComponentType().name());
+            out.name("redHighLimit").value(component.getRedHighLimit());
+            out.name("redLowLimit").value(component.getRedLowLimit());
+            out.name("yellowHighLimit").value(component.getYellowHighLimit());
+            out.name("yellowLowLimit").value(component.getYellowLowLimit());
+            out.endObject();
+        }
+
+        @Override
+        public SatelliteComponent read(final JsonReader in) throws IOException {
+            final SatelliteComponent.Builder builder = SatelliteComponent.newBuilder();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "componentType":
+                        builder.setComponentType(SatelliteComponent.ComponentType.valueOf(in.nextString()));
+                        break;
+                    case "redHighLimit":
+                        builder.setRedHighLimit(in.nextInt());
+                        break;
+                    case "redLowLimit":
+                        builder.setRedLowLimit(in.nextInt());
+                        break;
+                    case "yellowHighLimit":
+                        builder.setYellowHighLimit(in.nextInt());
+                        break;
+                    case "yellowLowLimit":
+                        builder.setYellowLowLimit(in.nextInt());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return builder.build();
+        }
+    }
+
+    /**
+     * Writes and reads a {@link SatelliteComponentStatus} with its component nested.
+     */
+    private static class StatusAdapter extends TypeAdapter<SatelliteComponentStatus> {
+
+        private final ComponentAdapter componentAdapter = new ComponentAdapter();
+
+        @Override
+        public void write(final JsonWriter out, final SatelliteComponentStatus status) throws IOException {
+            out.beginObject();
+            out.name("satelliteId").value(status.getSatelliteId());
+            out.name("component");
+            componentAdapter.write(out, status.getComponent());
+            out.name("value").value(status.getValue());
+            out.name("timestamp").beginObject();
+            out.name("seconds").value(status.getTimestamp().getEpochSecond());
+            out.name("nanos").value(status.getTimestamp().getNano());
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public SatelliteComponentStatus read(final JsonReader in) throws IOException {
+            final SatelliteComponentStatus.Builder builder = SatelliteComponentStatus.newBuilder();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "satelliteId":
+                        builder.setSatelliteId(in.nextInt());
+                        break;
+                    case "component":
+                        builder.setComponent(componentAdapter.read(in));
+                        break;
+                    case "value":
+                        builder.setValue(in.nextDouble());
+                        break;
+                    case "timestamp":
+                        builder.setTimestamp(readTimestamp(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return builder.build();
+        }
+
+        private static Instant readTimestamp(final JsonReader in) throws IOException {
+            long seconds = 0;
+            long nanos = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "seconds":
+                        seconds = in.nextLong();
+                        break;
+                    case "nanos":
+                        nanos = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return Instant.ofEpochSecond(seconds, nanos);
+        }
+    }
+
+    /**
+     * Writes and reads a {@link SatelliteComponentAlert} in the format the satellite monitor prints alerts in.
+     */
+    private static class AlertAdapter extends TypeAdapter<SatelliteComponentAlert> {
+
+        @Override
+        public void write(final JsonWriter out, final SatelliteComponentAlert alert) throws IOException {
+            out.beginObject();
+            out.name("satelliteId").value(alert.getSatelliteId());
+            out.name("severity").value(alert.getSeverity());
+            out.name("component").value(alert.getComponent());
+            out.name("timestamp").value(alert.getTimestamp());
+            out.endObject();
+        }
+
+        @Override
+        public SatelliteComponentAlert read(final JsonReader in) throws IOException {
+            final SatelliteComponentAlert.Builder builder = SatelliteComponentAlert.newBuilder();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "satelliteId":
+                        builder.setSatelliteId(in.nextInt());
+                        break;
+                    case "severity":
+                        builder.setSeverity(in.nextString());
+                        break;
+                    case "component":
+                        builder.setComponent(in.nextString());
+                        break;
+                    case "timestamp":
+                        builder.setTimestamp(in.nextString());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return builder.build();
+        }
+    }
+}
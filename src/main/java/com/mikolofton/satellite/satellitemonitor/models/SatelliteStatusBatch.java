@@ -0,0 +1,223 @@
+package com.mikolofton.satellite.satellitemonitor.models;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A batch of {@link SatelliteComponentStatus} data stored column by column in primitive arrays. Each
+ * {@link SatelliteComponent} is stored once and referenced by index, so a reading takes a few primitive slots instead
+ * of several objects.
+ */
+public class SatelliteStatusBatch {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final SatelliteComponent.ComponentType[] COMPONENT_TYPES =
+            SatelliteComponent.ComponentType.values();
+
+    private long[] timestampMillis;
+    private int[] satelliteId;
+    private double[] value;
+    private byte[] componentType;
+    private int[] limitsRef;
+    private int size;
+
+    private final List<SatelliteComponent> components = new ArrayList<>();
+    private final Map<SatelliteComponent, Integer> componentRefs = new HashMap<>();
+
+    /**
+     * Creates an empty instance of {@link SatelliteStatusBatch}.
+     */
+    public SatelliteStatusBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty instance of {@link SatelliteStatusBatch}.
+     *
+     * @param capacity The amount of statuses the batch holds before growing. (not negative)
+     */
+    public SatelliteStatusBatch(final int capacity) {
+        checkArgument(capacity >= 0, "The capacity must not be negative.");
+
+        this.timestampMillis = new long[capacity];
+        this.satelliteId = new int[capacity];
+        this.value = new double[capacity];
+        this.componentType = new byte[capacity];
+        this.limitsRef = new int[capacity];
+    }
+
+    /**
+     * Adds the data of a single status to the batch.
+     *
+     * @param satelliteId The identifier of the satellite.
+     * @param component The {@link SatelliteComponent} the status belongs to. (not null)
+     * @param value The value recorded for the {@link SatelliteComponent}.
+     * @param timestampMillis The time when the value was recorded in milliseconds since the epoch.
+     */
+    public void add(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final long timestampMillis) {
+        requireNonNull(component);
+
+        if (size == this.satelliteId.length) {
+            grow(size + 1);
+        }
+
+        this.timestampMillis[size] = timestampMillis;
+        this.satelliteId[size] = satelliteId;
+        this.value[size] = value;
+        this.componentType[size] = (byte) component.getComponentType().ordinal();
+        this.limitsRef[size] = getComponentRef(component);
+        size++;
+    }
+
+    /**
+     * Adds a {@link SatelliteComponentStatus} to the batch.
+     *
+     * @param status The status to add. (not null)
+     */
+    public void add(final SatelliteComponentStatus status) {
+        requireNonNull(status);
+        add(status.getSatelliteId(), status.getComponent(), status.getValue(), status.getTimestamp().toEpochMilli());
+    }
+
+    /**
+     * Appends all statuses of another batch after the statuses of this batch.
+     *
+     * @param other The batch whose statuses to append. (not null)
+     */
+    public void addAll(final SatelliteStatusBatch other) {
+        requireNonNull(other);
+
+        if (size + other.size > satelliteId.length) {
+            grow(size + other.size);
+        }
+
+        final int[] refs = new int[other.components.size()];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = getComponentRef(other.components.get(i));
+        }
+
+        System.arraycopy(other.timestampMillis, 0, timestampMillis, size, other.size);
+        System.arraycopy(other.satelliteId, 0, satelliteId, size, other.size);
+        System.arraycopy(other.value, 0, value, size, other.size);
+        System.arraycopy(other.componentType, 0, componentType, size, other.size);
+        for (int i = 0; i < other.size; i++) {
+            limitsRef[size + i] = refs[other.limitsRef[i]];
+        }
+        size += other.size;
+    }
+
+    /**
+     * Removes all statuses from the batch, keeping its capacity so that it can be filled again without growing.
+     */
+    public void clear() {
+        size = 0;
+        components.clear();
+        componentRefs.clear();
+    }
+
+    /**
+     * @return The amount of statuses in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The time the value of the status was recorded in milliseconds since the epoch.
+     */
+    public long getTimestampMillis(final int index) {
+        return timestampMillis[index];
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The identifier of the satellite of the status.
+     */
+    public int getSatelliteId(final int index) {
+        return satelliteId[index];
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The value recorded for the status.
+     */
+    public double getValue(final int index) {
+        return value[index];
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The {@link SatelliteComponent.ComponentType} of the status.
+     */
+    public SatelliteComponent.ComponentType getComponentType(final int index) {
+        return COMPONENT_TYPES[componentType[index]];
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The index of the {@link SatelliteComponent} of the status within {@link #getComponents()}.
+     */
+    public int getLimitsRef(final int index) {
+        return limitsRef[index];
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The {@link SatelliteComponent} of the status.
+     */
+    public SatelliteComponent getComponent(final int index) {
+        return components.get(limitsRef[index]);
+    }
+
+    /**
+     * @return The distinct {@link SatelliteComponent}s referenced by the statuses of the batch.
+     */
+    public List<SatelliteComponent> getComponents() {
+        return components;
+    }
+
+    /**
+     * @param index The index of a status in the batch.
+     * @return The status at the index as a {@link SatelliteComponentStatus}.
+     */
+    public SatelliteComponentStatus toStatus(final int index) {
+        return SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(satelliteId[index])
+                .setComponent(getComponent(index))
+                .setValue(value[index])
+                .setTimestamp(Instant.ofEpochMilli(timestampMillis[index]))
+                .build();
+    }
+
+    private int getComponentRef(final SatelliteComponent component) {
+        Integer ref = componentRefs.get(component);
+        if (ref == null) {
+            ref = components.size();
+            components.add(component);
+            componentRefs.put(component, ref);
+        }
+        return ref;
+    }
+
+    private void grow(final int minCapacity) {
+        final int capacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, satelliteId.length * 2));
+
+        timestampMillis = Arrays.copyOf(timestampMillis, capacity);
+        satelliteId = Arrays.copyOf(satelliteId, capacity);
+        value = Arrays.copyOf(value, capacity);
+        componentType = Arrays.copyOf(componentType, capacity);
+        limitsRef = Arrays.copyOf(limitsRef, capacity);
+    }
+}
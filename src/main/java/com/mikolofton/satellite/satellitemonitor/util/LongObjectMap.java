@@ -0,0 +1,276 @@
+package com.mikolofton.satellite.satellitemonitor.util;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A map from primitive long keys, such as the starts of five minute intervals, to values. The keys are stored in an
+ * open addressing table with linear probing, so adding an entry allocates neither a boxed key nor an entry node, and
+ * looking up a key reads neighbouring slots of two arrays instead of following a chain of nodes.
+ *
+ * Values may not be null, since an empty slot is marked by a null value. Instances are not thread safe.
+ *
+ * @param <V> The type of the values.
+ */
+public final class LongObjectMap<V> {
+
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty instance of {@link LongObjectMap}.
+     */
+    public LongObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty instance of {@link LongObjectMap} that holds an amount of entries without growing.
+     *
+     * @param expectedSize The amount of entries expected. (not negative)
+     */
+    public LongObjectMap(final int expectedSize) {
+        checkArgument(expectedSize >= 0, "The expected size must not be negative.");
+        allocate(IntObjectMap.tableSize(expectedSize));
+    }
+
+    /**
+     * @return The amount of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether there are no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The value of the key, or null if the key has no value.
+     */
+    public V get(final long key) {
+        for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return Whether the key has a value.
+     */
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key The key to set the value of.
+     * @param value The value of the key. (not null)
+     * @return The previous value of the key, or null if it had none.
+     */
+    public V put(final long key, final V value) {
+        requireNonNull(value);
+
+        int slot = slot(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                final V previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+
+        insert(slot, key, value);
+        return null;
+    }
+
+    /**
+     * Returns the value of a key, first setting it to a new value if the key has none.
+     *
+     * @param key The key to look up.
+     * @param newValue Creates the value of a key that has none. It must not return null. (not null)
+     * @return The value of the key.
+     */
+    public V computeIfAbsent(final long key, final LongFunction<? extends V> newValue) {
+        int slot = slot(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+
+        final V value = requireNonNull(newValue.apply(key));
+        insert(slot, key, value);
+        return value;
+    }
+
+    /**
+     * Removes the value of a key.
+     *
+     * @param key The key to remove the value of.
+     * @return The removed value, or null if the key had none.
+     */
+    public V remove(final long key) {
+        for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                final V previous = values[slot];
+                delete(slot);
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes every entry, keeping the capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Passes each entry to a consumer, in no particular order. Entries may not be added or removed meanwhile.
+     *
+     * @param consumer Receives each key and its value. (not null)
+     */
+    public void forEach(final EntryConsumer<? super V> consumer) {
+        requireNonNull(consumer);
+
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return A cursor over the entries in no particular order, for loops that throw checked exceptions. Entries may
+     *     not be added or removed while it is used.
+     */
+    public Cursor<V> cursor() {
+        return new Cursor<>(this);
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return ((int) (hash >>> 32) ^ (int) hash) & mask;
+    }
+
+    private void insert(final int slot, final long key, final V value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (mask + 1) * 3 / 4) {
+            rehash(values.length * 2);
+        }
+    }
+
+    /**
+     * Empties a slot, moving back the entries after it that would otherwise no longer be found by probing.
+     */
+    private void delete(int slot) {
+        size--;
+        for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            final int home = slot(keys[next]);
+            // The entry can move into the empty slot if its home is not cyclically between the two slots.
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        values[slot] = null;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final V[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Receives the entries of an {@link LongObjectMap}.
+     *
+     * @param <V> The type of the values.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * @param key The key of the entry.
+         * @param value The value of the entry.
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * Moves over the entries of an {@link LongObjectMap}. Call {@link #next()} before reading the first entry.
+     *
+     * @param <V> The type of the values.
+     */
+    public static final class Cursor<V> {
+        private final LongObjectMap<V> map;
+        private int slot = -1;
+
+        private Cursor(final LongObjectMap<V> map) {
+            this.map = map;
+        }
+
+        /**
+         * @return Whether the cursor moved to another entry, or false once there are no more entries.
+         */
+        public boolean next() {
+            while (++slot < map.values.length) {
+                if (map.values[slot] != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return The key of the current entry.
+         */
+        public long key() {
+            return map.keys[slot];
+        }
+
+        /**
+         * @return The value of the current entry.
+         */
+        public V value() {
+            return map.values[slot];
+        }
+    }
+}
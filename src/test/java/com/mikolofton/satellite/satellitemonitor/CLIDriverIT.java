@@ -1,19 +1,45 @@
 package com.mikolofton.satellite.satellitemonitor;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Integration tests for satellite monitor's {@link CLIDriver}.
  */
 public class CLIDriverIT {
 
+    private static final String EXPECTED = "[\n" +
+        "  {\n" +
+        "    \"satelliteId\": 1000,\n" +
+        "    \"severity\": \"RED HIGH\",\n" +
+        "    \"component\": \"TSTAT\",\n" +
+        "    \"timestamp\": \"2018-01-01T23:01:38.001Z\"\n" +
+        "  },\n" +
+        "  {\n" +
+        "    \"satelliteId\": 1000,\n" +
+        "    \"severity\": \"RED LOW\",\n" +
+        "    \"component\": \"BATT\",\n" +
+        "    \"timestamp\": \"2018-01-01T23:01:09.521Z\"\n" +
+        "  }\n" +
+        "]";
+
     private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
     private final PrintStream sysOut = System.out;
 
@@ -34,21 +60,201 @@ public class CLIDriverIT {
 
         CLIDriver.main(arguments);
 
-        final String expected = "[\n" +
-            "  {\n" +
-            "    \"satelliteId\": 1000,\n" +
-            "    \"severity\": \"RED HIGH\",\n" +
-            "    \"component\": \"TSTAT\",\n" +
-            "    \"timestamp\": \"2018-01-01T23:01:38.001Z\"\n" +
-            "  },\n" +
-            "  {\n" +
-            "    \"satelliteId\": 1000,\n" +
-            "    \"severity\": \"RED LOW\",\n" +
-            "    \"component\": \"BATT\",\n" +
-            "    \"timestamp\": \"2018-01-01T23:01:09.521Z\"\n" +
-            "  }\n" +
-            "]";
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_stream() {
+        String filePath = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        String[] arguments = new String[] {"--stream", filePath};
+
+        CLIDriver.main(arguments);
+
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_mmap() {
+        String filePath = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        String[] arguments = new String[] {"--mmap", filePath};
+
+        CLIDriver.main(arguments);
+
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_sliding() {
+        String filePath = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        String[] arguments = new String[] {"--stream", "--window=sliding", filePath};
+
+        CLIDriver.main(arguments);
+
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_allSeverities() {
+        String filePath = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        String[] arguments = new String[] {"--stream", "--all-severities", filePath};
+
+        CLIDriver.main(arguments);
+
+        // Satellite 1001 has two thermostat values above the yellow high limit, one short of an alert.
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_ndjson() {
+        String filePath = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        String[] arguments = new String[] {"--stream", "--format=ndjson", filePath};
+
+        CLIDriver.main(arguments);
+
+        assertEquals("{\"satelliteId\":1000,\"severity\":\"RED HIGH\",\"component\":\"TSTAT\"," +
+            "\"timestamp\":\"2018-01-01T23:01:38.001Z\"}\n" +
+            "{\"satelliteId\":1000,\"severity\":\"RED LOW\",\"component\":\"BATT\"," +
+            "\"timestamp\":\"2018-01-01T23:01:09.521Z\"}", outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_directory(@TempDir final Path tempDir) throws Exception {
+        final URL resource = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log"));
+        final List<String> lines = Files.readAllLines(Paths.get(resource.toURI()));
+
+        // The five minute intervals of the alerts span both files.
+        Files.write(tempDir.resolve("satellite-1.log"), lines.subList(0, 8));
+        Files.write(tempDir.resolve("satellite-2.log"), lines.subList(8, lines.size()));
+
+        CLIDriver.main(new String[] {tempDir.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+
+        outContent.reset();
+        CLIDriver.main(new String[] {"--stream", tempDir + File.separator + "satellite-*.log"});
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_binary(@TempDir final Path tempDir) {
+        final String filePath =
+            Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        final Path binaryLog = tempDir.resolve("satellite.satb");
+
+        CLIDriver.main(new String[] {"--convert=" + binaryLog, filePath});
+        assertEquals("", outContent.toString());
+
+        CLIDriver.main(new String[] {binaryLog.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+
+        outContent.reset();
+        CLIDriver.main(new String[] {"--stream", binaryLog.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_compressed(@TempDir final Path tempDir) throws Exception {
+        final URL resource = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log"));
+        final Path compressedLog = tempDir.resolve("satellite.log.gz");
+        try (final OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressedLog))) {
+            out.write(Files.readAllBytes(Paths.get(resource.toURI())));
+        }
+
+        CLIDriver.main(new String[] {compressedLog.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+
+        outContent.reset();
+        CLIDriver.main(new String[] {"--stream", compressedLog.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+
+        outContent.reset();
+        CLIDriver.main(new String[] {"--mmap", compressedLog.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_query(@TempDir final Path tempDir) throws Exception {
+        final URL resource = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log"));
+        final Path log = Files.copy(Paths.get(resource.toURI()), tempDir.resolve("satellite.log"));
+
+        CLIDriver.main(new String[] {"--from=2018-01-01T23:04:00Z", "--to=2018-01-01T23:04:00Z", log.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+        assertTrue(Files.exists(tempDir.resolve("satellite.log.idx")));
+
+        outContent.reset();
+        CLIDriver.main(new String[] {"--satellite=1001", log.toString()});
+        assertEquals("[]", outContent.toString().trim());
+
+        outContent.reset();
+        CLIDriver.main(new String[] {"--from=2018-01-01T23:05:00Z", log.toString()});
+        assertEquals("[]", outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_queryDirectory(@TempDir final Path tempDir) throws Exception {
+        final URL resource = Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log"));
+        final List<String> lines = Files.readAllLines(Paths.get(resource.toURI()));
+        Files.write(tempDir.resolve("satellite-1.log"), lines.subList(0, 8));
+        Files.write(tempDir.resolve("satellite-2.log"), lines.subList(8, lines.size()));
+        final String[] arguments =
+            new String[] {"--from=2018-01-01T23:04:00Z", "--to=2018-01-01T23:04:00Z", tempDir.toString()};
+
+        // The indexes stored by the first query are not read as logs by the second.
+        CLIDriver.main(arguments);
+        outContent.reset();
+        CLIDriver.main(arguments);
+        assertEquals(EXPECTED, outContent.toString().trim());
+        try (final Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(4, files.count());
+        }
+
+        outContent.reset();
+        CLIDriver.main(new String[] {tempDir.toString()});
+        assertEquals(EXPECTED, outContent.toString().trim());
+    }
+
+    @Test
+    public void testSatelliteMonitor_invalidNumber(@TempDir final Path tempDir) throws Exception {
+        final Path log = tempDir.resolve("bad.log");
+        Files.write(log, ("20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n" +
+            "20180101 23:01:10.521|1000|abc|15|9|8|7.8|BATT\n").getBytes(StandardCharsets.UTF_8));
+        final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        final PrintStream sysErr = System.err;
+
+        // The default path rejects the line and keeps going, as the chunked reader does.
+        System.setErr(new PrintStream(errContent));
+        try {
+            CLIDriver.main(new String[] {"--metrics", log.toString()});
+            final String output = outContent.toString();
+            assertTrue(errContent.toString().contains("\"linesRead\": 2,"));
+            assertTrue(errContent.toString().contains("\"LIMITS\": 1,"));
+
+            outContent.reset();
+            errContent.reset();
+            CLIDriver.main(new String[] {"--metrics", "--mmap", log.toString()});
+            assertEquals(output, outContent.toString());
+            assertTrue(errContent.toString().contains("\"LIMITS\": 1,"));
+        } finally {
+            System.setErr(sysErr);
+        }
+    }
+
+    @Test
+    public void testSatelliteMonitor_metrics() {
+        final String filePath =
+            Objects.requireNonNull(getClass().getClassLoader().getResource("satellite.log")).getPath();
+        final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        final PrintStream sysErr = System.err;
+
+        System.setErr(new PrintStream(errContent));
+        try {
+            CLIDriver.main(new String[] {"--metrics", filePath});
+        } finally {
+            System.setErr(sysErr);
+        }
 
-        assertEquals(expected, outContent.toString().trim());
+        // The metrics do not mix with the alerts.
+        assertEquals(EXPECTED, outContent.toString().trim());
+        assertTrue(errContent.toString().contains("\"linesRead\": 14,"));
+        assertTrue(errContent.toString().contains("\"alerts\": 2,"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.mikolofton.satellite.satellitemonitor;
+
+import com.mikolofton.satellite.satellitemonitor.interators.StreamSatelliteAlert;
+import com.mikolofton.satellite.satellitemonitor.interators.WriteSatelliteAlert;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CLIOptions}.
+ */
+public class CLIOptionsTest {
+
+    @Test
+    public void testParse() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"satellite.log"});
+
+        assertEquals("satellite.log", options.getFilePath());
+        assertFalse(options.isStream());
+        assertEquals(StreamSatelliteAlert.Window.TUMBLING, options.getWindow());
+    }
+
+    @Test
+    public void testParse_window() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--window=sliding", "satellite.log"});
+
+        assertEquals(StreamSatelliteAlert.Window.SLIDING, options.getWindow());
+    }
+
+    @Test
+    public void testParse_lateness() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--lateness=60", "satellite.log"});
+
+        assertEquals(OptionalLong.of(60000), options.getAllowedLatenessMillis());
+        assertEquals(OptionalLong.empty(), CLIOptions.parse(new String[] {"satellite.log"}).getAllowedLatenessMillis());
+    }
+
+    @Test
+    public void testParse_allSeverities() {
+        assertTrue(CLIOptions.parse(new String[] {"--all-severities", "satellite.log"}).isAllSeverities());
+        assertTrue(CLIOptions.parse(new String[] {"--serve=7070", "--all-severities"}).isAllSeverities());
+        assertFalse(CLIOptions.parse(new String[] {"satellite.log"}).isAllSeverities());
+    }
+
+    @Test
+    public void testParse_format() {
+        assertEquals(WriteSatelliteAlert.Format.PRETTY, CLIOptions.parse(new String[] {"a.log"}).getFormat());
+        assertEquals(WriteSatelliteAlert.Format.NDJSON,
+            CLIOptions.parse(new String[] {"--format=ndjson", "a.log"}).getFormat());
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--format=xml", "a.log"}));
+    }
+
+    @Test
+    public void testParse_stream() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--stream", "satellite.log"});
+
+        assertEquals("satellite.log", options.getFilePath());
+        assertTrue(options.isStream());
+    }
+
+    @Test
+    public void testParse_checkpoint() {
+        final CLIOptions options =
+            CLIOptions.parse(new String[] {"--stream", "--checkpoint=run.ckpt", "--resume", "satellite.log"});
+
+        assertEquals(Optional.of("run.ckpt"), options.getCheckpointPath());
+        assertTrue(options.isResume());
+        assertEquals(Optional.empty(), CLIOptions.parse(new String[] {"satellite.log"}).getCheckpointPath());
+        assertFalse(CLIOptions.parse(new String[] {"satellite.log"}).isResume());
+    }
+
+    @Test
+    public void testParse_mmap() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--mmap", "--threads=8", "satellite.log"});
+
+        assertTrue(options.isMmap());
+        assertEquals(8, options.getThreads());
+    }
+
+    @Test
+    public void testParse_follow() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--follow", "satellite.log"});
+
+        assertTrue(options.isFollow());
+        assertFalse(options.isStream());
+    }
+
+    @Test
+    public void testParse_serve() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--serve=7070", "--lateness=10"});
+
+        assertEquals(OptionalInt.of(7070), options.getServePort());
+        assertNull(options.getFilePath());
+        assertEquals(OptionalInt.empty(), CLIOptions.parse(new String[] {"satellite.log"}).getServePort());
+        assertThrows(IllegalArgumentException.class,
+            () -> CLIOptions.parse(new String[] {"--serve=7070", "satellite.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--serve=7070", "--stream"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--serve=70000"}));
+    }
+
+    @Test
+    public void testParse_convert() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--convert=satellite.satb", "satellite.log"});
+
+        assertEquals(Optional.of("satellite.satb"), options.getConvertPath());
+        assertEquals(Optional.empty(), CLIOptions.parse(new String[] {"satellite.log"}).getConvertPath());
+    }
+
+    @Test
+    public void testParse_query() {
+        final CLIOptions options = CLIOptions.parse(new String[] {"--satellite=1000", "--from=2018-01-01T23:00:00Z",
+            "--to=2018-01-01T23:30:00Z", "satellite.log"});
+
+        assertTrue(options.isQuery());
+        assertEquals(OptionalInt.of(1000), options.getSatelliteId());
+        assertEquals(Optional.of(Instant.parse("2018-01-01T23:00:00Z")), options.getFrom());
+        assertEquals(Optional.of(Instant.parse("2018-01-01T23:30:00Z")), options.getTo());
+        assertFalse(CLIOptions.parse(new String[] {"satellite.log"}).isQuery());
+    }
+
+    @Test
+    public void testParse_metrics() {
+        assertTrue(CLIOptions.parse(new String[] {"--metrics", "satellite.log"}).isMetrics());
+        assertFalse(CLIOptions.parse(new String[] {"satellite.log"}).isMetrics());
+    }
+
+    @Test
+    public void testParse_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"a.log", "b.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--unknown", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--threads=0", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--stream", "--mmap", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--window=hop", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--lateness=-1", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--lateness=x", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--checkpoint=run.ckpt", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--stream", "--resume", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--follow", "--mmap", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--convert=", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--stream", "--convert=a.satb", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () -> CLIOptions.parse(new String[] {"--from=today", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--from=2018-01-02T00:00:00Z", "--to=2018-01-01T00:00:00Z", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--window=sliding", "--from=2018-01-01T00:00:00Z", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--window=sliding", "--to=2018-01-01T00:00:00Z", "a.log"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            CLIOptions.parse(new String[] {"--follow", "--satellite=1000", "a.log"}));
+    }
+}
@@ -0,0 +1,91 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CheckpointSatelliteAlert}.
+ */
+public class CheckpointSatelliteAlertTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWrite() throws Exception {
+        final Path path = tempDir.resolve("run.ckpt");
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(path, 0);
+
+        checkpoint.write(new CheckpointSatelliteAlert.Checkpoint(3, 0x21, StreamSatelliteAlert.Window.SLIDING, 60_000,
+            1, "logs/second.log", 262144, Arrays.asList(new byte[] {1, 2, 3}, new byte[0])));
+
+        final CheckpointSatelliteAlert.Checkpoint read = checkpoint.read().get();
+        assertEquals(3, read.getThreshold());
+        assertEquals(0x21, read.getSeverityMask());
+        assertEquals(StreamSatelliteAlert.Window.SLIDING, read.getWindow());
+        assertEquals(60_000, read.getAllowedLatenessMillis());
+        assertEquals(1, read.getFileIndex());
+        assertEquals("logs/second.log", read.getFilePath());
+        assertEquals(262144, read.getOffset());
+        assertEquals(2, read.getStates().size());
+        assertArrayEquals(new byte[] {1, 2, 3}, read.getStates().get(0));
+        assertArrayEquals(new byte[0], read.getStates().get(1));
+        assertFalse(Files.exists(tempDir.resolve("run.ckpt.tmp")));
+    }
+
+    @Test
+    public void testRead_missing() throws Exception {
+        assertEquals(Optional.empty(), new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), 0).read());
+    }
+
+    @Test
+    public void testRead_invalid() throws Exception {
+        final Path path = tempDir.resolve("run.ckpt");
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(path, 0);
+
+        Files.write(path, "20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT".getBytes());
+        assertThrows(IOException.class, checkpoint::read);
+
+        checkpoint.write(new CheckpointSatelliteAlert.Checkpoint(3, 0x21, StreamSatelliteAlert.Window.TUMBLING,
+            StreamSatelliteAlert.IN_ORDER, 0, "satellite.log", 0, Arrays.asList(new byte[] {1, 2, 3})));
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, checkpoint::read);
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        final Path path = tempDir.resolve("run.ckpt");
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(path, 0);
+        checkpoint.write(new CheckpointSatelliteAlert.Checkpoint(3, 0x21, StreamSatelliteAlert.Window.TUMBLING,
+            StreamSatelliteAlert.IN_ORDER, 0, "satellite.log", 0, Arrays.asList(new byte[0])));
+
+        checkpoint.delete();
+
+        assertFalse(Files.exists(path));
+        assertEquals(Optional.empty(), checkpoint.read());
+    }
+
+    @Test
+    public void testIsDue() throws Exception {
+        assertTrue(new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), 0).isDue());
+
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), 60_000);
+        assertFalse(checkpoint.isDue());
+    }
+
+    @Test
+    public void testNew_invalid() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), -1));
+        assertThrows(NullPointerException.class, () -> new CheckpointSatelliteAlert(null, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ChunkSatelliteLog}.
+ */
+public class ChunkSatelliteLogTest {
+
+    private static ChunkSatelliteLog chunker(final String log, final int chunkSize) {
+        return new ChunkSatelliteLog(
+            Channels.newChannel(new ByteArrayInputStream(log.getBytes(StandardCharsets.US_ASCII))), chunkSize);
+    }
+
+    private static List<String> chunks(final String log, final int chunkSize) throws IOException {
+        final ChunkSatelliteLog chunks = chunker(log, chunkSize);
+        final List<String> result = new ArrayList<>();
+        while (chunks.next()) {
+            result.add(new String(chunks.getChunk(), 0, chunks.getLength(), StandardCharsets.US_ASCII));
+        }
+        return result;
+    }
+
+    @Test
+    public void testNext_newlines() throws IOException {
+        assertEquals(Arrays.asList("aaa\nbb\n", "cccc\ndd\n", "e"), chunks("aaa\nbb\ncccc\ndd\ne", 8));
+    }
+
+    @Test
+    public void testNext_carriageReturns() throws IOException {
+        assertEquals(Arrays.asList("aaa\rbb\r", "cccc\rdd\r", "e"), chunks("aaa\rbb\rcccc\rdd\re", 8));
+        assertEquals(Arrays.asList("aaa\r\nbb\r", "\ncccc\r\n"), chunks("aaa\r\nbb\r\ncccc\r\n", 8));
+    }
+
+    @Test
+    public void testNext_longLine() throws IOException {
+        // A line longer than the chunk size grows the chunk instead of being split.
+        assertEquals(Arrays.asList("aaaaaaaaaaaa\n", "bbbbbb\n"), chunks("aaaaaaaaaaaa\nbbbbbb\n", 4));
+        assertEquals(Collections.singletonList("aaaaaaaaaaaa"), chunks("aaaaaaaaaaaa", 4));
+    }
+
+    @Test
+    public void testNext_empty() throws IOException {
+        final ChunkSatelliteLog chunks = chunker("", 8);
+
+        assertFalse(chunks.next());
+        assertFalse(chunks.next());
+        assertThrows(IllegalStateException.class, chunks::getChunk);
+    }
+
+    @Test
+    public void testGetEndOffset() throws IOException {
+        final ChunkSatelliteLog chunks = chunker("aaa\nbb\ncccc\ndd\ne", 8);
+
+        assertTrue(chunks.next());
+        assertEquals(7, chunks.getEndOffset());
+        assertTrue(chunks.next());
+        assertEquals(15, chunks.getEndOffset());
+        assertTrue(chunks.next());
+        assertEquals(16, chunks.getEndOffset());
+        assertFalse(chunks.next());
+    }
+
+    @Test
+    public void testChunks_fresh() throws IOException {
+        // Each chunk is its own array, so reading on does not change a chunk that was handed out.
+        final ChunkSatelliteLog chunks = chunker("aaa\nbb\ncccc\ndd", 8);
+
+        assertTrue(chunks.next());
+        final byte[] first = chunks.getChunk();
+        assertTrue(chunks.next());
+
+        assertNotSame(first, chunks.getChunk());
+        assertEquals("aaa\nbb\n", new String(first, 0, 7, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testConstructor_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> chunker("", 0));
+        assertThrows(NullPointerException.class, () -> new ChunkSatelliteLog(null, 8));
+    }
+}
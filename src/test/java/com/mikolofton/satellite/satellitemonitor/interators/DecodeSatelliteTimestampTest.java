@@ -0,0 +1,92 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DecodeSatelliteTimestamp}.
+ */
+public class DecodeSatelliteTimestampTest {
+
+    private static long millis(final String timestamp) {
+        return Instant.parse(timestamp).toEpochMilli();
+    }
+
+    @Test
+    public void testDecode() {
+        final DecodeSatelliteTimestamp timestamps = new DecodeSatelliteTimestamp();
+
+        assertEquals(millis("2018-01-01T23:01:05.001Z"), timestamps.decode("20180101 23:01:05.001"));
+        assertEquals(millis("2018-01-01T23:01:09.521Z"), timestamps.decode("20180101 23:01:09.521"));
+        assertEquals(millis("2018-01-01T23:02:00.000Z"), timestamps.decode("20180101 23:02:00.000"));
+        assertEquals(millis("2016-02-29T00:00:59.999Z"), timestamps.decode("20160229 00:00:59.999"));
+    }
+
+    @Test
+    public void testDecode_offsets() {
+        final String line = "20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT";
+
+        assertEquals(millis("2018-01-01T23:01:05.001Z"),
+            new DecodeSatelliteTimestamp().decode(line, 0, line.indexOf('|')));
+    }
+
+    @Test
+    public void testDecode_dateFormat() {
+        final DecodeSatelliteTimestamp timestamps = new DecodeSatelliteTimestamp();
+
+        // Timestamps outside the usual shape are decoded as SimpleDateFormat decodes them.
+        assertEquals(millis("2018-01-01T23:01:05.001Z"), timestamps.decode("20180101 23:1:5.1"));
+        assertEquals(millis("2018-03-02T00:00:00.000Z"), timestamps.decode("20180229 24:00:00.000"));
+        assertEquals(millis("2018-01-01T23:01:05.001Z"),
+            timestamps.decode("20180101 23:01:05.001 trailing"));
+    }
+
+    @Test
+    public void testDecode_invalid() {
+        final DecodeSatelliteTimestamp timestamps = new DecodeSatelliteTimestamp();
+
+        assertEquals(DecodeSatelliteTimestamp.INVALID, timestamps.decode(""));
+        assertEquals(DecodeSatelliteTimestamp.INVALID, timestamps.decode("not a timestamp"));
+        assertEquals(DecodeSatelliteTimestamp.INVALID, timestamps.decode("2018-01-01 23:01:05.001"));
+    }
+
+    @Test
+    public void testDecode_shared() throws Exception {
+        final DecodeSatelliteTimestamp timestamps = new DecodeSatelliteTimestamp();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int hour = thread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        final String timestamp = String.format("20180101 %02d:%02d:%02d.%03d",
+                            hour, (i / 60) % 60, i % 60, i % 1000);
+                        final long expected = millis(String.format("2018-01-01T%02d:%02d:%02d.%03dZ",
+                            hour, (i / 60) % 60, i % 60, i % 1000));
+
+                        if (timestamps.decode(timestamp) != expected) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
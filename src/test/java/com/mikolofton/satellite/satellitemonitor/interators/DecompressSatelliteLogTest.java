@@ -0,0 +1,187 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DecompressSatelliteLog}.
+ */
+public class DecompressSatelliteLogTest {
+
+    private static final int BLOCK_SIZE = 0xff00;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testOpen() throws Exception {
+        final byte[] log = makeLog(20000);
+        final Path compressed = tempDir.resolve("satellite.log.gz");
+        writeCompressed(compressed, log);
+
+        assertTrue(DecompressSatelliteLog.isCompressed(compressed));
+        assertFalse(DecompressSatelliteLog.isBlockCompressed(compressed));
+        assertArrayEquals(log, readAll(new DecompressSatelliteLog(2).open(compressed)));
+    }
+
+    @Test
+    public void testOpen_concatenated() throws Exception {
+        final byte[] log = makeLog(2000);
+        final Path compressed = tempDir.resolve("satellite.log.gz");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(log, 0, 1000);
+        }
+        try (final OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(log, 1000, log.length - 1000);
+        }
+        Files.write(compressed, bytes.toByteArray());
+
+        assertArrayEquals(log, readAll(new DecompressSatelliteLog(2).open(compressed)));
+    }
+
+    @Test
+    public void testOpen_blockCompressed() throws Exception {
+        final byte[] log = makeLog(20000);
+        final Path compressed = tempDir.resolve("satellite.log.bgz");
+        writeBlockCompressed(compressed, log);
+
+        assertTrue(DecompressSatelliteLog.isCompressed(compressed));
+        assertTrue(DecompressSatelliteLog.isBlockCompressed(compressed));
+        assertArrayEquals(log, readAll(new DecompressSatelliteLog(3).open(compressed)));
+
+        // Block compressed logs are valid gzip, so they can also be inflated by any gzip reader.
+        assertArrayEquals(log, readAll(new GZIPInputStream(Files.newInputStream(compressed))));
+    }
+
+    @Test
+    public void testOpen_corruptBlock() throws Exception {
+        final Path compressed = tempDir.resolve("satellite.log.bgz");
+        writeBlockCompressed(compressed, makeLog(20000));
+        final byte[] bytes = Files.readAllBytes(compressed);
+        bytes[100] ^= 0x55;
+        Files.write(compressed, bytes);
+
+        assertThrows(IOException.class, () -> readAll(new DecompressSatelliteLog(2).open(compressed)));
+    }
+
+    @Test
+    public void testOpen_truncated() throws Exception {
+        final Path blockCompressed = tempDir.resolve("satellite.log.bgz");
+        writeBlockCompressed(blockCompressed, makeLog(20000));
+        final byte[] blockBytes = Files.readAllBytes(blockCompressed);
+        Files.write(blockCompressed, Arrays.copyOf(blockBytes, blockBytes.length / 2));
+
+        final Path compressed = tempDir.resolve("satellite.log.gz");
+        writeCompressed(compressed, makeLog(20000));
+        final byte[] bytes = Files.readAllBytes(compressed);
+        Files.write(compressed, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(IOException.class, () -> readAll(new DecompressSatelliteLog(2).open(blockCompressed)));
+        assertThrows(IOException.class, () -> readAll(new DecompressSatelliteLog(2).open(compressed)));
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        final Path compressed = tempDir.resolve("satellite.log.bgz");
+        writeBlockCompressed(compressed, makeLog(20000));
+
+        final InputStream in = new DecompressSatelliteLog(2).open(compressed);
+        assertTrue(in.read() >= 0);
+        in.close();
+
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testIsCompressed() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, makeLog(10));
+
+        assertFalse(DecompressSatelliteLog.isCompressed(log));
+        assertFalse(DecompressSatelliteLog.isBlockCompressed(log));
+        assertFalse(DecompressSatelliteLog.isCompressed(tempDir));
+        assertFalse(DecompressSatelliteLog.isCompressed(tempDir.resolve("missing.log.gz")));
+    }
+
+    @Test
+    public void testNew_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new DecompressSatelliteLog(0));
+    }
+
+    static byte[] makeLog(final int lines) {
+        final StringBuilder log = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            log.append(String.format("20180101 %02d:%02d:%02d.%03d|%d|17|15|9|8|%d.%d|BATT\n",
+                i / 36000, (i / 600) % 60, (i / 10) % 60, i % 1000, 1000 + i % 13, 5 + i % 10, i % 10));
+        }
+        return log.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void writeCompressed(final Path path, final byte[] log) throws IOException {
+        try (final OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(log);
+        }
+    }
+
+    /**
+     * Writes a log in the BGZF layout, ending with the empty block that marks the end of the log.
+     */
+    static void writeBlockCompressed(final Path path, final byte[] log) throws IOException {
+        try (final OutputStream out = Files.newOutputStream(path)) {
+            for (int start = 0; start < log.length; start += BLOCK_SIZE) {
+                out.write(makeBlock(Arrays.copyOfRange(log, start, Math.min(log.length, start + BLOCK_SIZE))));
+            }
+            out.write(makeBlock(new byte[0]));
+        }
+    }
+
+    private static byte[] makeBlock(final byte[] data) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        final byte[] deflated = new byte[data.length + 1024];
+        final int deflatedLength = deflater.deflate(deflated);
+        deflater.end();
+
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+
+        final ByteBuffer block = ByteBuffer.allocate(18 + deflatedLength + 8).order(ByteOrder.LITTLE_ENDIAN);
+        block.put(new byte[] {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0});
+        block.putShort((short) (block.capacity() - 1));
+        block.put(deflated, 0, deflatedLength);
+        block.putInt((int) crc.getValue());
+        block.putInt(data.length);
+        return block.array();
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        try (final InputStream stream = in) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
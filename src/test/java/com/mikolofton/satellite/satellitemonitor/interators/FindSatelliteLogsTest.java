@@ -0,0 +1,71 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FindSatelliteLogs}.
+ */
+public class FindSatelliteLogsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path first;
+    private Path second;
+    private Path nested;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        second = Files.createFile(tempDir.resolve("2018010101.log"));
+        first = Files.createFile(tempDir.resolve("2018010100.log"));
+        Files.createFile(tempDir.resolve("notes.txt"));
+        nested = Files.createFile(Files.createDirectory(tempDir.resolve("constellation")).resolve("2018010100.log"));
+    }
+
+    @Test
+    public void testFind_file() throws Exception {
+        assertEquals(Arrays.asList(first), new FindSatelliteLogs().find(first.toString()));
+    }
+
+    @Test
+    public void testFind_directory() throws Exception {
+        assertEquals(Arrays.asList(first, second, nested, tempDir.resolve("notes.txt")),
+            new FindSatelliteLogs().find(tempDir.toString()));
+    }
+
+    @Test
+    public void testFind_glob() throws Exception {
+        assertEquals(Arrays.asList(first, second),
+            new FindSatelliteLogs().find(tempDir + File.separator + "*.log"));
+        assertEquals(Arrays.asList(nested),
+            new FindSatelliteLogs().find(tempDir + File.separator + "*" + File.separator + "*.log"));
+    }
+
+    @Test
+    public void testFind_indexes() throws Exception {
+        Files.createFile(IndexSatelliteLog.getIndexPath(first));
+
+        assertEquals(Arrays.asList(first, second, nested, tempDir.resolve("notes.txt")),
+            new FindSatelliteLogs().find(tempDir.toString()));
+        assertEquals(Arrays.asList(first, second),
+            new FindSatelliteLogs().find(tempDir + File.separator + "2018*"));
+    }
+
+    @Test
+    public void testFind_none() {
+        assertThrows(NoSuchFileException.class, () ->
+            new FindSatelliteLogs().find(tempDir.resolve("missing.log").toString()));
+        assertThrows(NoSuchFileException.class, () ->
+            new FindSatelliteLogs().find(tempDir + File.separator + "*.gz"));
+    }
+}
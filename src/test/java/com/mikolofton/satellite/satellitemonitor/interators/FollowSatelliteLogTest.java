@@ -0,0 +1,148 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FollowSatelliteLog}.
+ */
+public class FollowSatelliteLogTest {
+
+    private static final String BATT_1 = "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n";
+    private static final String BATT_2 = "20180101 23:02:11.302|1000|17|15|9|8|7.7|BATT\n";
+    private static final String BATT_3 = "20180101 23:04:11.531|1000|17|15|9|8|7.9|BATT\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+
+    private void append(final Path log, final String lines) throws Exception {
+        Files.write(log, lines.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private FollowSatelliteLog newFollowLog(final Path log) {
+        return new FollowSatelliteLog(log, '|', new StreamSatelliteAlert(3, alerts::add));
+    }
+
+    @Test
+    public void testPoll() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        append(log, BATT_1);
+
+        try (final FollowSatelliteLog followLog = newFollowLog(log)) {
+            assertEquals(1, followLog.poll());
+            assertEquals(0, followLog.poll());
+
+            // The last line is only read once its line break is appended.
+            append(log, BATT_2 + BATT_3.substring(0, 20));
+            assertEquals(1, followLog.poll());
+            assertTrue(alerts.isEmpty());
+
+            append(log, BATT_3.substring(20));
+            assertEquals(1, followLog.poll());
+            assertEquals(1, alerts.size());
+            assertEquals("2018-01-01T23:01:09.521Z", alerts.get(0).getTimestamp());
+            assertEquals(Files.size(log), followLog.getPosition());
+        }
+    }
+
+    @Test
+    public void testPoll_missing() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+
+        try (final FollowSatelliteLog followLog = newFollowLog(log)) {
+            assertEquals(0, followLog.poll());
+
+            append(log, BATT_1 + BATT_2 + BATT_3);
+            assertEquals(3, followLog.poll());
+            assertEquals(1, alerts.size());
+        }
+    }
+
+    @Test
+    public void testPoll_truncated() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        append(log, BATT_1 + BATT_2);
+
+        try (final FollowSatelliteLog followLog = newFollowLog(log)) {
+            assertEquals(2, followLog.poll());
+
+            Files.write(log, BATT_3.getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals(1, followLog.poll());
+            assertEquals(BATT_3.length(), followLog.getPosition());
+            assertEquals(1, alerts.size());
+        }
+    }
+
+    @Test
+    public void testPoll_rotated() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        append(log, BATT_1);
+
+        try (final FollowSatelliteLog followLog = newFollowLog(log)) {
+            assertEquals(1, followLog.poll());
+
+            // Lines written to the old file before it was moved are still read.
+            append(log, BATT_2.trim());
+            Files.move(log, tempDir.resolve("satellite.log.1"));
+            append(log, BATT_3);
+
+            assertEquals(2, followLog.poll());
+            assertEquals(BATT_3.length(), followLog.getPosition());
+            assertEquals(1, alerts.size());
+        }
+    }
+
+    @Test
+    public void testPoll_metrics() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        append(log, BATT_1 + "20180101 23:01:09.521|1000|17|15|9|8|7.8|FUEL\n");
+
+        try (final FollowSatelliteLog followLog =
+                 new FollowSatelliteLog(log, '|', new StreamSatelliteAlert(3, alerts::add), metrics)) {
+            assertEquals(2, followLog.poll());
+        }
+
+        assertEquals(2, metrics.getLinesRead());
+        assertEquals(1, metrics.getLinesParsed());
+        assertEquals(1, metrics.getRejected(ParseSatelliteStatus.Failure.COMPONENT_TYPE));
+        assertEquals(1, metrics.getStatuses(SatelliteComponent.ComponentType.BATT));
+    }
+
+    @Test
+    public void testPoll_longLine() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        final StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i <= ParseSatelliteStatus.MAX_LINE_LENGTH; i++) {
+            longLine.append('x');
+        }
+        append(log, BATT_1 + longLine);
+
+        try (final FollowSatelliteLog followLog =
+                 new FollowSatelliteLog(log, '|', new StreamSatelliteAlert(3, alerts::add), metrics)) {
+            // The long line is rejected before its line break, and the rest of it is skipped.
+            assertEquals(2, followLog.poll());
+            append(log, "xxx\r" + BATT_2 + BATT_3);
+            assertEquals(2, followLog.poll());
+            assertEquals(1, alerts.size());
+        }
+
+        assertEquals(4, metrics.getLinesRead());
+        assertEquals(3, metrics.getLinesParsed());
+        assertEquals(1, metrics.getRejected(ParseSatelliteStatus.Failure.LINE_LENGTH));
+    }
+}
@@ -0,0 +1,116 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IndexSatelliteLog}.
+ */
+public class IndexSatelliteLogTest {
+
+    private static final String LOG = "20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\r\n" +
+        "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n" +
+        "not a status\n" +
+        "20180101 23:12:26.011|1001|101|98|25|20|99.8|TSTAT\n" +
+        "20180101 23:11:38.001|1001|101|98|25|20|102.9|TSTAT";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBuild() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, LOG.getBytes(StandardCharsets.UTF_8));
+
+        final List<IndexSatelliteLog.Block> blocks = new IndexSatelliteLog('|', 2).build(log);
+
+        assertEquals(3, blocks.size());
+        assertEquals(0, blocks.get(0).getStart());
+        assertEquals(LOG.indexOf("not a status"), blocks.get(0).getEnd());
+        assertEquals(blocks.get(0).getEnd(), blocks.get(1).getStart());
+        assertEquals(LOG.indexOf("20180101 23:11"), blocks.get(1).getEnd());
+        assertEquals(LOG.length(), blocks.get(2).getEnd());
+
+        assertEquals(1514847665001L, blocks.get(0).getMinTimestampMillis());
+        assertEquals(1514847669521L, blocks.get(0).getMaxTimestampMillis());
+        assertTrue(blocks.get(0).mayContain(1000));
+        assertTrue(blocks.get(0).mayContain(1001));
+
+        // The timestamps of a block need not be in order.
+        assertEquals(1514848298001L, blocks.get(2).getMinTimestampMillis());
+        assertTrue(blocks.get(2).mayContain(1001));
+        assertFalse(blocks.get(2).mayContain(1000));
+    }
+
+    @Test
+    public void testBuild_carriageReturns() throws Exception {
+        final String log = LOG.replace("\r\n", "\r").replace('\n', '\r');
+        final Path path = tempDir.resolve("satellite.log");
+        Files.write(path, log.getBytes(StandardCharsets.UTF_8));
+
+        final List<IndexSatelliteLog.Block> blocks = new IndexSatelliteLog('|', 2).build(path);
+
+        assertEquals(3, blocks.size());
+        assertEquals(log.indexOf("not a status"), blocks.get(0).getEnd());
+        assertEquals(log.indexOf("20180101 23:11"), blocks.get(1).getEnd());
+        assertEquals(1514847665001L, blocks.get(0).getMinTimestampMillis());
+        assertEquals(1514848298001L, blocks.get(2).getMinTimestampMillis());
+    }
+
+    @Test
+    public void testBuild_empty() throws Exception {
+        final Path log = Files.createFile(tempDir.resolve("satellite.log"));
+
+        assertTrue(new IndexSatelliteLog('|').build(log).isEmpty());
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, LOG.getBytes(StandardCharsets.UTF_8));
+        final Path indexPath = IndexSatelliteLog.getIndexPath(log);
+
+        assertEquals(tempDir.resolve("satellite.log.idx"), indexPath);
+
+        final List<IndexSatelliteLog.Block> blocks = new IndexSatelliteLog('|', 2).index(log);
+        assertTrue(Files.exists(indexPath));
+
+        // The stored index is loaded as long as the log is unchanged.
+        final List<IndexSatelliteLog.Block> loaded = new IndexSatelliteLog('|', 2).index(log);
+        assertEquals(blocks.size(), loaded.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            assertEquals(blocks.get(i).getEnd(), loaded.get(i).getEnd());
+            assertEquals(blocks.get(i).getMinTimestampMillis(), loaded.get(i).getMinTimestampMillis());
+        }
+
+        Files.write(log, (LOG + "\n" + LOG).getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(log, FileTime.fromMillis(0));
+        assertEquals(5, new IndexSatelliteLog('|', 2).index(log).size());
+
+        Files.write(indexPath, new byte[] {1, 2, 3});
+        assertEquals(5, new IndexSatelliteLog('|', 2).index(log).size());
+    }
+
+    @Test
+    public void testIndex_indexFile() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, LOG.getBytes(StandardCharsets.UTF_8));
+        final Path indexPath = IndexSatelliteLog.getIndexPath(log);
+        new IndexSatelliteLog('|', 2).index(log);
+
+        assertFalse(IndexSatelliteLog.isIndexPath(log));
+        assertTrue(IndexSatelliteLog.isIndexPath(indexPath));
+
+        // An index is never indexed in turn.
+        new IndexSatelliteLog('|', 2).index(indexPath);
+        assertFalse(Files.exists(IndexSatelliteLog.getIndexPath(indexPath)));
+    }
+}
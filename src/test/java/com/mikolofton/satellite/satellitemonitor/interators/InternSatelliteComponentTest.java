@@ -0,0 +1,68 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link InternSatelliteComponent}.
+ */
+public class InternSatelliteComponentTest {
+
+    @Test
+    public void testIntern() {
+        final InternSatelliteComponent components = new InternSatelliteComponent(16);
+
+        final SatelliteComponent tstat = components.intern(SatelliteComponent.ComponentType.TSTAT, 101, 98, 25, 20);
+        final SatelliteComponent batt = components.intern(SatelliteComponent.ComponentType.BATT, 17, 15, 9, 8);
+
+        assertEquals(SatelliteComponent.newBuilder()
+            .setComponentType(SatelliteComponent.ComponentType.TSTAT)
+            .setRedHighLimit(101)
+            .setYellowHighLimit(98)
+            .setYellowLowLimit(25)
+            .setRedLowLimit(20)
+            .build(), tstat);
+        assertSame(tstat, components.intern(SatelliteComponent.ComponentType.TSTAT, 101, 98, 25, 20));
+        assertSame(batt, components.intern(SatelliteComponent.ComponentType.BATT, 17, 15, 9, 8));
+        assertNotSame(tstat, components.intern(SatelliteComponent.ComponentType.BATT, 101, 98, 25, 20));
+    }
+
+    @Test
+    public void testIntern_component() {
+        final InternSatelliteComponent components = new InternSatelliteComponent(16);
+        final SatelliteComponent batt = components.intern(SatelliteComponent.ComponentType.BATT, 17, 15, 9, 8);
+
+        assertSame(batt, components.intern(SatelliteComponent.newBuilder()
+            .setComponentType(SatelliteComponent.ComponentType.BATT)
+            .setRedHighLimit(17)
+            .setYellowHighLimit(15)
+            .setYellowLowLimit(9)
+            .setRedLowLimit(8)
+            .build()));
+    }
+
+    @Test
+    public void testIntern_bounded() {
+        final InternSatelliteComponent components = new InternSatelliteComponent(1);
+
+        for (int i = 2; i < 1000; i++) {
+            final SatelliteComponent component =
+                components.intern(SatelliteComponent.ComponentType.TSTAT, i, i, 1, 1);
+
+            assertEquals(i, component.getRedHighLimit());
+            assertSame(component, components.intern(SatelliteComponent.ComponentType.TSTAT, i, i, 1, 1));
+        }
+    }
+
+    @Test
+    public void testIntern_invalid() {
+        final InternSatelliteComponent components = new InternSatelliteComponent(16);
+
+        assertThrows(IllegalArgumentException.class, () -> new InternSatelliteComponent(0));
+        assertThrows(NullPointerException.class, () -> components.intern(null, 101, 98, 25, 20));
+        assertThrows(IllegalArgumentException.class, () ->
+            components.intern(SatelliteComponent.ComponentType.TSTAT, 20, 98, 25, 101));
+    }
+}
@@ -5,10 +5,15 @@ import com.google.common.collect.Sets;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -166,6 +171,152 @@ public class MakeSatelliteAlertTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    public void testMakeAlerts_rules() {
+        final Map<SatelliteComponent.ComponentType, SatelliteAlertRule> rules = new HashMap<>();
+        rules.put(SatelliteComponent.ComponentType.TSTAT, new SatelliteAlertRule(
+            SatelliteComponentAlert.Severity.RED_LOW, (value, component) -> value < component.getYellowLowLimit()));
+
+        final List<SatelliteComponentStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            statuses.add(SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(tstatComponent)
+                .setValue(24.5)
+                .setTimestamp(Instant.parse("2018-01-01T23:01:09.521Z").plusSeconds(i))
+                .build());
+            statuses.add(SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(battComponent)
+                .setValue(7.8)
+                .setTimestamp(Instant.parse("2018-01-01T23:01:09.521Z").plusSeconds(i))
+                .build());
+        }
+
+        final Set<SatelliteComponentAlert> expected = Sets.newHashSet(
+            SatelliteComponentAlert.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(SatelliteComponent.ComponentType.TSTAT.name())
+                .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
+                .setTimestamp("2018-01-01T23:01:09.521Z")
+                .build());
+
+        final MakeSatelliteAlert makeAlert = new MakeSatelliteAlert(3, rules);
+
+        assertEquals(expected, makeAlert.makeAlerts(1000, statuses));
+        assertFalse(makeAlert.isAlertCondition(SatelliteComponent.ComponentType.BATT, statuses.get(1)));
+        assertThrows(IllegalArgumentException.class, () ->
+            makeAlert.getSeverity(SatelliteComponent.ComponentType.BATT));
+    }
+
+    @Test
+    public void testMakeAlerts_batch() {
+        final MakeSatelliteAlert makeAlert = new MakeSatelliteAlert(3);
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch();
+        final Map<Integer, List<SatelliteComponentStatus>> statusesById = new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            final SatelliteComponentStatus status = SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(1000 + i % 3)
+                .setComponent(i % 2 == 0 ? battComponent : tstatComponent)
+                .setValue(i % 2 == 0 ? 5 + i % 7 : 95 + i % 11)
+                .setTimestamp(Instant.parse("2018-01-01T23:00:00.000Z").plusMillis(i * 1537L))
+                .build();
+
+            batch.add(status);
+            statusesById.computeIfAbsent(status.getSatelliteId(), id -> new ArrayList<>()).add(status);
+        }
+
+        final Set<SatelliteComponentAlert> expected = new HashSet<>();
+        statusesById.forEach((id, statuses) -> expected.addAll(makeAlert.makeAlerts(id, statuses)));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, makeAlert.makeAlerts(batch));
+    }
+
+    @Test
+    public void testMakeAlerts_outOfOrder() {
+        final MakeSatelliteAlert makeAlert = new MakeSatelliteAlert(3);
+        final List<SatelliteComponentStatus> statuses = ImmutableList.of(
+            SatelliteComponentStatus.newBuilder().setSatelliteId(1000).setComponent(battComponent).setValue(7.7)
+                .setTimestamp(Instant.parse("2018-01-01T23:02:11.302Z")).build(),
+            SatelliteComponentStatus.newBuilder().setSatelliteId(1000).setComponent(battComponent).setValue(7.9)
+                .setTimestamp(Instant.parse("2018-01-01T23:04:11.531Z")).build(),
+            SatelliteComponentStatus.newBuilder().setSatelliteId(1000).setComponent(battComponent).setValue(7.8)
+                .setTimestamp(Instant.parse("2018-01-01T23:01:09.521Z")).build());
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch();
+        statuses.forEach(batch::add);
+
+        final Set<SatelliteComponentAlert> expected = Sets.newHashSet(SatelliteComponentAlert.newBuilder()
+            .setSatelliteId(1000)
+            .setComponent(SatelliteComponent.ComponentType.BATT.name())
+            .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
+            .setTimestamp("2018-01-01T23:01:09.521Z")
+            .build());
+
+        // The earliest counted status makes the alert, whatever order the statuses arrived in.
+        assertEquals(expected, makeAlert.makeAlerts(1000, statuses));
+        assertEquals(expected, makeAlert.makeAlerts(batch));
+        assertEquals(Optional.of(Instant.parse("2018-01-01T23:01:09.521Z")),
+            makeAlert.getAlertTimestamp(SatelliteComponent.ComponentType.BATT, statuses));
+    }
+
+    @Test
+    public void testMakeAlerts_allRules() {
+        final MakeSatelliteAlert makeAlert = new MakeSatelliteAlert(3, MakeSatelliteAlert.getAllRules());
+        final double[] battValues = {7.8, 8.5, 16.1, 7.7, 8.2, 17.5, 7.9, 8.9, 15.5};
+        final List<SatelliteComponentStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < battValues.length; i++) {
+            statuses.add(SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(battComponent)
+                .setValue(battValues[i])
+                .setTimestamp(Instant.parse("2018-01-01T23:01:00.000Z").plusSeconds(i * 10))
+                .build());
+        }
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch();
+        statuses.forEach(batch::add);
+
+        final Set<SatelliteComponentAlert> expected = Sets.newHashSet(
+            SatelliteComponentAlert.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(SatelliteComponent.ComponentType.BATT.name())
+                .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
+                .setTimestamp("2018-01-01T23:01:00Z")
+                .build(),
+            SatelliteComponentAlert.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(SatelliteComponent.ComponentType.BATT.name())
+                .setSeverity(SatelliteComponentAlert.Severity.YELLOW_LOW.toString())
+                .setTimestamp("2018-01-01T23:01:10Z")
+                .build());
+
+        // The values above the yellow high limit and the one above the red high limit count apart, so neither of
+        // those severities makes an alert.
+        assertEquals(expected, makeAlert.makeAlerts(1000, statuses));
+        assertEquals(expected, makeAlert.makeAlerts(batch));
+
+        final Map<SatelliteComponentAlert.Severity, Instant> timestamps =
+            makeAlert.getAlertTimestamps(SatelliteComponent.ComponentType.BATT, statuses);
+        assertEquals(2, timestamps.size());
+        assertEquals(Instant.parse("2018-01-01T23:01:10Z"),
+            timestamps.get(SatelliteComponentAlert.Severity.YELLOW_LOW));
+        assertFalse(timestamps.containsKey(SatelliteComponentAlert.Severity.YELLOW_HIGH));
+        assertThrows(IllegalStateException.class, () -> makeAlert.getSeverity(SatelliteComponent.ComponentType.BATT));
+    }
+
+    @Test
+    public void testGetSeverityMask() {
+        assertEquals(0x21, new MakeSatelliteAlert(3).getSeverityMask());
+        assertEquals(0xff, new MakeSatelliteAlert(3, MakeSatelliteAlert.getAllRules()).getSeverityMask());
+        assertEquals(3, new MakeSatelliteAlert(3).getThreshold());
+    }
+
+    @Test
+    public void testMakeAlerts_batch_none() {
+        assertTrue(new MakeSatelliteAlert(3).makeAlerts(new SatelliteStatusBatch()).isEmpty());
+    }
+
     @Test
     public void testGetInterval() {
         assertEquals(1604843400, new MakeSatelliteAlert(3).getInterval(1604843540));
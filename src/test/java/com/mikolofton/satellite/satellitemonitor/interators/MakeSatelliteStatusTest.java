@@ -2,11 +2,16 @@ package com.mikolofton.satellite.satellitemonitor.interators;
 
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
 import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -42,4 +47,102 @@ public class MakeSatelliteStatusTest {
         assertThrows(MakeSatelliteStatus.MakeSatelliteStatusException.class, () ->
             new MakeSatelliteStatus("|").makeStatus(testInput));
     }
+
+    @Test
+    public void testMakeStatus_missingFields() {
+        final String testInput = "20180101 23:01:05.001|1001|101|98";
+
+        assertThrows(MakeSatelliteStatus.MakeSatelliteStatusException.class, () ->
+            new MakeSatelliteStatus("\\|").makeStatus(testInput));
+    }
+
+    @Test
+    public void testMakeStatus_invalidTimestamp() {
+        final String testInput = "yesterday|1001|101|98|25|20|99.9|TSTAT";
+
+        final MakeSatelliteStatus.MakeSatelliteStatusException e =
+            assertThrows(MakeSatelliteStatus.MakeSatelliteStatusException.class, () ->
+                new MakeSatelliteStatus("\\|").makeStatus(testInput));
+        assertEquals(ParseSatelliteStatus.Failure.TIMESTAMP, e.getFailure());
+    }
+
+    @Test
+    public void testMakeStatus_failure() {
+        final MakeSatelliteStatus.MakeSatelliteStatusException e =
+            assertThrows(MakeSatelliteStatus.MakeSatelliteStatusException.class, () ->
+                new MakeSatelliteStatus("\\|").makeStatus("20180101 23:01:05.001|1001|25|98|101|20|99.9|TSTAT"));
+        assertEquals(ParseSatelliteStatus.Failure.LIMITS, e.getFailure());
+
+        // Delimiters that are not a single character do not tell why a line cannot be parsed.
+        assertNull(assertThrows(MakeSatelliteStatus.MakeSatelliteStatusException.class, () ->
+            new MakeSatelliteStatus("[|]").makeStatus("20180101 23:01:05.001|1001|25|98|101|20|99.9|TSTAT"))
+            .getFailure());
+    }
+
+    @Test
+    public void testMakeStatuses() throws Exception {
+        final String input = "20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\r\n" +
+            "not a status\n" +
+            "\n" +
+            "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\r" +
+            "20180101 23:01:26.011|1001|101|98|25|20|-1|TSTAT\n" +
+            "20180101 23:01:38.001|1000|101|98|25|20|102.9|TSTAT";
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+        final MakeSatelliteStatus.Report report = new MakeSatelliteStatus.Report();
+
+        makeStatus.makeStatuses(input, statuses, report);
+
+        assertEquals(3, statuses.size());
+        assertEquals(makeStatus.makeStatus("20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT"), statuses.toStatus(1));
+        assertEquals(6, report.getLineCount());
+        assertEquals(2, report.getErrorCount());
+        assertEquals(2, report.getLineNumber(0));
+        assertEquals(ParseSatelliteStatus.Failure.TIMESTAMP, report.getFailure(0));
+        assertEquals(5, report.getLineNumber(1));
+        assertEquals(ParseSatelliteStatus.Failure.VALUE, report.getFailure(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> report.getLineNumber(2));
+    }
+
+    @Test
+    public void testMakeStatuses_reuse() throws Exception {
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+        final MakeSatelliteStatus.Report report = new MakeSatelliteStatus.Report();
+
+        makeStatus.makeStatuses(ByteBuffer.wrap("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\n"
+            .getBytes(StandardCharsets.US_ASCII)), statuses, report);
+        makeStatus.makeStatuses(Arrays.asList("bad", "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT"), statuses,
+            report);
+
+        // Consecutive buffers are numbered as lines of one log.
+        assertEquals(2, statuses.size());
+        assertEquals(3, report.getLineCount());
+        assertEquals(2, report.getLineNumber(0));
+
+        statuses.clear();
+        report.clear();
+        makeStatus.makeStatuses("bad\n20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT", statuses, report);
+
+        assertEquals(1, statuses.size());
+        assertEquals(1, statuses.getComponents().size());
+        assertEquals(makeStatus.makeStatus("20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT"), statuses.toStatus(0));
+        assertEquals(2, report.getLineCount());
+        assertEquals(1, report.getErrorCount());
+        assertEquals(1, report.getLineNumber(0));
+    }
+
+    @Test
+    public void testMakeStatuses_regexDelimiter() throws Exception {
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+        final MakeSatelliteStatus.Report report = new MakeSatelliteStatus.Report();
+
+        new MakeSatelliteStatus("[|]").makeStatuses("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\n" +
+            "20180101 23:01:05.001|1001|25|98|101|20|99.9|TSTAT", statuses, report);
+
+        assertEquals(1, statuses.size());
+        assertEquals(1, report.getErrorCount());
+        assertEquals(2, report.getLineNumber(0));
+        assertNull(report.getFailure(0));
+    }
 }
@@ -0,0 +1,87 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParallelSatelliteAlert}.
+ */
+public class ParallelSatelliteAlertTest {
+
+    private final SatelliteComponent tstatComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.TSTAT)
+        .setRedHighLimit(101)
+        .setRedLowLimit(20)
+        .setYellowHighLimit(98)
+        .setYellowLowLimit(25)
+        .build();
+
+    private final SatelliteComponent battComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.BATT)
+        .setRedHighLimit(17)
+        .setRedLowLimit(8)
+        .setYellowHighLimit(15)
+        .setYellowLowLimit(9)
+        .build();
+
+    private final MakeSatelliteAlert makeAlert = new MakeSatelliteAlert(3);
+    private final Map<Integer, List<SatelliteComponentStatus>> statusesById = new HashMap<>();
+    private final SatelliteStatusBatch batch = new SatelliteStatusBatch();
+    private final Set<SatelliteComponentAlert> expected = new HashSet<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 20000; i++) {
+            final SatelliteComponentStatus status = SatelliteComponentStatus.newBuilder()
+                .setSatelliteId(1000 + i % 250)
+                .setComponent(i % 2 == 0 ? battComponent : tstatComponent)
+                .setValue(i % 2 == 0 ? 5 + i % 7 : 95 + i % 11)
+                .setTimestamp(Instant.parse("2018-01-01T23:00:00.000Z").plusMillis(i * 97L))
+                .build();
+
+            batch.add(status);
+            statusesById.computeIfAbsent(status.getSatelliteId(), id -> new ArrayList<>()).add(status);
+        }
+
+        statusesById.forEach((id, statuses) -> expected.addAll(makeAlert.makeAlerts(id, statuses)));
+    }
+
+    @Test
+    public void testMakeAlerts() {
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, new ParallelSatelliteAlert(makeAlert, 4).makeAlerts(statusesById));
+        assertEquals(expected, new ParallelSatelliteAlert(makeAlert, 1).makeAlerts(statusesById));
+    }
+
+    @Test
+    public void testMakeAlerts_batch() {
+        assertEquals(expected, new ParallelSatelliteAlert(makeAlert, 4).makeAlerts(batch));
+        assertEquals(expected, new ParallelSatelliteAlert(makeAlert, 1).makeAlerts(batch));
+    }
+
+    @Test
+    public void testMakeAlerts_empty() {
+        assertTrue(new ParallelSatelliteAlert(makeAlert, 4).makeAlerts(new HashMap<>()).isEmpty());
+        assertTrue(new ParallelSatelliteAlert(makeAlert, 4).makeAlerts(new SatelliteStatusBatch()).isEmpty());
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSatelliteAlert(makeAlert, 0));
+        assertThrows(NullPointerException.class, () -> new ParallelSatelliteAlert(null, 4));
+    }
+}
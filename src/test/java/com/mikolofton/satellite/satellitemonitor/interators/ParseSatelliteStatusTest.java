@@ -0,0 +1,162 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParseSatelliteStatus}.
+ */
+public class ParseSatelliteStatusTest {
+
+    @Test
+    public void testParse() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+
+        assertTrue(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT"));
+
+        assertNull(parser.getFailure());
+        assertEquals(Instant.parse("2018-01-01T23:01:05.001Z").toEpochMilli(), parser.getTimestampMillis());
+        assertEquals(1001, parser.getSatelliteId());
+        assertEquals(101, parser.getRedHighLimit());
+        assertEquals(98, parser.getYellowHighLimit());
+        assertEquals(25, parser.getYellowLowLimit());
+        assertEquals(20, parser.getRedLowLimit());
+        assertEquals(99.9, parser.getValue());
+        assertEquals(SatelliteComponent.ComponentType.TSTAT, parser.getComponentType());
+    }
+
+    @Test
+    public void testParse_reused() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+
+        assertTrue(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT"));
+        assertFalse(parser.parse("20180101 23:01:09.521|1000|17|15|9|8|7.8|FOO"));
+        assertTrue(parser.parse("20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT"));
+
+        assertNull(parser.getFailure());
+        assertEquals(1000, parser.getSatelliteId());
+        assertEquals(7.8, parser.getValue());
+        assertEquals(SatelliteComponent.ComponentType.BATT, parser.getComponentType());
+    }
+
+    @Test
+    public void testToComponent_shared() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|', new InternSatelliteComponent(16));
+
+        assertTrue(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT"));
+        final SatelliteComponent component = parser.toComponent();
+
+        assertTrue(parser.parse("20180101 23:01:26.011|1000|101|98|25|20|99.8|TSTAT"));
+        assertSame(component, parser.toComponent());
+        assertSame(parser.toStatus().getComponent(), parser.toComponent());
+    }
+
+    @Test
+    public void testParse_offsets() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+        final String lines = "20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\n" +
+            "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n";
+
+        assertTrue(parser.parse(lines, lines.indexOf('\n') + 1, lines.length() - 1));
+
+        assertEquals(1000, parser.getSatelliteId());
+        assertEquals(SatelliteComponent.ComponentType.BATT, parser.getComponentType());
+    }
+
+    @Test
+    public void testParse_unusualFormats() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+
+        assertTrue(parser.parse("20180101 23:01:05.1| 1001 |101|98|25|20|9.99e1|TSTAT|extra"));
+
+        assertEquals(Instant.parse("2018-01-01T23:01:05.001Z").toEpochMilli(), parser.getTimestampMillis());
+        assertEquals(1001, parser.getSatelliteId());
+        assertEquals(99.9, parser.getValue());
+    }
+
+    @Test
+    public void testParse_values() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+        final String[] values = {"7.8", "102.9", "0.1", "1.", ".5", "00012.34500", "123456789.123456", "3.3333"};
+
+        for (final String value : values) {
+            assertTrue(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|" + value + "|TSTAT"));
+            assertEquals(Double.parseDouble(value), parser.getValue(), value);
+        }
+    }
+
+    @Test
+    public void testParse_failures() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+
+        assertFalse(parser.parse("20180101 23:01:05.001|1001|101|98"));
+        assertEquals(ParseSatelliteStatus.Failure.MISSING_FIELD, parser.getFailure());
+
+        assertFalse(parser.parse("yesterday|1001|101|98|25|20|99.9|TSTAT"));
+        assertEquals(ParseSatelliteStatus.Failure.TIMESTAMP, parser.getFailure());
+
+        assertFalse(parser.parse("20180101 23:01:05.001|-1001|101|98|25|20|99.9|TSTAT"));
+        assertEquals(ParseSatelliteStatus.Failure.SATELLITE_ID, parser.getFailure());
+
+        assertFalse(parser.parse("20180101 23:01:05.001|1001|101|98|x|20|99.9|TSTAT"));
+        assertEquals(ParseSatelliteStatus.Failure.LIMITS, parser.getFailure());
+
+        assertFalse(parser.parse("20180101 23:01:05.001|1001|20|98|25|101|99.9|TSTAT"));
+        assertEquals(ParseSatelliteStatus.Failure.LIMITS, parser.getFailure());
+
+        assertFalse(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|-99.9|TSTAT"));
+        assertEquals(ParseSatelliteStatus.Failure.VALUE, parser.getFailure());
+
+        assertFalse(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT "));
+        assertEquals(ParseSatelliteStatus.Failure.COMPONENT_TYPE, parser.getFailure());
+    }
+
+    @Test
+    public void testToStatus() {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+        assertTrue(parser.parse("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT"));
+
+        final SatelliteComponentStatus expected = SatelliteComponentStatus.newBuilder()
+            .setSatelliteId(1001)
+            .setComponent(SatelliteComponent.newBuilder()
+                .setComponentType(SatelliteComponent.ComponentType.TSTAT)
+                .setRedHighLimit(101)
+                .setRedLowLimit(20)
+                .setYellowHighLimit(98)
+                .setYellowLowLimit(25)
+                .build())
+            .setValue(99.9)
+            .setTimestamp(Instant.parse("2018-01-01T23:01:05.001Z"))
+            .build();
+
+        assertEquals(expected, parser.toStatus());
+    }
+
+    @Test
+    public void testParseLines() throws Exception {
+        final ParseSatelliteStatus parser = new ParseSatelliteStatus('|');
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+        final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+        final String lines = "skipped\n" +
+            "20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\r\n" +
+            "20180101 23:01:09.521|1000|17|15|9|8|abc|BATT\r" +
+            "\n\n" +
+            "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT";
+
+        final long read = parser.parseLines(lines, lines.indexOf('\n') + 1, lines.length(),
+            parsed -> parsed.addTo(statuses), rejected);
+
+        assertEquals(3, read);
+        assertEquals(2, statuses.size());
+        assertEquals(1001, statuses.getSatelliteId(0));
+        assertEquals(new MakeSatelliteStatus("\\|").makeStatus("20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT"),
+            statuses.toStatus(1));
+        assertEquals(1, rejected[ParseSatelliteStatus.Failure.VALUE.ordinal()]);
+    }
+}
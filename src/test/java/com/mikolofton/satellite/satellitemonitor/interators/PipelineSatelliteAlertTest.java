@@ -0,0 +1,343 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PipelineSatelliteAlert}.
+ */
+public class PipelineSatelliteAlertTest {
+
+    private static final StreamSatelliteAlert.Window TUMBLING = StreamSatelliteAlert.Window.TUMBLING;
+    private static final long IN_ORDER = StreamSatelliteAlert.IN_ORDER;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMakeAlerts() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, ("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\n" +
+            "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n" +
+            "20180101 23:01:26.011|1001|101|98|25|20|99.8|TSTAT\n" +
+            "20180101 23:01:38.001|1000|101|98|25|20|102.9|TSTAT\n" +
+            "20180101 23:01:49.021|1000|101|98|25|20|87.9|TSTAT\n" +
+            "20180101 23:02:09.014|1001|101|98|25|20|89.3|TSTAT\n" +
+            "20180101 23:02:10.021|1001|101|98|25|20|89.4|TSTAT\n" +
+            "20180101 23:02:11.302|1000|17|15|9|8|7.7|BATT\n" +
+            "20180101 23:03:03.008|1000|101|98|25|20|102.7|TSTAT\n" +
+            "20180101 23:03:05.009|1000|101|98|25|20|101.2|TSTAT\n" +
+            "20180101 23:04:06.017|1001|101|98|25|20|89.9|TSTAT\n" +
+            "20180101 23:04:11.531|1000|17|15|9|8|7.9|BATT\n" +
+            "20180101 23:05:05.021|1001|101|98|25|20|89.9|TSTAT\n" +
+            "20180101 23:05:07.421|1001|17|15|9|8|7.9|BATT").getBytes(StandardCharsets.UTF_8));
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        final List<SatelliteComponentAlert> alerts = Collections.synchronizedList(new ArrayList<>());
+
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, metrics)
+            .makeAlerts(Collections.singletonList(log), alerts::add);
+
+        assertEquals(makeAlerts(Collections.singletonList(log), StreamSatelliteAlert.Window.TUMBLING),
+            new HashSet<>(alerts));
+        assertEquals(2, alerts.size());
+        assertEquals(14, metrics.getLinesRead());
+        assertEquals(14, metrics.getLinesParsed());
+        assertEquals(1, metrics.getLatency(RecordSatelliteMetrics.Stage.PARSE).getCount());
+    }
+
+    @Test
+    public void testMakeAlerts_manyChunks() throws Exception {
+        final Path log = tempDir.resolve("large.log");
+        Files.write(log, makeLines(60000));
+        assertTrue(Files.size(log) > 4 << 18);
+
+        for (final StreamSatelliteAlert.Window window : StreamSatelliteAlert.Window.values()) {
+            final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+            final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+
+            new PipelineSatelliteAlert('|', 3, window, IN_ORDER, 3, metrics)
+                .makeAlerts(Collections.singletonList(log), alerts::add);
+
+            assertFalse(alerts.isEmpty());
+            assertEquals(makeAlerts(Collections.singletonList(log), window), alerts);
+            assertEquals(60000, metrics.getLinesRead());
+            assertTrue(metrics.getLatency(RecordSatelliteMetrics.Stage.PARSE).getCount() > 4);
+        }
+    }
+
+    @Test
+    public void testMakeAlerts_carriageReturns() throws Exception {
+        final Path log = tempDir.resolve("large.log");
+        final List<String> lines = makeLines(60000);
+        Files.write(log, String.join("\r", lines).getBytes(StandardCharsets.UTF_8));
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 3, metrics)
+            .makeAlerts(Collections.singletonList(log), alerts::add);
+
+        // Lines broken by carriage returns alone still split the log into chunks.
+        assertFalse(alerts.isEmpty());
+        assertEquals(60000, metrics.getLinesParsed());
+        assertTrue(metrics.getLatency(RecordSatelliteMetrics.Stage.PARSE).getCount() > 4);
+    }
+
+    @Test
+    public void testMakeAlerts_binary() throws Exception {
+        final Path text = tempDir.resolve("first.log");
+        final Path binary = tempDir.resolve("second.satb");
+        final List<String> lines = makeLines(20000);
+        Files.write(text, lines.subList(0, 10000));
+
+        final Path secondText = tempDir.resolve("second.log");
+        Files.write(secondText, lines.subList(10000, 20000));
+        try (final WriteSatelliteBinaryLog binaryLog = new WriteSatelliteBinaryLog(binary)) {
+            binaryLog.write(new ReadSatelliteLog('|', 1).read(secondText));
+        }
+
+        final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, new RecordSatelliteMetrics())
+            .makeAlerts(Arrays.asList(text, binary), alerts::add);
+
+        assertEquals(makeAlerts(Arrays.asList(text, secondText), StreamSatelliteAlert.Window.TUMBLING), alerts);
+    }
+
+    @Test
+    public void testMakeAlerts_compressed() throws Exception {
+        final Path text = tempDir.resolve("satellite.log");
+        final Path compressed = tempDir.resolve("satellite.log.gz");
+        final Path blockCompressed = tempDir.resolve("satellite.log.bgz");
+        final byte[] log = String.join("\n", makeLines(30000)).getBytes(StandardCharsets.UTF_8);
+        Files.write(text, log);
+        DecompressSatelliteLogTest.writeCompressed(compressed, log);
+        DecompressSatelliteLogTest.writeBlockCompressed(blockCompressed, log);
+        final Set<SatelliteComponentAlert> expected =
+            makeAlerts(Collections.singletonList(text), StreamSatelliteAlert.Window.TUMBLING);
+
+        for (final Path path : Arrays.asList(compressed, blockCompressed)) {
+            final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+            final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+
+            new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, metrics)
+                .makeAlerts(Collections.singletonList(path), alerts::add);
+
+            assertEquals(expected, alerts);
+            assertEquals(30000, metrics.getLinesRead());
+        }
+    }
+
+    @Test
+    public void testMakeAlerts_resumeCompressed() throws Exception {
+        final Path text = tempDir.resolve("satellite.log");
+        final Path compressed = tempDir.resolve("satellite.log.gz");
+        final byte[] log = String.join("\n", makeLines(60000)).getBytes(StandardCharsets.UTF_8);
+        Files.write(text, log);
+        DecompressSatelliteLogTest.writeCompressed(compressed, log);
+        final Set<SatelliteComponentAlert> expected =
+            makeAlerts(Collections.singletonList(text), StreamSatelliteAlert.Window.TUMBLING);
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), 0);
+
+        final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+        assertThrows(IOException.class, () -> new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2,
+            new RecordSatelliteMetrics()).makeAlerts(Collections.singletonList(compressed), alert -> {
+                if (alerts.size() >= expected.size() / 2) {
+                    throw new UncheckedIOException(new IOException("closed"));
+                }
+                alerts.add(alert);
+            }, checkpoint));
+        assertTrue(checkpoint.read().get().getOffset() > 0);
+
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, metrics)
+            .makeAlerts(Collections.singletonList(compressed), alerts::add, checkpoint);
+
+        assertEquals(expected, alerts);
+        assertTrue(metrics.getLinesRead() < 60000);
+    }
+
+    @Test
+    public void testMakeAlerts_longLine() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        final char[] junk = new char[3 << 18];
+        Arrays.fill(junk, 'x');
+        final List<String> lines = new ArrayList<>(makeLines(100));
+        lines.add(50, new String(junk));
+        Files.write(log, lines);
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+
+        final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, metrics)
+            .makeAlerts(Collections.singletonList(log), alerts::add);
+
+        assertEquals(makeAlerts(Collections.singletonList(log), StreamSatelliteAlert.Window.TUMBLING), alerts);
+        assertEquals(101, metrics.getLinesRead());
+        assertEquals(100, metrics.getLinesParsed());
+    }
+
+    @Test
+    public void testMakeAlerts_lateness() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        final List<String> lines = makeLines(6000);
+        Files.write(log, lines);
+        final Path shuffled = tempDir.resolve("shuffled.log");
+        final List<String> shuffledLines = new ArrayList<>(lines);
+        // Swaps neighbouring lines, so that every status arrives little more than a second out of order.
+        for (int i = 0; i + 10 < shuffledLines.size(); i += 20) {
+            Collections.swap(shuffledLines, i, i + 10);
+        }
+        Files.write(shuffled, shuffledLines);
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+
+        final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+        new PipelineSatelliteAlert('|', 3, TUMBLING, 2000, 2, metrics)
+            .makeAlerts(Collections.singletonList(shuffled), alerts::add);
+
+        assertEquals(makeAlerts(Collections.singletonList(log), StreamSatelliteAlert.Window.TUMBLING), alerts);
+        assertEquals(0, metrics.getLate());
+    }
+
+    @Test
+    public void testMakeAlerts_resume() throws Exception {
+        final Path text = tempDir.resolve("first.log");
+        final Path binary = tempDir.resolve("second.satb");
+        final Path last = tempDir.resolve("third.log");
+        final List<String> lines = makeLines(60000);
+        Files.write(text, lines.subList(0, 30000));
+        final Path binaryText = tempDir.resolve("second.log");
+        Files.write(binaryText, lines.subList(30000, 40000));
+        try (final WriteSatelliteBinaryLog binaryLog = new WriteSatelliteBinaryLog(binary)) {
+            binaryLog.write(new ReadSatelliteLog('|', 1).read(binaryText));
+        }
+        Files.write(last, lines.subList(40000, 60000));
+        final List<Path> logs = Arrays.asList(text, binary, last);
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), 0);
+        final Set<SatelliteComponentAlert> expected =
+            makeAlerts(Arrays.asList(text, binaryText, last), StreamSatelliteAlert.Window.TUMBLING);
+
+        // The first run stops part way, when the consumer fails.
+        final Set<SatelliteComponentAlert> alerts = Collections.synchronizedSet(new HashSet<>());
+        final PipelineSatelliteAlert first =
+            new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, new RecordSatelliteMetrics());
+        assertThrows(IOException.class, () -> first.makeAlerts(logs, alert -> {
+            if (alerts.size() >= expected.size() * 2 / 3) {
+                throw new UncheckedIOException(new IOException("closed"));
+            }
+            alerts.add(alert);
+        }, checkpoint));
+        assertTrue(checkpoint.read().isPresent());
+
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 3, metrics).makeAlerts(logs, alerts::add, checkpoint);
+
+        assertEquals(expected, alerts);
+        assertTrue(metrics.getLinesRead() < 50000);
+    }
+
+    @Test
+    public void testMakeAlerts_resumeOtherOptions() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, makeLines(100));
+        final CheckpointSatelliteAlert checkpoint = new CheckpointSatelliteAlert(tempDir.resolve("run.ckpt"), 0);
+        new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, new RecordSatelliteMetrics())
+            .makeAlerts(Collections.singletonList(log), alert -> { }, checkpoint);
+        assertTrue(checkpoint.read().isPresent());
+
+        final PipelineSatelliteAlert sliding = new PipelineSatelliteAlert('|', 3, StreamSatelliteAlert.Window.SLIDING,
+            IN_ORDER, 2, new RecordSatelliteMetrics());
+        assertThrows(IllegalArgumentException.class, () ->
+            sliding.makeAlerts(Collections.singletonList(log), alert -> { }, checkpoint));
+        assertThrows(IllegalArgumentException.class, () -> new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2,
+            new RecordSatelliteMetrics()).makeAlerts(Collections.singletonList(tempDir.resolve("other.log")),
+                alert -> { }, checkpoint));
+    }
+
+    @Test
+    public void testMakeAlerts_missingFile() {
+        final PipelineSatelliteAlert pipeline =
+            new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, new RecordSatelliteMetrics());
+
+        assertThrows(NoSuchFileException.class, () ->
+            pipeline.makeAlerts(Collections.singletonList(tempDir.resolve("missing.log")), alert -> { }));
+    }
+
+    @Test
+    public void testMakeAlerts_consumerFails() throws Exception {
+        final Path log = tempDir.resolve("large.log");
+        Files.write(log, makeLines(60000));
+        final PipelineSatelliteAlert pipeline =
+            new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 2, new RecordSatelliteMetrics());
+
+        final IOException e = assertThrows(IOException.class, () ->
+            pipeline.makeAlerts(Collections.singletonList(log), alert -> {
+                throw new UncheckedIOException(new IOException("closed"));
+            }));
+        assertEquals("closed", e.getMessage());
+    }
+
+    @Test
+    public void testNew_invalid() {
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new PipelineSatelliteAlert('|', 3, TUMBLING, IN_ORDER, 0, metrics));
+        assertThrows(IllegalArgumentException.class, () ->
+            new PipelineSatelliteAlert('|', 0, TUMBLING, IN_ORDER, 1, metrics));
+        assertThrows(NullPointerException.class, () ->
+            new PipelineSatelliteAlert('|', 3, null, IN_ORDER, 1, metrics));
+        assertThrows(IllegalArgumentException.class, () ->
+            new PipelineSatelliteAlert('|', 3, TUMBLING, -2, 1, metrics));
+    }
+
+    private static List<String> makeLines(final int count) {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                lines.add(String.format("20180101 %02d:%02d:%02d.%03d|%d|17|15|9|8|%d.%d|BATT",
+                    i / 36000, (i / 600) % 60, (i / 10) % 60, i % 1000, 1000 + i % 13, 5 + i % 10, i % 10));
+            } else {
+                lines.add(String.format("20180101 %02d:%02d:%02d.%03d|%d|101|98|25|20|%d.%d|TSTAT",
+                    i / 36000, (i / 600) % 60, (i / 10) % 60, i % 1000, 1000 + i % 11, 95 + i % 10, i % 10));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Makes the alerts of text logs one status at a time on the calling thread.
+     */
+    private static Set<SatelliteComponentAlert> makeAlerts(
+            final List<Path> logs,
+            final StreamSatelliteAlert.Window window) throws Exception {
+        final Set<SatelliteComponentAlert> alerts = new HashSet<>();
+        final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, window, alerts::add);
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+
+        for (final Path log : logs) {
+            for (final String line : Files.readAllLines(log)) {
+                try {
+                    streamAlert.accept(makeStatus.makeStatus(line));
+                } catch (final MakeSatelliteStatus.MakeSatelliteStatusException e) {
+                    // Skipped like the pipeline skips it.
+                }
+            }
+        }
+
+        return alerts;
+    }
+}
@@ -0,0 +1,124 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link QuerySatelliteLog}.
+ */
+public class QuerySatelliteLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Writes a log of one status per second for each of the satellites 1000 to 1003, over a bit more than an hour.
+     */
+    private Path writeLog() throws Exception {
+        final List<String> lines = new ArrayList<>();
+        for (int second = 0; second < 4000; second++) {
+            for (int satelliteId = 1000; satelliteId < 1004; satelliteId++) {
+                lines.add(String.format("20180101 23:%02d:%02d.000|%d|17|15|9|8|7.8|BATT",
+                    second / 60 % 60, second % 60, satelliteId));
+            }
+        }
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, lines);
+        return log;
+    }
+
+    @Test
+    public void testQuery() throws Exception {
+        final Path log = writeLog();
+        final long from = Instant.parse("2018-01-01T23:12:00Z").toEpochMilli();
+        final long to = Instant.parse("2018-01-01T23:16:00Z").toEpochMilli();
+
+        final SatelliteStatusBatch result =
+            new QuerySatelliteLog(new IndexSatelliteLog('|', 64)).query(log, 1002, from, to);
+
+        // The range is widened to the intervals starting at 23:10 and 23:15.
+        assertEquals(600, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(1002, result.getSatelliteId(i));
+        }
+        assertEquals(Instant.parse("2018-01-01T23:10:00Z").toEpochMilli(), result.getTimestampMillis(0));
+        assertEquals(Instant.parse("2018-01-01T23:19:59Z").toEpochMilli(), result.getTimestampMillis(599));
+    }
+
+    @Test
+    public void testQuery_allSatellites() throws Exception {
+        final Path log = writeLog();
+        final long from = Instant.parse("2018-01-01T23:40:00Z").toEpochMilli();
+
+        final SatelliteStatusBatch result = new QuerySatelliteLog(new IndexSatelliteLog('|')).query(log, from, from);
+
+        assertEquals(4 * 300, result.size());
+    }
+
+    @Test
+    public void testQuery_binary() throws Exception {
+        final Path log = writeLog();
+        final Path binaryLog = tempDir.resolve("satellite.satb");
+        try (final WriteSatelliteBinaryLog writeLog = new WriteSatelliteBinaryLog(binaryLog)) {
+            writeLog.write(new ReadSatelliteLog('|', 1).read(log));
+        }
+        final long from = Instant.parse("2018-01-01T23:12:00Z").toEpochMilli();
+        final QuerySatelliteLog queryLog = new QuerySatelliteLog(new IndexSatelliteLog('|'));
+
+        final SatelliteStatusBatch expected = queryLog.query(log, 1001, from, from);
+        final SatelliteStatusBatch result = queryLog.query(binaryLog, 1001, from, from);
+
+        assertEquals(300, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(expected.toStatus(i), result.toStatus(i));
+        }
+    }
+
+    @Test
+    public void testQuery_compressed() throws Exception {
+        final Path log = writeLog();
+        final Path compressedLog = tempDir.resolve("satellite.log.gz");
+        DecompressSatelliteLogTest.writeCompressed(compressedLog, Files.readAllBytes(log));
+        final QuerySatelliteLog queryLog = new QuerySatelliteLog(new IndexSatelliteLog('|', 64));
+        final long from = Instant.parse("2018-01-01T23:12:00Z").toEpochMilli();
+        final long to = Instant.parse("2018-01-01T23:21:00Z").toEpochMilli();
+
+        final SatelliteStatusBatch expected = queryLog.query(log, 1001, from, to);
+        final SatelliteStatusBatch result = queryLog.query(compressedLog, 1001, from, to);
+
+        assertTrue(expected.size() > 0);
+        assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.toStatus(i), result.toStatus(i));
+        }
+    }
+
+    @Test
+    public void testGetRanges() throws Exception {
+        final Path log = writeLog();
+        final List<IndexSatelliteLog.Block> blocks = new IndexSatelliteLog('|', 64).build(log);
+        final long from = Instant.parse("2018-01-01T23:12:00Z").toEpochMilli();
+
+        final List<long[]> ranges =
+            QuerySatelliteLog.getRanges(blocks, new QuerySatelliteLog.Filter(false, 1002, from, from));
+
+        // The blocks of the interval starting at 23:10 are next to each other.
+        assertEquals(1, ranges.size());
+        assertTrue(ranges.get(0)[1] - ranges.get(0)[0] < Files.size(log) / 10);
+    }
+
+    @Test
+    public void testQuery_invalid() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new QuerySatelliteLog(new IndexSatelliteLog('|')).query(tempDir.resolve("satellite.log"), 1, 0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReadSatelliteBinaryLog}.
+ */
+public class ReadSatelliteBinaryLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRead() throws Exception {
+        final SatelliteStatusBatch statuses = newBatch(WriteSatelliteBinaryLog.BLOCK_RECORDS * 2 + 10);
+        final Path log = write(statuses);
+
+        final SatelliteStatusBatch result = new ReadSatelliteBinaryLog().read(log);
+
+        assertEquals(statuses.size(), result.size());
+        assertEquals(2, result.getComponents().size());
+        for (int i = 0; i < statuses.size(); i++) {
+            assertEquals(statuses.toStatus(i), result.toStatus(i));
+        }
+    }
+
+    @Test
+    public void testRead_blocks() throws Exception {
+        final Path log = write(newBatch(WriteSatelliteBinaryLog.BLOCK_RECORDS + 1));
+        final List<Integer> blockSizes = new ArrayList<>();
+
+        new ReadSatelliteBinaryLog().read(log, block -> blockSizes.add(block.size()));
+
+        assertEquals(Arrays.asList(WriteSatelliteBinaryLog.BLOCK_RECORDS, 1), blockSizes);
+    }
+
+    @Test
+    public void testRead_invalid() throws Exception {
+        final Path text = tempDir.resolve("satellite.log");
+        Files.write(text, "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> new ReadSatelliteBinaryLog().read(text));
+
+        final Path log = write(newBatch(10));
+        final byte[] bytes = Files.readAllBytes(log);
+        Files.write(log, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(EOFException.class, () -> new ReadSatelliteBinaryLog().read(log));
+    }
+
+    @Test
+    public void testIsBinaryLog() throws Exception {
+        final Path text = tempDir.resolve("satellite.log");
+        Files.write(text, "2018".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(ReadSatelliteBinaryLog.isBinaryLog(write(newBatch(1))));
+        assertFalse(ReadSatelliteBinaryLog.isBinaryLog(text));
+        assertFalse(ReadSatelliteBinaryLog.isBinaryLog(tempDir));
+    }
+
+    private SatelliteStatusBatch newBatch(final int size) throws Exception {
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+        final SatelliteStatusBatch statuses = new SatelliteStatusBatch();
+        for (int i = 0; i < size; i++) {
+            statuses.add(makeStatus.makeStatus(i % 2 == 0 ?
+                String.format("20180101 23:%02d:%02d.001|1000|17|15|9|8|7.%d|BATT", i / 60 % 60, i % 60, i % 10) :
+                String.format("20180101 23:%02d:%02d.002|1001|101|98|25|20|99.%d|TSTAT", i / 60 % 60, i % 60, i % 10)));
+        }
+        return statuses;
+    }
+
+    private Path write(final SatelliteStatusBatch statuses) throws Exception {
+        final Path log = Files.createTempFile(tempDir, "satellite", ".satb");
+        try (final WriteSatelliteBinaryLog binaryLog = new WriteSatelliteBinaryLog(log)) {
+            binaryLog.write(statuses);
+        }
+        return log;
+    }
+}
@@ -0,0 +1,151 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReadSatelliteLog}.
+ */
+public class ReadSatelliteLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRead() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, ("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\r\n" +
+            "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n" +
+            "not a status\n" +
+            "\n" +
+            "20180101 23:01:26.011|1001|101|98|25|20|99.8|TSTAT").getBytes(StandardCharsets.UTF_8));
+
+        final SatelliteStatusBatch result = new ReadSatelliteLog('|', 2).read(log);
+
+        assertEquals(3, result.size());
+        assertEquals(2, result.getComponents().size());
+        assertEquals(1000, result.getSatelliteId(1));
+        assertEquals(new MakeSatelliteStatus("\\|").makeStatus("20180101 23:01:26.011|1001|101|98|25|20|99.8|TSTAT"),
+            result.toStatus(2));
+    }
+
+    @Test
+    public void testRead_compressed() throws Exception {
+        final byte[] log = DecompressSatelliteLogTest.makeLog(50000);
+        final Path text = tempDir.resolve("satellite.log");
+        final Path compressed = tempDir.resolve("satellite.log.gz");
+        final Path blockCompressed = tempDir.resolve("satellite.log.bgz");
+        Files.write(text, log);
+        DecompressSatelliteLogTest.writeCompressed(compressed, log);
+        DecompressSatelliteLogTest.writeBlockCompressed(blockCompressed, log);
+        final ReadSatelliteLog readLog = new ReadSatelliteLog('|', 2);
+        final SatelliteStatusBatch expected = readLog.read(text);
+
+        final SatelliteStatusBatch result = readLog.read(Arrays.asList(compressed, text, blockCompressed));
+
+        assertEquals(50000, expected.size());
+        assertEquals(expected.size() * 3, result.size());
+        for (int i = 0; i < expected.size(); i += 997) {
+            assertEquals(expected.toStatus(i), result.toStatus(i));
+            assertEquals(expected.toStatus(i), result.toStatus(expected.size() * 2 + i));
+        }
+    }
+
+    @Test
+    public void testRead_metrics() throws Exception {
+        final Path log = tempDir.resolve("satellite.log");
+        Files.write(log, ("20180101 23:01:05.001|1001|101|98|25|20|99.9|TSTAT\r\n" +
+            "not a status\n" +
+            "\n" +
+            "20180101 23:01:26.011|1001|101|98|25|20|-1|TSTAT").getBytes(StandardCharsets.UTF_8));
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+
+        new ReadSatelliteLog('|', 2, metrics).read(log);
+
+        assertEquals(3, metrics.getLinesRead());
+        assertEquals(1, metrics.getLinesParsed());
+        assertEquals(1, metrics.getRejected(ParseSatelliteStatus.Failure.TIMESTAMP));
+        assertEquals(1, metrics.getRejected(ParseSatelliteStatus.Failure.VALUE));
+        assertEquals(1, metrics.getLatency(RecordSatelliteMetrics.Stage.PARSE).getCount());
+    }
+
+    @Test
+    public void testRead_manyChunks() throws Exception {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 60000; i++) {
+            lines.add(String.format("20180101 23:%02d:%02d.%03d|%d|17|15|9|8|%d.%d|BATT",
+                (i / 600) % 60, (i / 10) % 60, i % 1000, 1000 + i % 7, 5 + i % 10, i % 10));
+        }
+
+        final Path log = tempDir.resolve("large.log");
+        Files.write(log, lines);
+
+        final MakeSatelliteStatus makeStatus = new MakeSatelliteStatus("\\|");
+        final List<SatelliteComponentStatus> expected = new ArrayList<>();
+        for (final String line : lines) {
+            expected.add(makeStatus.makeStatus(line));
+        }
+
+        assertTrue(Files.size(log) > 2 << 20);
+
+        final SatelliteStatusBatch result = new ReadSatelliteLog('|', 4).read(log);
+        final List<SatelliteComponentStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < result.size(); i++) {
+            statuses.add(result.toStatus(i));
+        }
+
+        assertEquals(expected, statuses);
+    }
+
+    @Test
+    public void testRead_carriageReturns() throws Exception {
+        final StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 60000; i++) {
+            lines.append(String.format("20180101 23:%02d:%02d.%03d|%d|17|15|9|8|%d.%d|BATT\r",
+                (i / 600) % 60, (i / 10) % 60, i % 1000, 1000 + i % 7, 5 + i % 10, i % 10));
+        }
+        final Path log = tempDir.resolve("large.log");
+        Files.write(log, lines.toString().getBytes(StandardCharsets.UTF_8));
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+
+        assertEquals(60000, new ReadSatelliteLog('|', 4, metrics).read(log).size());
+
+        // A log with only carriage returns is still split into chunks at its line breaks.
+        assertTrue(metrics.getLatency(RecordSatelliteMetrics.Stage.PARSE).getCount() > 1);
+    }
+
+    @Test
+    public void testRead_files() throws Exception {
+        final Path first = tempDir.resolve("2018010123.log");
+        final Path second = tempDir.resolve("2018010200.log");
+        Files.write(first, ("20180101 23:59:58.000|1000|17|15|9|8|7.8|BATT\n" +
+            "20180101 23:59:59.000|1000|17|15|9|8|7.7|BATT").getBytes(StandardCharsets.UTF_8));
+        Files.write(second, "20180102 00:00:01.000|1000|17|15|9|8|7.6|BATT\n".getBytes(StandardCharsets.UTF_8));
+
+        final SatelliteStatusBatch result = new ReadSatelliteLog('|', 2).read(Arrays.asList(first, second));
+
+        assertEquals(3, result.size());
+        assertEquals(7.8, result.getValue(0));
+        assertEquals(7.7, result.getValue(1));
+        assertEquals(7.6, result.getValue(2));
+    }
+
+    @Test
+    public void testRead_empty() throws Exception {
+        final Path log = tempDir.resolve("empty.log");
+        Files.createFile(log);
+
+        assertEquals(0, new ReadSatelliteLog('|', 4).read(log).size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RecordSatelliteMetrics}.
+ */
+public class RecordSatelliteMetricsTest {
+
+    private final SatelliteComponent battery = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.BATT)
+        .setRedHighLimit(17)
+        .setYellowHighLimit(15)
+        .setYellowLowLimit(9)
+        .setRedLowLimit(8)
+        .build();
+
+    @Test
+    public void testCounts() {
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch();
+        batch.add(1000, battery, 7.8, 0);
+        batch.add(1001, battery, 7.8, 0);
+
+        metrics.addLinesRead(5);
+        metrics.addLinesParsed(3);
+        metrics.addRejected(ParseSatelliteStatus.Failure.VALUE, 1);
+        metrics.addRejected(null, 1);
+        final long[] rejected = new long[ParseSatelliteStatus.Failure.values().length];
+        rejected[ParseSatelliteStatus.Failure.LIMITS.ordinal()] = 2;
+        metrics.addRejected(rejected);
+        metrics.addStatuses(batch);
+        metrics.addStatus(SatelliteComponent.ComponentType.TSTAT);
+        metrics.addAlerts(2);
+
+        assertEquals(5, metrics.getLinesRead());
+        assertEquals(3, metrics.getLinesParsed());
+        assertEquals(1, metrics.getRejected(ParseSatelliteStatus.Failure.VALUE));
+        assertEquals(0, metrics.getRejected(ParseSatelliteStatus.Failure.TIMESTAMP));
+        assertEquals(2, metrics.getRejected(ParseSatelliteStatus.Failure.LIMITS));
+        assertEquals(1, metrics.getRejected(null));
+        assertEquals(2, metrics.getStatuses(SatelliteComponent.ComponentType.BATT));
+        assertEquals(1, metrics.getStatuses(SatelliteComponent.ComponentType.TSTAT));
+        assertEquals(2, metrics.getAlerts());
+    }
+
+    @Test
+    public void testCounts_threads() throws Exception {
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                metrics.addLinesRead(1);
+                metrics.recordLatency(RecordSatelliteMetrics.Stage.PARSE, 100);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, metrics.getLinesRead());
+        assertEquals(1000, metrics.getLatency(RecordSatelliteMetrics.Stage.PARSE).getCount());
+    }
+
+    @Test
+    public void testLatency() {
+        final RecordSatelliteMetrics.LatencyHistogram latency =
+            new RecordSatelliteMetrics().getLatency(RecordSatelliteMetrics.Stage.EVALUATE);
+
+        assertEquals(0, latency.getPercentile(50));
+
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            latency.record(nanos);
+        }
+        latency.record(-5);
+
+        assertEquals(10_001, latency.getCount());
+        assertEquals(10_000, latency.getMax());
+        assertEquals(5_000, latency.getMean(), 1);
+
+        // Percentiles are exact for small latencies and within an eighth for larger ones.
+        assertEquals(0, latency.getPercentile(0));
+        assertEquals(5_000, latency.getPercentile(50), 5_000 / 8.0);
+        assertEquals(9_900, latency.getPercentile(99), 9_900 / 8.0);
+        assertEquals(10_000, latency.getPercentile(100));
+        assertTrue(latency.getPercentile(50) >= 5_000);
+    }
+
+    @Test
+    public void testLatency_large() {
+        final RecordSatelliteMetrics.LatencyHistogram latency =
+            new RecordSatelliteMetrics().getLatency(RecordSatelliteMetrics.Stage.PARSE);
+
+        latency.record(Long.MAX_VALUE);
+        latency.record(TimeUnit.SECONDS.toNanos(3));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(3), latency.getPercentile(50), TimeUnit.SECONDS.toNanos(3) / 8.0);
+        assertEquals(Long.MAX_VALUE, latency.getPercentile(100));
+    }
+
+    @Test
+    public void testToJson() {
+        final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+        metrics.addLinesRead(4);
+        metrics.addRejected(ParseSatelliteStatus.Failure.LIMITS, 1);
+        metrics.addStatus(SatelliteComponent.ComponentType.TSTAT);
+        metrics.recordLatency(RecordSatelliteMetrics.Stage.SERIALIZE, 2_000);
+
+        final JsonObject json = JsonParser.parseString(metrics.toJson()).getAsJsonObject();
+
+        assertEquals(4, json.get("linesRead").getAsLong());
+        assertEquals(1, json.getAsJsonObject("linesRejected").get("LIMITS").getAsLong());
+        assertEquals(0, json.getAsJsonObject("linesRejected").get("UNKNOWN").getAsLong());
+        assertEquals(1, json.getAsJsonObject("statuses").get("TSTAT").getAsLong());
+        assertEquals(0, json.get("alerts").getAsLong());
+
+        final JsonObject serialize = json.getAsJsonObject("latencyMicros").getAsJsonObject("SERIALIZE");
+        assertEquals(1, serialize.get("count").getAsLong());
+        assertEquals(2.0, serialize.get("max").getAsDouble());
+        assertEquals(0, json.getAsJsonObject("latencyMicros").getAsJsonObject("GROUP").get("count").getAsLong());
+    }
+}
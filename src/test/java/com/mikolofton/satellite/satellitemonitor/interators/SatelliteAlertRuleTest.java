@@ -0,0 +1,83 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SatelliteAlertRule}.
+ */
+public class SatelliteAlertRuleTest {
+
+    private final SatelliteComponent battComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.BATT)
+        .setRedHighLimit(17)
+        .setRedLowLimit(8)
+        .setYellowHighLimit(15)
+        .setYellowLowLimit(9)
+        .build();
+
+    @Test
+    public void testRedLow() {
+        assertEquals(SatelliteComponentAlert.Severity.RED_LOW, SatelliteAlertRule.RED_LOW.getSeverity());
+        assertTrue(SatelliteAlertRule.RED_LOW.isViolation(7.9, battComponent));
+        assertFalse(SatelliteAlertRule.RED_LOW.isViolation(8, battComponent));
+    }
+
+    @Test
+    public void testRedHigh() {
+        assertEquals(SatelliteComponentAlert.Severity.RED_HIGH, SatelliteAlertRule.RED_HIGH.getSeverity());
+        assertTrue(SatelliteAlertRule.RED_HIGH.isViolation(17.1, battComponent));
+        assertFalse(SatelliteAlertRule.RED_HIGH.isViolation(17, battComponent));
+    }
+
+    @Test
+    public void testYellowLow() {
+        assertEquals(SatelliteComponentAlert.Severity.YELLOW_LOW, SatelliteAlertRule.YELLOW_LOW.getSeverity());
+        assertTrue(SatelliteAlertRule.YELLOW_LOW.isViolation(8.9, battComponent));
+        assertTrue(SatelliteAlertRule.YELLOW_LOW.isViolation(8, battComponent));
+        assertFalse(SatelliteAlertRule.YELLOW_LOW.isViolation(7.9, battComponent));
+        assertFalse(SatelliteAlertRule.YELLOW_LOW.isViolation(9, battComponent));
+    }
+
+    @Test
+    public void testYellowHigh() {
+        assertEquals(SatelliteComponentAlert.Severity.YELLOW_HIGH, SatelliteAlertRule.YELLOW_HIGH.getSeverity());
+        assertTrue(SatelliteAlertRule.YELLOW_HIGH.isViolation(15.1, battComponent));
+        assertTrue(SatelliteAlertRule.YELLOW_HIGH.isViolation(17, battComponent));
+        assertFalse(SatelliteAlertRule.YELLOW_HIGH.isViolation(17.1, battComponent));
+        assertFalse(SatelliteAlertRule.YELLOW_HIGH.isViolation(15, battComponent));
+    }
+
+    @Test
+    public void testAnyOf() {
+        final SatelliteAlertRule rule = SatelliteAlertRule.anyOf(SatelliteAlertRule.RED_LOW,
+            SatelliteAlertRule.RED_HIGH, SatelliteAlertRule.YELLOW_LOW, SatelliteAlertRule.YELLOW_HIGH);
+
+        assertEquals(SatelliteComponentAlert.Severity.RED_LOW, rule.getViolation(7.9, battComponent));
+        assertEquals(SatelliteComponentAlert.Severity.YELLOW_LOW, rule.getViolation(8.5, battComponent));
+        assertNull(rule.getViolation(12, battComponent));
+        assertEquals(SatelliteComponentAlert.Severity.YELLOW_HIGH, rule.getViolation(16, battComponent));
+        assertEquals(SatelliteComponentAlert.Severity.RED_HIGH, rule.getViolation(17.1, battComponent));
+        assertFalse(rule.isViolation(12, battComponent));
+        assertEquals(4, rule.getSeverities().size());
+        assertThrows(IllegalStateException.class, rule::getSeverity);
+    }
+
+    @Test
+    public void testAnyOf_invalid() {
+        assertThrows(IllegalArgumentException.class, SatelliteAlertRule::anyOf);
+        assertThrows(IllegalArgumentException.class, () ->
+            SatelliteAlertRule.anyOf(SatelliteAlertRule.RED_LOW, SatelliteAlertRule.RED_LOW));
+        assertThrows(NullPointerException.class, () -> SatelliteAlertRule.anyOf((SatelliteAlertRule[]) null));
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(NullPointerException.class, () -> new SatelliteAlertRule(null, (value, component) -> true));
+        assertThrows(NullPointerException.class, () ->
+            new SatelliteAlertRule(SatelliteComponentAlert.Severity.RED_LOW, null));
+    }
+}
@@ -0,0 +1,141 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ServeSatelliteAlert}.
+ */
+public class ServeSatelliteAlertTest {
+
+    private static final String BATT_1 = "20180101 23:01:09.521|1000|17|15|9|8|7.8|BATT\n";
+    private static final String BATT_2 = "20180101 23:02:11.302|1000|17|15|9|8|7.7|BATT\n";
+    private static final String BATT_3 = "20180101 23:04:11.531|1000|17|15|9|8|7.9|BATT\n";
+    private static final String TSTAT_1 = "20180101 23:01:38.001|1000|101|98|25|20|102.9|TSTAT\n";
+    private static final String TSTAT_2 = "20180101 23:03:03.008|1000|101|98|25|20|102.7|TSTAT\n";
+    private static final String TSTAT_3 = "20180101 23:03:05.009|1000|101|98|25|20|101.2|TSTAT\n";
+
+    private final RecordSatelliteMetrics metrics = new RecordSatelliteMetrics();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private ServeSatelliteAlert serveAlert;
+    private Future<?> serving;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        serveAlert = new ServeSatelliteAlert(0, '|', 3, StreamSatelliteAlert.Window.TUMBLING,
+                StreamSatelliteAlert.IN_ORDER, metrics);
+        serving = executor.submit(() -> {
+            serveAlert.serve();
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        serveAlert.close();
+        serving.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    private List<String> send(final String lines) throws Exception {
+        try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), serveAlert.getPort())) {
+            final OutputStream out = socket.getOutputStream();
+            out.write(lines.getBytes(StandardCharsets.UTF_8));
+            socket.shutdownOutput();
+
+            final List<String> alerts = new ArrayList<>();
+            final BufferedReader in =
+                    new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String alert;
+            while ((alert = in.readLine()) != null) {
+                alerts.add(alert);
+            }
+            return alerts;
+        }
+    }
+
+    @Test
+    public void testServe() throws Exception {
+        final List<String> alerts = send(TSTAT_1 + BATT_1 + TSTAT_2 + BATT_2 + TSTAT_3 + BATT_3);
+
+        assertEquals(2, alerts.size());
+        assertTrue(alerts.get(0).contains("\"severity\":\"RED HIGH\""));
+        assertTrue(alerts.get(0).contains("\"timestamp\":\"2018-01-01T23:01:38.001Z\""));
+        assertTrue(alerts.get(1).contains("\"severity\":\"RED LOW\""));
+        assertEquals(6, metrics.getLinesRead());
+        assertEquals(2, metrics.getAlerts());
+    }
+
+    @Test
+    public void testServe_stateKeptBetweenConnections() throws Exception {
+        assertTrue(send(BATT_1 + BATT_2).isEmpty());
+
+        // The window opened by the first connection is still open for the second.
+        final List<String> alerts = send(BATT_3);
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).contains("\"timestamp\":\"2018-01-01T23:01:09.521Z\""));
+    }
+
+    @Test
+    public void testServe_lastLineWithoutLineBreak() throws Exception {
+        assertEquals(1, send(BATT_1 + BATT_2 + BATT_3.trim()).size());
+    }
+
+    @Test
+    public void testServe_invalidLines() throws Exception {
+        assertTrue(send("not a status\n" + BATT_1 + "\n\n").isEmpty());
+
+        assertEquals(2, metrics.getLinesRead());
+        assertEquals(1, metrics.getLinesParsed());
+    }
+
+    @Test
+    public void testServe_longLine() throws Exception {
+        final StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 3 << 20; i++) {
+            longLine.append('x');
+        }
+
+        // The long line is rejected, and the lines after its line break are still evaluated.
+        assertEquals(1, send(BATT_1 + longLine + "\r" + BATT_2 + BATT_3).size());
+        assertEquals(4, metrics.getLinesRead());
+        assertEquals(3, metrics.getLinesParsed());
+        assertEquals(1, metrics.getRejected(ParseSatelliteStatus.Failure.LINE_LENGTH));
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        serveAlert.close();
+
+        serving.get(10, TimeUnit.SECONDS);
+        assertThrows(Exception.class, () -> send(BATT_1));
+    }
+
+    @Test
+    public void testNew_invalid() {
+        final StreamSatelliteAlert.Window window = StreamSatelliteAlert.Window.TUMBLING;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServeSatelliteAlert(-1, '|', 3, window, StreamSatelliteAlert.IN_ORDER, metrics));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServeSatelliteAlert(0, '|', 0, window, StreamSatelliteAlert.IN_ORDER, metrics));
+        assertThrows(NullPointerException.class,
+                () -> new ServeSatelliteAlert(0, '|', 3, null, StreamSatelliteAlert.IN_ORDER, metrics));
+    }
+}
@@ -0,0 +1,377 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StreamSatelliteAlert}.
+ */
+public class StreamSatelliteAlertTest {
+
+    private final SatelliteComponent tstatComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.TSTAT)
+        .setRedHighLimit(101)
+        .setRedLowLimit(20)
+        .setYellowHighLimit(98)
+        .setYellowLowLimit(25)
+        .build();
+
+    private final SatelliteComponent battComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.BATT)
+        .setRedHighLimit(17)
+        .setRedLowLimit(8)
+        .setYellowHighLimit(15)
+        .setYellowLowLimit(9)
+        .build();
+
+    private SatelliteComponentStatus status(
+            final int satelliteId,
+            final SatelliteComponent component,
+            final double value,
+            final String timestamp) {
+        return SatelliteComponentStatus.newBuilder()
+            .setSatelliteId(satelliteId)
+            .setComponent(component)
+            .setValue(value)
+            .setTimestamp(Instant.parse(timestamp))
+            .build();
+    }
+
+    @Test
+    public void testAccept() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, alerts::add);
+
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        streamAlert.accept(status(1000, tstatComponent, 102.9, "2018-01-01T23:01:38.001Z"));
+        streamAlert.accept(status(1000, tstatComponent, 87.9, "2018-01-01T23:01:49.021Z"));
+        streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:02:11.302Z"));
+        streamAlert.accept(status(1000, tstatComponent, 102.7, "2018-01-01T23:03:03.008Z"));
+        assertTrue(alerts.isEmpty());
+
+        streamAlert.accept(status(1000, tstatComponent, 101.2, "2018-01-01T23:03:05.009Z"));
+        assertEquals(1, alerts.size());
+
+        streamAlert.accept(status(1000, battComponent, 7.9, "2018-01-01T23:04:11.531Z"));
+        streamAlert.accept(status(1000, battComponent, 7.6, "2018-01-01T23:04:12.531Z"));
+
+        final List<SatelliteComponentAlert> expected = new ArrayList<>();
+        expected.add(SatelliteComponentAlert.newBuilder()
+            .setSatelliteId(1000)
+            .setComponent(SatelliteComponent.ComponentType.TSTAT.name())
+            .setSeverity(SatelliteComponentAlert.Severity.RED_HIGH.toString())
+            .setTimestamp("2018-01-01T23:01:38.001Z")
+            .build());
+        expected.add(SatelliteComponentAlert.newBuilder()
+            .setSatelliteId(1000)
+            .setComponent(SatelliteComponent.ComponentType.BATT.name())
+            .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
+            .setTimestamp("2018-01-01T23:01:09.521Z")
+            .build());
+
+        assertEquals(expected, alerts);
+    }
+
+    @Test
+    public void testAccept_intervalCloses() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, alerts::add);
+
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:03:09.521Z"));
+        streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:04:11.302Z"));
+        streamAlert.accept(status(1000, battComponent, 7.9, "2018-01-01T23:05:11.531Z"));
+
+        assertTrue(alerts.isEmpty());
+        assertEquals(1, streamAlert.getOpenIntervalCount());
+    }
+
+    @Test
+    public void testAccept_sliding() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.SLIDING, alerts::add);
+
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:04:50.000Z"));
+        streamAlert.accept(status(1000, battComponent, 8.5, "2018-01-01T23:04:55.000Z"));
+        streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:05:01.000Z"));
+        assertTrue(alerts.isEmpty());
+
+        streamAlert.accept(status(1000, battComponent, 7.9, "2018-01-01T23:05:20.000Z"));
+
+        final List<SatelliteComponentAlert> expected = new ArrayList<>();
+        expected.add(SatelliteComponentAlert.newBuilder()
+            .setSatelliteId(1000)
+            .setComponent(SatelliteComponent.ComponentType.BATT.name())
+            .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
+            .setTimestamp("2018-01-01T23:04:50Z")
+            .build());
+
+        assertEquals(expected, alerts);
+    }
+
+    @Test
+    public void testAccept_sliding_expires() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.SLIDING, alerts::add);
+
+        streamAlert.accept(status(1000, tstatComponent, 102.9, "2018-01-01T23:00:00.000Z"));
+        streamAlert.accept(status(1000, tstatComponent, 102.7, "2018-01-01T23:04:00.000Z"));
+        streamAlert.accept(status(1000, tstatComponent, 101.2, "2018-01-01T23:05:00.000Z"));
+        assertTrue(alerts.isEmpty());
+
+        streamAlert.accept(status(1000, tstatComponent, 101.5, "2018-01-01T23:08:59.999Z"));
+        assertEquals(1, alerts.size());
+        assertEquals("2018-01-01T23:04:00Z", alerts.get(0).getTimestamp());
+
+        // The statuses of an alert do not count towards the next one.
+        streamAlert.accept(status(1000, tstatComponent, 101.5, "2018-01-01T23:09:00.000Z"));
+        streamAlert.accept(status(1000, tstatComponent, 101.5, "2018-01-01T23:09:01.000Z"));
+        assertEquals(1, alerts.size());
+    }
+
+    @Test
+    public void testAccept_tumbling_boundary() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.TUMBLING, alerts::add);
+
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:04:50.000Z"));
+        streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:05:01.000Z"));
+        streamAlert.accept(status(1000, battComponent, 7.9, "2018-01-01T23:05:20.000Z"));
+
+        assertTrue(alerts.isEmpty());
+    }
+
+    @Test
+    public void testAccept_allRules() {
+        for (final StreamSatelliteAlert.Window window : StreamSatelliteAlert.Window.values()) {
+            final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+            final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, MakeSatelliteAlert.getAllRules(),
+                window, StreamSatelliteAlert.IN_ORDER, alerts::add);
+
+            streamAlert.accept(status(1000, battComponent, 8.5, "2018-01-01T23:01:00.000Z"));
+            streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:10.000Z"));
+            streamAlert.accept(status(1000, tstatComponent, 19.5, "2018-01-01T23:01:15.000Z"));
+            streamAlert.accept(status(1000, battComponent, 8.2, "2018-01-01T23:01:20.000Z"));
+            streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:01:30.000Z"));
+            assertTrue(alerts.isEmpty());
+
+            streamAlert.accept(status(1000, battComponent, 8.9, "2018-01-01T23:01:40.000Z"));
+            streamAlert.accept(status(1000, battComponent, 8.7, "2018-01-01T23:01:50.000Z"));
+
+            final List<SatelliteComponentAlert> expected = new ArrayList<>();
+            expected.add(SatelliteComponentAlert.newBuilder()
+                .setSatelliteId(1000)
+                .setComponent(SatelliteComponent.ComponentType.BATT.name())
+                .setSeverity(SatelliteComponentAlert.Severity.YELLOW_LOW.toString())
+                .setTimestamp("2018-01-01T23:01:00Z")
+                .build());
+
+            // The red low values count on their own, so they do not make an alert with the yellow low values.
+            assertEquals(expected, alerts);
+        }
+    }
+
+    @Test
+    public void testGetOpenIntervalCount() {
+        final StreamSatelliteAlert streamAlert = new StreamSatelliteAlert(3, alert -> { });
+
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        streamAlert.accept(status(1000, tstatComponent, 102.9, "2018-01-01T23:01:38.001Z"));
+        streamAlert.accept(status(1001, tstatComponent, 99.9, "2018-01-01T23:01:05.001Z"));
+        streamAlert.accept(status(1001, tstatComponent, 89.9, "2018-01-01T23:06:05.001Z"));
+
+        assertEquals(3, streamAlert.getOpenIntervalCount());
+    }
+
+    @Test
+    public void testAccept_lateness() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.TUMBLING, 60_000, alerts::add);
+
+        streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:02:11.302Z"));
+        streamAlert.accept(status(1000, battComponent, 7.9, "2018-01-01T23:02:40.531Z"));
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:59.521Z"));
+
+        // The statuses are held back until the watermark of the satellite passes them.
+        assertTrue(alerts.isEmpty());
+        assertEquals(3, streamAlert.getPendingCount());
+
+        streamAlert.accept(status(1000, tstatComponent, 99.9, "2018-01-01T23:03:41.000Z"));
+
+        assertEquals(1, alerts.size());
+        assertEquals("2018-01-01T23:01:59.521Z", alerts.get(0).getTimestamp());
+        assertEquals(1, streamAlert.getPendingCount());
+        assertEquals(0, streamAlert.getLateCount());
+    }
+
+    @Test
+    public void testAccept_late() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.TUMBLING, 60_000, alerts::add);
+
+        streamAlert.accept(status(1000, battComponent, 7.7, "2018-01-01T23:02:11.302Z"));
+        streamAlert.accept(status(1000, battComponent, 7.9, "2018-01-01T23:04:40.531Z"));
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        streamAlert.accept(status(1001, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        streamAlert.flush();
+
+        // Watermarks are kept per satellite, so only the status of the first satellite is late.
+        assertTrue(alerts.isEmpty());
+        assertEquals(1, streamAlert.getLateCount());
+        assertEquals(0, streamAlert.getPendingCount());
+
+        streamAlert.accept(status(1000, battComponent, 7.6, "2018-01-01T23:04:30.000Z"));
+        assertEquals(2, streamAlert.getLateCount());
+    }
+
+    @Test
+    public void testAccept_lateness_freesClosedIntervals() {
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.TUMBLING, 60_000, alert -> { });
+
+        streamAlert.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        streamAlert.accept(status(1000, tstatComponent, 102.9, "2018-01-01T23:04:38.001Z"));
+        assertEquals(1, streamAlert.getOpenIntervalCount());
+
+        // The watermark passes the end of the interval, so no status that is not late can fall in it.
+        streamAlert.accept(status(1000, tstatComponent, 99.9, "2018-01-01T23:06:00.001Z"));
+        assertEquals(0, streamAlert.getOpenIntervalCount());
+        assertEquals(1, streamAlert.getPendingCount());
+    }
+
+    @Test
+    public void testAccept_lateness_sliding() {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        final StreamSatelliteAlert streamAlert =
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.SLIDING, 60_000, alerts::add);
+
+        streamAlert.accept(status(1000, tstatComponent, 102.9, "2018-01-01T23:04:50.000Z"));
+        streamAlert.accept(status(1000, tstatComponent, 102.7, "2018-01-01T23:05:20.000Z"));
+        streamAlert.accept(status(1000, tstatComponent, 101.2, "2018-01-01T23:04:30.000Z"));
+        streamAlert.flush();
+
+        assertEquals(1, alerts.size());
+        assertEquals("2018-01-01T23:04:30Z", alerts.get(0).getTimestamp());
+        assertEquals(0, streamAlert.getPendingCount());
+    }
+
+    @Test
+    public void testNew_invalidLateness() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new StreamSatelliteAlert(3, StreamSatelliteAlert.Window.TUMBLING, -2, alert -> { }));
+    }
+
+    @Test
+    public void testWriteState() throws Exception {
+        for (final StreamSatelliteAlert.Window window : StreamSatelliteAlert.Window.values()) {
+            final List<SatelliteComponentStatus> statuses = new ArrayList<>();
+            statuses.add(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+            statuses.add(status(1001, tstatComponent, 102.9, "2018-01-01T23:01:38.001Z"));
+            statuses.add(status(1000, battComponent, 7.7, "2018-01-01T23:02:11.302Z"));
+            statuses.add(status(1001, tstatComponent, 102.7, "2018-01-01T23:01:03.008Z"));
+            statuses.add(status(1000, battComponent, 7.9, "2018-01-01T23:04:11.531Z"));
+            statuses.add(status(1001, tstatComponent, 101.2, "2018-01-01T23:02:05.009Z"));
+
+            final List<SatelliteComponentAlert> expected = new ArrayList<>();
+            final StreamSatelliteAlert uninterrupted = new StreamSatelliteAlert(3, window, 60_000, expected::add);
+            statuses.forEach(uninterrupted::accept);
+            uninterrupted.flush();
+            assertEquals(2, expected.size());
+
+            final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+            final StreamSatelliteAlert before = new StreamSatelliteAlert(3, window, 60_000, alerts::add);
+            statuses.subList(0, 4).forEach(before::accept);
+            final byte[] state = writeState(before);
+
+            final StreamSatelliteAlert after = new StreamSatelliteAlert(3, window, 60_000, alerts::add);
+            after.readState(new DataInputStream(new ByteArrayInputStream(state)), satelliteId -> true);
+            assertEquals(before.getPendingCount(), after.getPendingCount());
+            assertEquals(before.getOpenIntervalCount(), after.getOpenIntervalCount());
+            statuses.subList(4, 6).forEach(after::accept);
+            after.flush();
+
+            assertEquals(expected, alerts);
+        }
+    }
+
+    @Test
+    public void testWriteState_allRules() throws Exception {
+        for (final StreamSatelliteAlert.Window window : StreamSatelliteAlert.Window.values()) {
+            final List<SatelliteComponentStatus> statuses = new ArrayList<>();
+            statuses.add(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+            statuses.add(status(1000, battComponent, 8.5, "2018-01-01T23:01:10.521Z"));
+            statuses.add(status(1000, battComponent, 7.7, "2018-01-01T23:02:11.302Z"));
+            statuses.add(status(1000, battComponent, 8.6, "2018-01-01T23:02:12.302Z"));
+            statuses.add(status(1000, battComponent, 7.9, "2018-01-01T23:04:11.531Z"));
+            statuses.add(status(1000, battComponent, 8.7, "2018-01-01T23:04:12.531Z"));
+
+            final List<SatelliteComponentAlert> expected = new ArrayList<>();
+            final StreamSatelliteAlert uninterrupted = new StreamSatelliteAlert(3, MakeSatelliteAlert.getAllRules(),
+                window, StreamSatelliteAlert.IN_ORDER, expected::add);
+            statuses.forEach(uninterrupted::accept);
+            assertEquals(2, expected.size());
+
+            final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+            final StreamSatelliteAlert before = new StreamSatelliteAlert(3, MakeSatelliteAlert.getAllRules(),
+                window, StreamSatelliteAlert.IN_ORDER, alerts::add);
+            statuses.subList(0, 4).forEach(before::accept);
+            final byte[] state = writeState(before);
+
+            final StreamSatelliteAlert after = new StreamSatelliteAlert(3, MakeSatelliteAlert.getAllRules(),
+                window, StreamSatelliteAlert.IN_ORDER, alerts::add);
+            after.readState(new DataInputStream(new ByteArrayInputStream(state)), satelliteId -> true);
+            statuses.subList(4, 6).forEach(after::accept);
+
+            assertEquals(expected, alerts);
+        }
+    }
+
+    @Test
+    public void testReadState_filter() throws Exception {
+        final StreamSatelliteAlert before = new StreamSatelliteAlert(3, alert -> { });
+        before.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        before.accept(status(1001, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        final byte[] state = writeState(before);
+
+        final StreamSatelliteAlert after = new StreamSatelliteAlert(3, alert -> { });
+        after.readState(new DataInputStream(new ByteArrayInputStream(state)), satelliteId -> satelliteId == 1001);
+
+        assertEquals(1, after.getOpenIntervalCount());
+    }
+
+    @Test
+    public void testReadState_truncated() throws Exception {
+        final StreamSatelliteAlert before = new StreamSatelliteAlert(3, alert -> { });
+        before.accept(status(1000, battComponent, 7.8, "2018-01-01T23:01:09.521Z"));
+        final byte[] state = writeState(before);
+
+        final StreamSatelliteAlert after = new StreamSatelliteAlert(3, alert -> { });
+        assertThrows(IOException.class, () -> after.readState(
+            new DataInputStream(new ByteArrayInputStream(state, 0, state.length - 3)), satelliteId -> true));
+    }
+
+    private static byte[] writeState(final StreamSatelliteAlert streamAlert) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            streamAlert.writeState(out);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,85 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.google.gson.GsonBuilder;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponentAlert;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link WriteSatelliteAlert}.
+ */
+public class WriteSatelliteAlertTest {
+
+    private final SatelliteComponentAlert tstatAlert = SatelliteComponentAlert.newBuilder()
+        .setSatelliteId(1000)
+        .setComponent(SatelliteComponent.ComponentType.TSTAT.name())
+        .setSeverity(SatelliteComponentAlert.Severity.RED_HIGH.toString())
+        .setTimestamp("2018-01-01T23:01:38.001Z")
+        .build();
+
+    private final SatelliteComponentAlert battAlert = SatelliteComponentAlert.newBuilder()
+        .setSatelliteId(1000)
+        .setComponent(SatelliteComponent.ComponentType.BATT.name())
+        .setSeverity(SatelliteComponentAlert.Severity.RED_LOW.toString())
+        .setTimestamp("2018-01-01T23:01:09.521Z")
+        .build();
+
+    private String write(final WriteSatelliteAlert.Format format, final SatelliteComponentAlert... alerts)
+            throws Exception {
+        final StringWriter out = new StringWriter();
+        try (final WriteSatelliteAlert alertWriter = new WriteSatelliteAlert(out, format, false)) {
+            for (final SatelliteComponentAlert alert : alerts) {
+                alertWriter.write(alert);
+            }
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void testWrite_pretty() throws Exception {
+        final List<SatelliteComponentAlert> alerts = new ArrayList<>();
+        alerts.add(tstatAlert);
+        alerts.add(battAlert);
+
+        assertEquals(new GsonBuilder().setPrettyPrinting().create().toJson(alerts) + System.lineSeparator(),
+            write(WriteSatelliteAlert.Format.PRETTY, tstatAlert, battAlert));
+    }
+
+    @Test
+    public void testWrite_compact() throws Exception {
+        assertEquals("[{\"satelliteId\":1000,\"severity\":\"RED HIGH\",\"component\":\"TSTAT\"," +
+                "\"timestamp\":\"2018-01-01T23:01:38.001Z\"}]" + System.lineSeparator(),
+            write(WriteSatelliteAlert.Format.COMPACT, tstatAlert));
+    }
+
+    @Test
+    public void testWrite_ndjson() throws Exception {
+        assertEquals("{\"satelliteId\":1000,\"severity\":\"RED HIGH\",\"component\":\"TSTAT\"," +
+                "\"timestamp\":\"2018-01-01T23:01:38.001Z\"}\n" +
+                "{\"satelliteId\":1000,\"severity\":\"RED LOW\",\"component\":\"BATT\"," +
+                "\"timestamp\":\"2018-01-01T23:01:09.521Z\"}\n",
+            write(WriteSatelliteAlert.Format.NDJSON, tstatAlert, battAlert));
+    }
+
+    @Test
+    public void testWrite_empty() throws Exception {
+        assertEquals("[]" + System.lineSeparator(), write(WriteSatelliteAlert.Format.PRETTY));
+        assertEquals("", write(WriteSatelliteAlert.Format.NDJSON));
+    }
+
+    @Test
+    public void testWrite_autoFlush() throws Exception {
+        final StringWriter out = new StringWriter();
+        final WriteSatelliteAlert alertWriter = new WriteSatelliteAlert(out, WriteSatelliteAlert.Format.NDJSON, true);
+
+        alertWriter.accept(battAlert);
+
+        assertTrue(out.toString().endsWith("\n"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.mikolofton.satellite.satellitemonitor.interators;
+
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteComponent;
+import com.mikolofton.satellite.satellitemonitor.models.SatelliteStatusBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link WriteSatelliteBinaryLog}.
+ */
+public class WriteSatelliteBinaryLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SatelliteComponent battery = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.BATT)
+        .setRedHighLimit(17)
+        .setYellowHighLimit(15)
+        .setYellowLowLimit(9)
+        .setRedLowLimit(8)
+        .build();
+
+    @Test
+    public void testWrite() throws Exception {
+        final Path log = tempDir.resolve("satellite.satb");
+
+        try (final WriteSatelliteBinaryLog binaryLog = new WriteSatelliteBinaryLog(log)) {
+            binaryLog.write(1000, battery, 7.8, 1514847669521L);
+            binaryLog.write(1000, battery, 7.7, 1514847731302L);
+        }
+
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(log));
+
+        assertEquals(WriteSatelliteBinaryLog.HEADER_BYTES + WriteSatelliteBinaryLog.BLOCK_HEADER_BYTES +
+            WriteSatelliteBinaryLog.COMPONENT_BYTES + 2 * WriteSatelliteBinaryLog.RECORD_BYTES, bytes.capacity());
+        assertEquals(WriteSatelliteBinaryLog.MAGIC, bytes.getInt());
+        assertEquals(WriteSatelliteBinaryLog.VERSION, bytes.getShort());
+        assertEquals(2, bytes.getInt());
+        assertEquals(1, bytes.getInt());
+        assertEquals(1514847669521L, bytes.getLong());
+
+        // The component is written once and its limits follow its type.
+        assertEquals(SatelliteComponent.ComponentType.BATT.ordinal(), bytes.get());
+        assertEquals(17, bytes.getInt());
+        assertEquals(15, bytes.getInt());
+        assertEquals(9, bytes.getInt());
+        assertEquals(8, bytes.getInt());
+
+        assertEquals(0, bytes.getInt());
+        assertEquals(1000, bytes.getInt());
+        assertEquals(0, bytes.getShort());
+        assertEquals(7.8, bytes.getDouble());
+
+        assertEquals(1514847731302L - 1514847669521L, bytes.getInt());
+        assertEquals(1000, bytes.getInt());
+        assertEquals(0, bytes.getShort());
+        assertEquals(7.7, bytes.getDouble());
+    }
+
+    @Test
+    public void testWrite_empty() throws Exception {
+        final Path log = tempDir.resolve("satellite.satb");
+
+        new WriteSatelliteBinaryLog(log).close();
+
+        assertEquals(WriteSatelliteBinaryLog.HEADER_BYTES, Files.size(log));
+    }
+
+    @Test
+    public void testWrite_blocks() throws Exception {
+        final Path log = tempDir.resolve("satellite.satb");
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch();
+        for (int i = 0; i < WriteSatelliteBinaryLog.BLOCK_RECORDS + 1; i++) {
+            batch.add(1000, battery, 7.8, 1514847669521L + i);
+        }
+        // A gap that does not fit in an int starts another block.
+        batch.add(1000, battery, 7.8, batch.getTimestampMillis(batch.size() - 1) + Integer.MAX_VALUE + 1L);
+
+        try (final WriteSatelliteBinaryLog binaryLog = new WriteSatelliteBinaryLog(log)) {
+            binaryLog.write(batch);
+        }
+
+        assertEquals(WriteSatelliteBinaryLog.HEADER_BYTES + 3 * WriteSatelliteBinaryLog.BLOCK_HEADER_BYTES +
+            WriteSatelliteBinaryLog.COMPONENT_BYTES + batch.size() * WriteSatelliteBinaryLog.RECORD_BYTES,
+            Files.size(log));
+    }
+}
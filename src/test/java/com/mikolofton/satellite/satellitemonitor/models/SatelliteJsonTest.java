@@ -0,0 +1,85 @@
+package com.mikolofton.satellite.satellitemonitor.models;
+
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SatelliteJson}.
+ */
+public class SatelliteJsonTest {
+
+    private final SatelliteComponent satelliteComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.TSTAT)
+        .setRedHighLimit(101)
+        .setRedLowLimit(20)
+        .setYellowHighLimit(98)
+        .setYellowLowLimit(25)
+        .build();
+
+    private final SatelliteComponentStatus satelliteComponentStatus = SatelliteComponentStatus.newBuilder()
+        .setSatelliteId(1001)
+        .setComponent(satelliteComponent)
+        .setValue(99.9)
+        .setTimestamp(Instant.parse("2018-01-01T23:01:05.001Z"))
+        .build();
+
+    private final SatelliteComponentAlert satelliteComponentAlert = SatelliteComponentAlert.newBuilder()
+        .setSatelliteId(1000)
+        .setSeverity(SatelliteComponentAlert.Severity.RED_HIGH.toString())
+        .setComponent(SatelliteComponent.ComponentType.TSTAT.name())
+        .setTimestamp("2018-01-01T23:01:38.001Z")
+        .build();
+
+    @Test
+    public void testCompact() {
+        assertEquals("{\"componentType\":\"TSTAT\",\"redHighLimit\":101,\"redLowLimit\":20," +
+            "\"yellowHighLimit\":98,\"yellowLowLimit\":25}", SatelliteJson.COMPACT.toJson(satelliteComponent));
+        assertEquals("{\"satelliteId\":1001,\"component\":{\"componentType\":\"TSTAT\",\"redHighLimit\":101," +
+            "\"redLowLimit\":20,\"yellowHighLimit\":98,\"yellowLowLimit\":25},\"value\":99.9," +
+            "\"timestamp\":{\"seconds\":1514847665,\"nanos\":1000000}}",
+            SatelliteJson.COMPACT.toJson(satelliteComponentStatus));
+        assertEquals("{\"satelliteId\":1000,\"severity\":\"RED HIGH\",\"component\":\"TSTAT\"," +
+            "\"timestamp\":\"2018-01-01T23:01:38.001Z\"}", SatelliteJson.COMPACT.toJson(satelliteComponentAlert));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        assertEquals(satelliteComponent, SatelliteJson.PRETTY.fromJson(
+            SatelliteJson.PRETTY.toJson(satelliteComponent), SatelliteComponent.class));
+        assertEquals(satelliteComponentStatus, SatelliteJson.COMPACT.fromJson(
+            SatelliteJson.COMPACT.toJson(satelliteComponentStatus), SatelliteComponentStatus.class));
+        assertEquals(satelliteComponentAlert, SatelliteJson.COMPACT.fromJson(
+            SatelliteJson.COMPACT.toJson(satelliteComponentAlert), SatelliteComponentAlert.class));
+    }
+
+    @Test
+    public void testList() {
+        final List<SatelliteComponentAlert> alerts = Arrays.asList(satelliteComponentAlert, null);
+        final String json = SatelliteJson.COMPACT.toJson(alerts);
+
+        assertEquals(alerts, SatelliteJson.COMPACT.fromJson(json,
+            new TypeToken<List<SatelliteComponentAlert>>() { }.getType()));
+    }
+
+    @Test
+    public void testRead_unknownFields() {
+        final String json = "{\"satelliteId\":1000,\"severity\":\"RED HIGH\",\"extra\":{\"a\":[1,2]}," +
+            "\"component\":\"TSTAT\",\"timestamp\":\"2018-01-01T23:01:38.001Z\"}";
+
+        assertEquals(satelliteComponentAlert, SatelliteJson.COMPACT.fromJson(json, SatelliteComponentAlert.class));
+    }
+
+    @Test
+    public void testRead_invalid() {
+        assertThrows(NullPointerException.class,
+            () -> SatelliteJson.COMPACT.fromJson("{\"satelliteId\":1000}", SatelliteComponentAlert.class));
+        assertThrows(IllegalArgumentException.class, () -> SatelliteJson.COMPACT.fromJson(
+            "{\"componentType\":\"SOLAR\"}", SatelliteComponent.class));
+    }
+}
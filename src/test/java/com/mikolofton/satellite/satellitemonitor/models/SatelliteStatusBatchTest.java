@@ -0,0 +1,97 @@
+package com.mikolofton.satellite.satellitemonitor.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SatelliteStatusBatch}.
+ */
+public class SatelliteStatusBatchTest {
+
+    private final SatelliteComponent tstatComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.TSTAT)
+        .setRedHighLimit(101)
+        .setRedLowLimit(20)
+        .setYellowHighLimit(98)
+        .setYellowLowLimit(25)
+        .build();
+
+    private final SatelliteComponent battComponent = SatelliteComponent.newBuilder()
+        .setComponentType(SatelliteComponent.ComponentType.BATT)
+        .setRedHighLimit(17)
+        .setRedLowLimit(8)
+        .setYellowHighLimit(15)
+        .setYellowLowLimit(9)
+        .build();
+
+    @Test
+    public void testAdd() {
+        final SatelliteComponentStatus status = SatelliteComponentStatus.newBuilder()
+            .setSatelliteId(1000)
+            .setComponent(battComponent)
+            .setValue(7.8)
+            .setTimestamp(Instant.parse("2018-01-01T23:01:09.521Z"))
+            .build();
+
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch(0);
+        batch.add(status);
+        batch.add(1001, tstatComponent, 102.9, Instant.parse("2018-01-01T23:01:38.001Z").toEpochMilli());
+        batch.add(1000, battComponent, 7.7, Instant.parse("2018-01-01T23:02:11.302Z").toEpochMilli());
+
+        assertEquals(3, batch.size());
+        assertEquals(2, batch.getComponents().size());
+        assertEquals(status, batch.toStatus(0));
+        assertEquals(1001, batch.getSatelliteId(1));
+        assertEquals(102.9, batch.getValue(1));
+        assertEquals(SatelliteComponent.ComponentType.TSTAT, batch.getComponentType(1));
+        assertEquals(batch.getLimitsRef(0), batch.getLimitsRef(2));
+        assertEquals(tstatComponent, batch.getComponent(1));
+    }
+
+    @Test
+    public void testAddAll() {
+        final SatelliteStatusBatch first = new SatelliteStatusBatch();
+        first.add(1000, battComponent, 7.8, 1000);
+
+        final SatelliteStatusBatch second = new SatelliteStatusBatch();
+        for (int i = 0; i < 2000; i++) {
+            second.add(1001, i % 2 == 0 ? tstatComponent : battComponent, i, 2000 + i);
+        }
+
+        first.addAll(second);
+
+        assertEquals(2001, first.size());
+        assertEquals(2, first.getComponents().size());
+        assertEquals(battComponent, first.getComponent(0));
+        assertEquals(tstatComponent, first.getComponent(1));
+        assertEquals(battComponent, first.getComponent(2));
+        assertEquals(3999, first.getTimestampMillis(2000));
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new SatelliteStatusBatch(-1));
+        assertThrows(NullPointerException.class, () -> new SatelliteStatusBatch().add(1000, null, 7.8, 1000));
+    }
+
+    @Test
+    public void testClear() {
+        final SatelliteStatusBatch batch = new SatelliteStatusBatch(1);
+        batch.add(1001, tstatComponent, 102.9, Instant.parse("2018-01-01T23:01:38.001Z").toEpochMilli());
+        batch.add(1000, battComponent, 7.7, Instant.parse("2018-01-01T23:02:11.302Z").toEpochMilli());
+
+        batch.clear();
+
+        assertEquals(0, batch.size());
+        assertTrue(batch.getComponents().isEmpty());
+
+        batch.add(1000, battComponent, 7.8, Instant.parse("2018-01-01T23:01:09.521Z").toEpochMilli());
+
+        assertEquals(1, batch.size());
+        assertEquals(0, batch.getLimitsRef(0));
+        assertEquals(battComponent, batch.getComponent(0));
+    }
+}
@@ -0,0 +1,135 @@
+package com.mikolofton.satellite.satellitemonitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IntObjectMap}.
+ */
+public class IntObjectMapTest {
+
+    private final IntObjectMap<String> map = new IntObjectMap<>();
+
+    @Test
+    public void testPut() {
+        assertNull(map.put(1000, "a"));
+        assertNull(map.put(0, "b"));
+        assertNull(map.put(-7, "c"));
+        assertEquals("a", map.put(1000, "d"));
+
+        assertEquals(3, map.size());
+        assertEquals("d", map.get(1000));
+        assertEquals("b", map.get(0));
+        assertEquals("c", map.get(-7));
+        assertNull(map.get(1001));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void testPut_null() {
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        assertEquals("1000", map.computeIfAbsent(1000, Integer::toString));
+        assertEquals("1000", map.computeIfAbsent(1000, key -> "other"));
+
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.computeIfAbsent(1001, key -> null));
+        assertFalse(map.containsKey(1001));
+    }
+
+    @Test
+    public void testGrow() {
+        final Map<Integer, String> expected = new HashMap<>();
+        for (int key = -5000; key < 5000; key += 3) {
+            map.put(key, Integer.toString(key));
+            expected.put(key, Integer.toString(key));
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    public void testRemove() {
+        for (int key = 0; key < 1000; key++) {
+            map.put(key * 16, Integer.toString(key));
+        }
+
+        assertNull(map.remove(1));
+        for (int key = 0; key < 1000; key += 2) {
+            assertEquals(Integer.toString(key), map.remove(key * 16));
+        }
+
+        // Every entry moved back on removal is still found.
+        assertEquals(500, map.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key % 2 == 0 ? null : Integer.toString(key), map.get(key * 16));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        map.put(1, "a");
+        map.put(2, "b");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertNull(map.put(1, "c"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testForEach() {
+        map.put(1000, "a");
+        map.put(-1, "b");
+        final Map<Integer, String> entries = new HashMap<>();
+
+        map.forEach(entries::put);
+
+        final Map<Integer, String> expected = new HashMap<>();
+        expected.put(1000, "a");
+        expected.put(-1, "b");
+        assertEquals(expected, entries);
+    }
+
+    @Test
+    public void testCursor() {
+        map.put(1000, "a");
+        map.put(-1, "b");
+        final Map<Integer, String> entries = new HashMap<>();
+
+        final IntObjectMap.Cursor<String> cursor = map.cursor();
+        while (cursor.next()) {
+            entries.put(cursor.key(), cursor.value());
+        }
+
+        assertEquals(2, entries.size());
+        assertEquals("a", entries.get(1000));
+        assertEquals("b", entries.get(-1));
+        assertFalse(cursor.next());
+        assertFalse(new IntObjectMap<String>().cursor().next());
+    }
+
+    @Test
+    public void testNew_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<String>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<String>(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testTableSize() {
+        assertEquals(16, IntObjectMap.tableSize(0));
+        assertEquals(16, IntObjectMap.tableSize(12));
+        assertEquals(32, IntObjectMap.tableSize(13));
+        assertEquals(1 << 11, IntObjectMap.tableSize(1000));
+    }
+}
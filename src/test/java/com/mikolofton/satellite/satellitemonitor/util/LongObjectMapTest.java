@@ -0,0 +1,105 @@
+package com.mikolofton.satellite.satellitemonitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LongObjectMap}.
+ */
+public class LongObjectMapTest {
+
+    private static final long INTERVAL = 1514847600L;
+
+    private final LongObjectMap<String> map = new LongObjectMap<>();
+
+    @Test
+    public void testPut() {
+        assertNull(map.put(INTERVAL, "a"));
+        assertNull(map.put(0, "b"));
+        assertNull(map.put(Long.MIN_VALUE, "c"));
+        assertEquals("a", map.put(INTERVAL, "d"));
+
+        assertEquals(3, map.size());
+        assertEquals("d", map.get(INTERVAL));
+        assertEquals("b", map.get(0));
+        assertEquals("c", map.get(Long.MIN_VALUE));
+        assertNull(map.get(INTERVAL + 300));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        assertEquals("0", map.computeIfAbsent(0, Long::toString));
+        assertEquals("0", map.computeIfAbsent(0, key -> "other"));
+
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.computeIfAbsent(1, key -> null));
+    }
+
+    @Test
+    public void testRemove() {
+        // Intervals five minutes apart, as the alert state keys them.
+        for (long i = 0; i < 1000; i++) {
+            map.put(INTERVAL + i * 300, Long.toString(i));
+        }
+
+        assertNull(map.remove(INTERVAL + 1));
+        for (long i = 0; i < 1000; i += 2) {
+            assertEquals(Long.toString(i), map.remove(INTERVAL + i * 300));
+        }
+
+        assertEquals(500, map.size());
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : Long.toString(i), map.get(INTERVAL + i * 300));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        map.put(1, "a");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testForEach() {
+        map.put(INTERVAL, "a");
+        map.put(-1, "b");
+        final Map<Long, String> entries = new HashMap<>();
+
+        map.forEach(entries::put);
+
+        assertEquals(2, entries.size());
+        assertEquals("a", entries.get(INTERVAL));
+        assertEquals("b", entries.get(-1L));
+    }
+
+    @Test
+    public void testCursor() {
+        map.put(INTERVAL, "a");
+        map.put(-1, "b");
+        final Map<Long, String> entries = new HashMap<>();
+
+        final LongObjectMap.Cursor<String> cursor = map.cursor();
+        while (cursor.next()) {
+            entries.put(cursor.key(), cursor.value());
+        }
+
+        assertEquals(2, entries.size());
+        assertEquals("a", entries.get(INTERVAL));
+        assertEquals("b", entries.get(-1L));
+    }
+
+    @Test
+    public void testNew_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<String>(-1));
+    }
+}